@@ -0,0 +1,56 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Measures how long it takes to load a bean file with XSD validation, as done when beans are
+ * added via the API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanLoadingBenchmark {
+
+    /**
+     * The content of the bean file.
+     */
+    private byte[] content;
+
+    /**
+     * Reads the bean file.
+     */
+    @Setup
+    public void setUp() {
+        content = BenchmarkResources.read("benchmark/beans.xml");
+    }
+
+    /**
+     * Loads the bean definitions into a new registry.
+     *
+     * @return the number of loaded bean definitions.
+     */
+    @Benchmark
+    public int loadWithXsdValidation() {
+        final var reader = new XmlBeanDefinitionReader(new DefaultListableBeanFactory());
+        reader.setValidationMode(XmlBeanDefinitionReader.VALIDATION_XSD);
+        return reader.loadBeanDefinitions(new ByteArrayResource(content));
+    }
+
+}
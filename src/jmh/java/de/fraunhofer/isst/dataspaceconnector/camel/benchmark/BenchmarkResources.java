@@ -0,0 +1,34 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the files used as benchmark input from the classpath.
+ */
+final class BenchmarkResources {
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkResources() {
+    }
+
+    /**
+     * Reads a classpath resource.
+     *
+     * @param name the resource name, e.g. "routes/dsc-v5/http-to-dsc.xml".
+     * @return the resource's content.
+     */
+    static byte[] read(final String name) {
+        try (var stream = BenchmarkResources.class.getClassLoader().getResourceAsStream(name)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Resource not found: " + name);
+            }
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import org.apache.camel.model.Constants;
+import org.apache.camel.model.RoutesDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to unmarshal the sample route files, once with the pooled
+ * {@link RouteDefinitionParser} used by the API and once with a new Unmarshaller per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteParsingBenchmark {
+
+    /**
+     * The sample route file.
+     */
+    @Param({"http-to-dsc", "backend-to-app-to-dsc", "mqtt-parallel-to-dsc",
+            "postgres-stream-to-dsc"})
+    public String route;
+
+    /**
+     * The content of the route file.
+     */
+    private byte[] content;
+
+    /**
+     * The JAXB context.
+     */
+    private JAXBContext jaxbContext;
+
+    /**
+     * The parser under test.
+     */
+    private RouteDefinitionParser parser;
+
+    /**
+     * Reads the route file and creates the parser.
+     *
+     * @throws JAXBException if the JAXB context cannot be created.
+     */
+    @Setup
+    public void setUp() throws JAXBException {
+        content = BenchmarkResources.read("routes/dsc-v5/" + route + ".xml");
+        jaxbContext = JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
+        parser = new RouteDefinitionParser(jaxbContext, 0);
+    }
+
+    /**
+     * Parses the routes with the pooled parser.
+     *
+     * @return the routes.
+     * @throws JAXBException if the routes cannot be parsed.
+     */
+    @Benchmark
+    public RoutesDefinition pooledParser() throws JAXBException {
+        return parser.parseRoutes(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Parses the routes with the pooled parser from multiple threads, as on concurrent uploads.
+     *
+     * @return the routes.
+     * @throws JAXBException if the routes cannot be parsed.
+     */
+    @Benchmark
+    @Threads(4)
+    public RoutesDefinition pooledParserConcurrent() throws JAXBException {
+        return parser.parseRoutes(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Parses the routes with a new Unmarshaller, as a baseline.
+     *
+     * @return the routes.
+     * @throws JAXBException if the routes cannot be parsed.
+     */
+    @Benchmark
+    public Object newUnmarshaller() throws JAXBException {
+        return jaxbContext.createUnmarshaller().unmarshal(new ByteArrayInputStream(content));
+    }
+
+}
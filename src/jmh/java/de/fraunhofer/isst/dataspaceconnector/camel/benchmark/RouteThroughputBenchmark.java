@@ -0,0 +1,246 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBContext;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.fraunhofer.isst.dataspaceconnector.camel.change.ChangeDetector;
+import de.fraunhofer.isst.dataspaceconnector.camel.logging.BodyLogger;
+import de.fraunhofer.isst.dataspaceconnector.camel.outbox.Outbox;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import de.fraunhofer.isst.dataspaceconnector.camel.sql.KeysetWatermark;
+import de.fraunhofer.isst.dataspaceconnector.camel.sql.NdjsonRowEncoder;
+import de.fraunhofer.isst.dataspaceconnector.camel.upload.CompressingUploader;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.Constants;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the exchange throughput of the sample routes. The consumer of every route is replaced
+ * by a direct endpoint, all HTTP endpoints (backend, app and connector) point to a local stub
+ * server and SQL endpoints use an in-memory H2 database, so that the result reflects the
+ * per-message overhead of the routes rather than that of external systems.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RouteThroughputBenchmark {
+
+    /**
+     * The endpoint replacing the consumers of the routes.
+     */
+    private static final String INPUT = "direct:benchmark";
+
+    /**
+     * The body sent to the routes and returned by the stub server.
+     */
+    private static final byte[] PAYLOAD = "{\"id\":1,\"name\":\"benchmark\",\"value\":42.0}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The number of rows in the database table.
+     */
+    private static final int ROWS = 1_000;
+
+    /**
+     * The sample route file.
+     */
+    @Param({"http-to-dsc", "backend-to-app-to-dsc", "mqtt-to-dsc", "postgres-stream-to-dsc"})
+    public String route;
+
+    /**
+     * The stub HTTP server.
+     */
+    private HttpServer server;
+
+    /**
+     * The stub server's worker threads.
+     */
+    private ExecutorService serverExecutor;
+
+    /**
+     * The Camel context running the route.
+     */
+    private DefaultCamelContext camelContext;
+
+    /**
+     * The outbox used by routes sending to the connector.
+     */
+    private Outbox outbox;
+
+    /**
+     * The directory of the outbox.
+     */
+    private Path outboxDirectory;
+
+    /**
+     * The uploader used by routes sending to the connector.
+     */
+    private CompressingUploader uploader;
+
+    /**
+     * The producer template sending to the route.
+     */
+    private ProducerTemplate producerTemplate;
+
+    /**
+     * Starts the stub server and database and deploys the route.
+     *
+     * @throws Exception if the setup fails.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Configurator.setRootLevel(org.apache.logging.log4j.Level.WARN);
+
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", RouteThroughputBenchmark::respond);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        final var dataSource = createDatabase();
+        final var watermark = new KeysetWatermark();
+        watermark.setColumn("id");
+        watermark.setInitialValue("0");
+
+        camelContext = new DefaultCamelContext();
+        camelContext.getRegistry().bind("testDataSource", dataSource);
+        camelContext.getRegistry().bind("streamingDataSource", dataSource);
+        // Not linked to the encoder, so that every exchange selects all rows.
+        camelContext.getRegistry().bind("countryWatermark", watermark);
+        camelContext.getRegistry().bind("ndjsonRowEncoder", new NdjsonRowEncoder());
+        camelContext.getRegistry().bind("body-logger", new BodyLogger());
+        // Without hashing, so that unchanged stub responses do not stop the routes.
+        final var changeDetector = new ChangeDetector();
+        changeDetector.setHashFallback(false);
+        camelContext.getRegistry().bind("change-detector", changeDetector);
+        outboxDirectory = Files.createTempDirectory("outbox");
+        outbox = new Outbox(outboxDirectory);
+        camelContext.getRegistry().bind("dsc-outbox", outbox);
+        uploader = new CompressingUploader();
+        camelContext.getRegistry().bind("dsc-upload", uploader);
+
+        final var xml = new String(BenchmarkResources.read("routes/dsc-v5/" + route + ".xml"),
+                StandardCharsets.UTF_8)
+                .replaceAll("<from uri=\"[^\"]*\"/>", "<from uri=\"" + INPUT + "\"/>")
+                .replaceAll("http://[^/\"?\\s]+", "http://localhost:"
+                        + server.getAddress().getPort());
+        final var parser = new RouteDefinitionParser(
+                JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES), 1);
+        camelContext.addRouteDefinitions(parser.parseRoutes(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))).getRoutes());
+        camelContext.start();
+        outbox.start(camelContext);
+
+        producerTemplate = camelContext.createProducerTemplate();
+    }
+
+    /**
+     * Stops the route, the stub server and the database and removes the outbox.
+     *
+     * @throws IOException if the outbox cannot be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        outbox.close();
+        uploader.close();
+        camelContext.stop();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        try (var files = Files.list(outboxDirectory)) {
+            for (final var file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(outboxDirectory);
+    }
+
+    /**
+     * Sends one exchange through the route.
+     *
+     * @return the completed exchange.
+     */
+    @Benchmark
+    public Exchange send() {
+        final var exchange = producerTemplate.send(INPUT,
+                e -> e.getMessage().setBody(PAYLOAD));
+        if (exchange.isFailed()) {
+            throw new IllegalStateException("Exchange failed.", exchange.getException());
+        }
+        return exchange;
+    }
+
+    /**
+     * Answers every request of the stub server with the payload.
+     *
+     * @param exchange the HTTP exchange.
+     * @throws IOException if the request cannot be answered.
+     */
+    private static void respond(final HttpExchange exchange) throws IOException {
+        try {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, PAYLOAD.length);
+            exchange.getResponseBody().write(PAYLOAD);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Creates the in-memory database with the table used by the SQL sample routes.
+     *
+     * @return the data source.
+     * @throws SQLException if the database cannot be created.
+     */
+    private static JdbcDataSource createDatabase() throws SQLException {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("create table if not exists country "
+                    + "(id bigint primary key, name varchar(64))");
+            statement.execute("delete from country");
+            try (var insert = connection.prepareStatement(
+                    "insert into country (id, name) values (?, ?)")) {
+                for (var i = 1; i <= ROWS; i++) {
+                    insert.setLong(1, i);
+                    insert.setString(2, "country-" + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        return dataSource;
+    }
+
+}
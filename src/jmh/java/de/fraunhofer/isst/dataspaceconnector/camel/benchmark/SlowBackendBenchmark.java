@@ -0,0 +1,224 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.fraunhofer.isst.dataspaceconnector.camel.config.threads.ThreadPoolSettings;
+import de.fraunhofer.isst.dataspaceconnector.camel.config.threads.VirtualThreadPoolFactory;
+import de.fraunhofer.isst.dataspaceconnector.camel.config.threads.VirtualThreads;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.http.HttpComponent;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long a burst of concurrent exchanges takes through a route calling a slow HTTP
+ * backend, comparing a bounded thread pool profile with virtual threads. With a backend delay of
+ * d and a burst of n exchanges, a pool of p threads needs about ceil(n / p) * d, while the burst
+ * completes in about d if every exchange gets its own thread. The "virtual" executor requires
+ * Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SlowBackendBenchmark {
+
+    /**
+     * The endpoint of the route.
+     */
+    private static final String INPUT = "direct:slow-backend";
+
+    /**
+     * The body returned by the stub server.
+     */
+    private static final byte[] PAYLOAD = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The executor model: a pool of "platform" threads or "virtual" threads.
+     */
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    /**
+     * The number of exchanges sent at once.
+     */
+    @Param({"200", "1000"})
+    public int concurrency;
+
+    /**
+     * The maximum size of the platform thread pool.
+     */
+    @Param("200")
+    public int poolSize;
+
+    /**
+     * The response delay of the backend in milliseconds.
+     */
+    @Param("100")
+    public int backendDelayMs;
+
+    /**
+     * The stub HTTP server.
+     */
+    private HttpServer server;
+
+    /**
+     * The stub server's worker threads.
+     */
+    private ExecutorService serverExecutor;
+
+    /**
+     * Sends the delayed responses of the stub server.
+     */
+    private ScheduledExecutorService responder;
+
+    /**
+     * The Camel context running the route.
+     */
+    private DefaultCamelContext camelContext;
+
+    /**
+     * The producer sending to the route without blocking.
+     */
+    private AsyncProducer producer;
+
+    /**
+     * Starts the stub server and the route.
+     *
+     * @throws Exception if the setup fails.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Configurator.setRootLevel(org.apache.logging.log4j.Level.WARN);
+        if ("virtual".equals(executor) && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("The virtual executor requires Java 21 or later.");
+        }
+
+        responder = Executors.newScheduledThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), concurrency);
+        server.createContext("/", this::respond);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        camelContext = new DefaultCamelContext();
+        final var manager = camelContext.getExecutorServiceManager();
+        final var settings = new ThreadPoolSettings();
+        settings.setPoolSize(poolSize);
+        settings.setMaxPoolSize(poolSize);
+        settings.setMaxQueueSize(-1);
+        manager.registerThreadPoolProfile(settings.applyTo(new ThreadPoolProfile("backend")));
+        if ("virtual".equals(executor)) {
+            manager.setThreadPoolFactory(
+                    new VirtualThreadPoolFactory(manager.getThreadPoolFactory()));
+        }
+
+        final var http = camelContext.getComponent("http", HttpComponent.class);
+        http.setMaxTotalConnections(concurrency);
+        http.setConnectionsPerRoute(concurrency);
+
+        final var backend = "http://localhost:" + server.getAddress().getPort() + "/demo";
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(INPUT)
+                        .threads().executorServiceRef("backend")
+                        .setHeader("CamelHttpMethod", constant("GET"))
+                        .to(backend)
+                        .convertBodyTo(String.class);
+            }
+        });
+        camelContext.start();
+
+        producer = camelContext.getEndpoint(INPUT).createAsyncProducer();
+        producer.start();
+    }
+
+    /**
+     * Stops the route and the stub server.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.stop();
+        camelContext.stop();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        responder.shutdownNow();
+    }
+
+    /**
+     * Sends a burst of exchanges through the route and waits until all have completed.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Benchmark
+    public void burst() throws InterruptedException {
+        final var done = new CountDownLatch(concurrency);
+        final var failed = new AtomicInteger();
+        for (var i = 0; i < concurrency; i++) {
+            final var exchange = new DefaultExchange(camelContext);
+            producer.process(exchange, doneSync -> {
+                if (exchange.isFailed()) {
+                    failed.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        if (failed.get() > 0) {
+            throw new IllegalStateException(failed.get() + " exchanges failed.");
+        }
+    }
+
+    /**
+     * Answers a request of the stub server after the backend delay, without blocking a thread
+     * in the meantime.
+     *
+     * @param exchange the HTTP exchange.
+     * @throws IOException if the request cannot be read.
+     */
+    private void respond(final HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        responder.schedule(() -> {
+            try {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, PAYLOAD.length);
+                exchange.getResponseBody().write(PAYLOAD);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                exchange.close();
+            }
+        }, backendDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+}
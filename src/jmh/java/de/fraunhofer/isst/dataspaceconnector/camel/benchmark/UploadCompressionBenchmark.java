@@ -0,0 +1,331 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.fraunhofer.isst.dataspaceconnector.camel.upload.CompressingUploader;
+import de.fraunhofer.isst.dataspaceconnector.camel.upload.ContentEncoding;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the end-to-end latency of uploading JSON and CSV payloads of typical sizes with the
+ * {@link CompressingUploader} to a local stub server, which decompresses the body like a
+ * receiving connector would. The bytes sent on the wire per upload are reported as the
+ * secondary result "wireBytes". A link bandwidth can be simulated by the stub server reading
+ * the request body at a limited rate, as on loopback compression only costs CPU time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UploadCompressionBenchmark {
+
+    /**
+     * The path of the stub server's artifact data endpoint.
+     */
+    private static final String PATH = "/api/artifacts/927906f2-5ee1-4678-9ace-5f1f2368606c/data";
+
+    /**
+     * The content coding of the uploads.
+     */
+    @Param({"identity", "gzip", "deflate"})
+    public String encoding;
+
+    /**
+     * The payload format: "json" (newline-delimited JSON objects) or "csv".
+     */
+    @Param({"json", "csv"})
+    public String format;
+
+    /**
+     * The size of the uncompressed payload in KiB.
+     */
+    @Param({"16", "1024", "16384"})
+    public int sizeKb;
+
+    /**
+     * The simulated bandwidth of the link in Mbit/s, or 0 for an unlimited link.
+     */
+    @Param({"0", "100"})
+    public int bandwidthMbps;
+
+    /**
+     * The bytes received by the stub server since the last reset.
+     */
+    private final AtomicLong received = new AtomicLong();
+
+    /**
+     * The uncompressed payload.
+     */
+    private byte[] payload;
+
+    /**
+     * The stub HTTP server.
+     */
+    private HttpServer server;
+
+    /**
+     * The stub server's worker threads.
+     */
+    private ExecutorService serverExecutor;
+
+    /**
+     * The Camel context sending the uploads.
+     */
+    private DefaultCamelContext camelContext;
+
+    /**
+     * The uploader.
+     */
+    private CompressingUploader uploader;
+
+    /**
+     * The URI of the stub server's artifact data endpoint.
+     */
+    private String uri;
+
+    /**
+     * The bytes on the wire per upload, reported as a secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+
+        /**
+         * The request body bytes received by the stub server during the iteration.
+         */
+        public long wireBytes;
+
+        /**
+         * The uploads sent during the iteration.
+         */
+        public long uploads;
+
+        /**
+         * Resets the counters before an iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            uploads = 0;
+        }
+    }
+
+    /**
+     * Generates the payload and starts the stub server and the Camel context.
+     *
+     * @throws Exception if the setup fails.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Configurator.setRootLevel(org.apache.logging.log4j.Level.WARN);
+        payload = generatePayload(format, sizeKb * 1024);
+
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::receive);
+        server.setExecutor(serverExecutor);
+        server.start();
+        uri = "http://localhost:" + server.getAddress().getPort() + PATH;
+
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+        uploader = new CompressingUploader();
+        uploader.setEncoding(ContentEncoding.fromToken(encoding));
+    }
+
+    /**
+     * Stops the Camel context and the stub server.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        uploader.close();
+        camelContext.stop();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    /**
+     * Uploads the payload once and counts the bytes received by the stub server.
+     *
+     * @param counters the wire byte counters.
+     * @return the completed exchange.
+     * @throws Exception if the upload cannot be sent.
+     */
+    @Benchmark
+    public Exchange upload(final WireBytes counters) throws Exception {
+        received.set(0);
+        final var exchange = new DefaultExchange(camelContext);
+        final var message = exchange.getMessage();
+        message.setBody(payload);
+        message.setHeader(Exchange.HTTP_METHOD, "PUT");
+        message.setHeader(Exchange.CONTENT_TYPE, "csv".equals(format)
+                ? "text/csv" : "application/x-ndjson");
+        message.setHeader(CompressingUploader.URI_HEADER, uri);
+        uploader.send(exchange);
+        if (exchange.isFailed()) {
+            throw new IllegalStateException("Upload failed.", exchange.getException());
+        }
+        counters.wireBytes += received.get();
+        counters.uploads++;
+        return exchange;
+    }
+
+    /**
+     * Reads a request body at the simulated bandwidth, decompresses it and answers with 200.
+     *
+     * @param exchange the HTTP exchange.
+     * @throws IOException if the request cannot be read.
+     */
+    private void receive(final HttpExchange exchange) throws IOException {
+        try {
+            final var wire = new ThrottledInputStream(exchange.getRequestBody());
+            InputStream body = wire;
+            final var contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            if ("gzip".equals(contentEncoding)) {
+                body = new GZIPInputStream(body);
+            } else if ("deflate".equals(contentEncoding)) {
+                body = new InflaterInputStream(body);
+            }
+            body.transferTo(OutputStream.nullOutputStream());
+            received.set(wire.count);
+            exchange.sendResponseHeaders(200, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Generates a payload of about the given size.
+     *
+     * @param format "json" or "csv".
+     * @param size the size in bytes.
+     * @return the payload.
+     */
+    private static byte[] generatePayload(final String format, final int size) {
+        final var random = new Random(42);
+        final var builder = new StringBuilder(size + 256);
+        if ("csv".equals(format)) {
+            builder.append("id,timestamp,sensor,temperature,humidity,status\n");
+        }
+        for (var id = 1; builder.length() < size; id++) {
+            final var timestamp = 1_622_548_800_000L + id * 1_000L;
+            final var sensor = "sensor-" + random.nextInt(50);
+            final var temperature = String.format(Locale.ROOT, "%.2f",
+                    15 + random.nextDouble() * 10);
+            final var humidity = random.nextInt(100);
+            final var status = random.nextInt(20) == 0 ? "WARN" : "OK";
+            if ("csv".equals(format)) {
+                builder.append(id).append(',').append(timestamp).append(',').append(sensor)
+                        .append(',').append(temperature).append(',').append(humidity)
+                        .append(',').append(status).append('\n');
+            } else {
+                builder.append("{\"id\":").append(id).append(",\"timestamp\":").append(timestamp)
+                        .append(",\"sensor\":\"").append(sensor).append("\",\"temperature\":")
+                        .append(temperature).append(",\"humidity\":").append(humidity)
+                        .append(",\"status\":\"").append(status).append("\"}\n");
+            }
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a stream at the simulated bandwidth and counts the bytes read.
+     */
+    private final class ThrottledInputStream extends InputStream {
+
+        /**
+         * The request body.
+         */
+        private final InputStream in;
+
+        /**
+         * The time the reading started.
+         */
+        private final long start = System.nanoTime();
+
+        /**
+         * The bytes read.
+         */
+        private long count;
+
+        /**
+         * Constructor for the ThrottledInputStream.
+         *
+         * @param in the request body.
+         */
+        private ThrottledInputStream(final InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final var read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+                throttle();
+            }
+            return read;
+        }
+
+        /**
+         * Waits until the bytes read so far would have been transferred at the bandwidth.
+         *
+         * @throws IOException if interrupted.
+         */
+        private void throttle() throws IOException {
+            if (bandwidthMbps <= 0) {
+                return;
+            }
+            final var due = start + count * 8_000L / bandwidthMbps;
+            final var wait = due - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted.", e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fraunhofer.isst.dataspaceconnector.camel.sql.NdjsonRowEncoder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+
+/**
+ * Aggregation strategy combining the bodies of messages into one newline-delimited JSON (NDJSON)
+ * body, so that a batch of messages can be sent to the connector with a single request. Besides
+ * the count and time based completion of the aggregate EIP, a batch is completed before it would
+ * exceed the configured maximum size in bytes.
+ */
+@NoArgsConstructor
+public class NdjsonBatchAggregationStrategy implements AggregationStrategy {
+
+    /**
+     * Exchange property holding the batch of an aggregated exchange.
+     */
+    private static final String BATCH_PROPERTY = "DscNdjsonBatch";
+
+    /**
+     * Exchange property holding the encoded line of a new exchange.
+     */
+    private static final String LINE_PROPERTY = "DscNdjsonLine";
+
+    /**
+     * The JSON mapper, used if messages are compacted.
+     */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * The maximum size of a batch in bytes. A single message exceeding it forms its own batch.
+     */
+    @Getter
+    @Setter
+    private int maxBytes = 1_048_576;
+
+    /**
+     * Whether to parse and re-encode every message, which removes line breaks from
+     * pretty-printed JSON and rejects messages that are not valid JSON. If false, message bodies
+     * are appended as they are and must not contain line breaks.
+     */
+    @Getter
+    @Setter
+    private boolean compact;
+
+    @Override
+    public Exchange aggregate(final Exchange oldExchange, final Exchange newExchange) {
+        final var line = getLine(newExchange);
+        newExchange.removeProperty(LINE_PROPERTY);
+
+        if (oldExchange == null) {
+            final var batch = new ByteArrayOutputStream();
+            append(batch, line);
+            newExchange.setProperty(BATCH_PROPERTY, batch);
+            return newExchange;
+        }
+
+        append(oldExchange.getProperty(BATCH_PROPERTY, ByteArrayOutputStream.class), line);
+        return oldExchange;
+    }
+
+    @Override
+    public boolean canPreComplete() {
+        return true;
+    }
+
+    /**
+     * Completes the current batch, if adding the new message would exceed the maximum size.
+     *
+     * @param oldExchange the aggregated exchange.
+     * @param newExchange the new exchange.
+     * @return true, if the batch should be completed before adding the new message.
+     */
+    @Override
+    public boolean preComplete(final Exchange oldExchange, final Exchange newExchange) {
+        if (oldExchange == null) {
+            return false;
+        }
+
+        final var batch = oldExchange.getProperty(BATCH_PROPERTY, ByteArrayOutputStream.class);
+        return batch != null && batch.size() + getLine(newExchange).length + 1 > maxBytes;
+    }
+
+    /**
+     * Sets the batch as the body of the aggregated exchange.
+     *
+     * @param exchange the aggregated exchange.
+     */
+    @Override
+    public void onCompletion(final Exchange exchange) {
+        final var batch = exchange.removeProperty(BATCH_PROPERTY);
+        if (batch instanceof ByteArrayOutputStream) {
+            final var message = exchange.getMessage();
+            message.setBody(((ByteArrayOutputStream) batch).toByteArray());
+            message.setHeader(Exchange.CONTENT_TYPE, NdjsonRowEncoder.CONTENT_TYPE);
+            message.removeHeader(Exchange.CONTENT_LENGTH);
+        }
+    }
+
+    /**
+     * Returns the encoded line of an exchange, encoding it on first use.
+     *
+     * @param exchange the exchange.
+     * @return the line without the line separator.
+     */
+    private byte[] getLine(final Exchange exchange) {
+        var line = exchange.getProperty(LINE_PROPERTY, byte[].class);
+        if (line == null) {
+            line = encode(exchange.getMessage().getBody(byte[].class));
+            exchange.setProperty(LINE_PROPERTY, line);
+        }
+        return line;
+    }
+
+    /**
+     * Encodes a message body as one line.
+     *
+     * @param body the body.
+     * @return the line without the line separator.
+     */
+    private byte[] encode(final byte[] body) {
+        if (body == null) {
+            return "null".getBytes(StandardCharsets.UTF_8);
+        }
+
+        if (compact) {
+            try {
+                return mapper.writeValueAsBytes(mapper.readTree(body));
+            } catch (IOException e) {
+                throw new RuntimeCamelException("Message is not valid JSON.", e);
+            }
+        }
+
+        var length = body.length;
+        while (length > 0 && (body[length - 1] == '\n' || body[length - 1] == '\r')) {
+            length--;
+        }
+        if (length == body.length) {
+            return body;
+        }
+
+        final var trimmed = new byte[length];
+        System.arraycopy(body, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    /**
+     * Appends a line to a batch.
+     *
+     * @param batch the batch.
+     * @param line the line.
+     */
+    private static void append(final ByteArrayOutputStream batch, final byte[] line) {
+        batch.write(line, 0, line.length);
+        batch.write('\n');
+    }
+
+}
@@ -0,0 +1,284 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.RuntimeCamelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanNameAware;
+
+/**
+ * A processor that calls a target endpoint, e.g. a backend or reference service, and keeps its
+ * responses in a bounded in-memory cache, so that repeated lookups with the same key are served
+ * from memory. The body and the configured headers of a response are cached for a fixed time
+ * after it was fetched. The cache holds at most a given number of responses and evicts the
+ * ones least likely to be used again (W-TinyLFU).
+ *
+ * <p>The target is called with a copy of the exchange, so that the exchange receives only the
+ * body and the cached headers of the response, whether it was cached or not. Only successful
+ * responses are cached. Concurrent lookups of a missing key share the pending response of a
+ * single call to the target, which is made outside of the cache's locks. Hits, misses and
+ * evictions are published as the "cache.*" metrics with the bean name as tag "cache".</p>
+ */
+@NoArgsConstructor
+public class CachingLookup implements Processor, CamelContextAware, BeanNameAware,
+        AutoCloseable {
+
+    /**
+     * Header set to true if the response was served from the cache.
+     */
+    public static final String HIT_HEADER = "DscCacheHit";
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingLookup.class);
+
+    /**
+     * The endpoint URI responses are fetched from.
+     */
+    @Getter
+    @Setter
+    private String target;
+
+    /**
+     * Simple language expression calculating the cache key of an exchange. If not set, all
+     * exchanges share one entry. Exchanges whose key is null are never cached.
+     */
+    @Getter
+    @Setter
+    private String keyExpression;
+
+    /**
+     * The maximum number of cached responses.
+     */
+    @Getter
+    @Setter
+    private long maximumSize = 1_000;
+
+    /**
+     * The time in milliseconds a response is cached after it was fetched.
+     */
+    @Getter
+    @Setter
+    private long ttl = 60_000;
+
+    /**
+     * The headers of a response that are cached together with its body.
+     */
+    @Getter
+    @Setter
+    private List<String> cachedHeaders = List.of(Exchange.CONTENT_TYPE);
+
+    /**
+     * The Camel context.
+     */
+    @Getter
+    @Setter
+    private CamelContext camelContext;
+
+    /**
+     * The time source of the cache, replaced in tests.
+     */
+    @Setter
+    private Ticker ticker = Ticker.systemTicker();
+
+    /**
+     * The name of the bean.
+     */
+    private String beanName = "caching-lookup";
+
+    /**
+     * The cache, once started.
+     */
+    private AsyncCache<String, CachedResponse> cache;
+
+    /**
+     * The compiled key expression, once started.
+     */
+    private Expression key;
+
+    /**
+     * The producer template calling the target, once started.
+     */
+    private ProducerTemplate producerTemplate;
+
+    @Override
+    public void setBeanName(final String name) {
+        this.beanName = name;
+    }
+
+    /**
+     * Sets the body and cached headers of the response for the exchange's key, calling the
+     * target only if the response is not cached.
+     *
+     * @param exchange the exchange.
+     */
+    @Override
+    public void process(final Exchange exchange) {
+        final var responses = start();
+        final var cacheKey = key == null ? target : key.evaluate(exchange, String.class);
+        if (cacheKey == null) {
+            fetch(exchange).applyTo(exchange);
+            exchange.getMessage().setHeader(HIT_HEADER, false);
+            return;
+        }
+
+        final var miss = new CompletableFuture<CachedResponse>();
+        final var pending = responses.get(cacheKey, (k, executor) -> miss);
+        if (pending == miss) {
+            try {
+                miss.complete(fetch(exchange));
+            } catch (RuntimeException e) {
+                // Failed futures are removed from the cache, waiting lookups receive the failure.
+                miss.completeExceptionally(e);
+            }
+        }
+
+        final CachedResponse response;
+        try {
+            response = pending.join();
+        } catch (CompletionException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e.getCause());
+        }
+        response.applyTo(exchange);
+        exchange.getMessage().setHeader(HIT_HEADER, pending != miss);
+    }
+
+    /**
+     * Removes all cached responses, e.g. after the reference data has changed.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    /**
+     * Stops the producer template and discards the cached responses.
+     */
+    @Override
+    public synchronized void close() {
+        if (cache == null) {
+            return;
+        }
+
+        cache.synchronous().invalidateAll();
+        try {
+            producerTemplate.stop();
+        } catch (Exception e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Failed to stop producer template. [exception=({})]",
+                        e.getMessage(), e);
+            }
+        }
+        cache = null;
+    }
+
+    /**
+     * Calls the target with a copy of the exchange and reads the response.
+     *
+     * @param exchange the exchange.
+     * @return the response.
+     * @throws RuntimeCamelException if the call failed.
+     */
+    private CachedResponse fetch(final Exchange exchange) {
+        final var copy = producerTemplate.send(target, exchange.copy());
+        final var exception = copy.getException();
+        if (exception != null) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(exception);
+        }
+
+        final var message = copy.getMessage();
+        final var headers = new HashMap<String, Object>();
+        for (final var name : cachedHeaders) {
+            final var value = message.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new CachedResponse(message.getBody(byte[].class), headers);
+    }
+
+    /**
+     * Creates the cache, if not yet started.
+     *
+     * @return the cache.
+     */
+    private synchronized AsyncCache<String, CachedResponse> start() {
+        if (cache != null) {
+            return cache;
+        }
+
+        if (target == null || camelContext == null) {
+            throw new IllegalStateException("Target and Camel context must be set.");
+        }
+        if (keyExpression != null) {
+            key = camelContext.resolveLanguage("simple").createExpression(keyExpression);
+        }
+
+        producerTemplate = camelContext.createProducerTemplate();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache.synchronous(), beanName);
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Started caching lookup. [cache=({}), maximumSize=({}), ttl=({}), "
+                    + "target=({})]", beanName, maximumSize, ttl, target);
+        }
+        return cache;
+    }
+
+    /**
+     * A cached response.
+     */
+    @AllArgsConstructor
+    private static final class CachedResponse {
+
+        /**
+         * The body, which may be null.
+         */
+        private final byte[] body;
+
+        /**
+         * The cached headers.
+         */
+        private final Map<String, Object> headers;
+
+        /**
+         * Sets the body and headers on the message of an exchange.
+         *
+         * @param exchange the exchange.
+         */
+        private void applyTo(final Exchange exchange) {
+            final var message = exchange.getMessage();
+            message.setBody(body);
+            message.getHeaders().putAll(headers);
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.change;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.util.ContentHash;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects whether the data polled by a route has changed since the last successful run, so that
+ * the rest of the route, e.g. the upload to the connector, can be skipped otherwise. Before the
+ * source is called, {@link #prepare(Exchange)} adds the conditional request headers
+ * {@code If-None-Match} and {@code If-Modified-Since} from the last response. After the call,
+ * {@link #detect(Exchange)} stops the route if the source answered 304 (Not Modified) or, for
+ * sources without validators, if the body has the same content hash as before.
+ *
+ * <p>The state is kept per route and only updated once an exchange has completed successfully,
+ * so that data is sent again if a later step of the route failed.</p>
+ */
+@NoArgsConstructor
+public class ChangeDetector {
+
+    /**
+     * Header set to true if the route was stopped because the data did not change.
+     */
+    public static final String UNCHANGED_HEADER = "DscUnchanged";
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeDetector.class);
+
+    /**
+     * Status code of a response to a conditional request for unchanged data.
+     */
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * The state of the last successful exchange by route ID.
+     */
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    /**
+     * Whether to compare content hashes of bodies if the source does not answer with 304.
+     * Bodies that are streams which cannot be read twice are never hashed.
+     */
+    @Getter
+    @Setter
+    private boolean hashFallback = true;
+
+    /**
+     * Adds the conditional request headers for the source call, if the route has completed
+     * successfully before.
+     *
+     * @param exchange the exchange.
+     */
+    public void prepare(final Exchange exchange) {
+        final var message = exchange.getMessage();
+        message.removeHeader("If-None-Match");
+        message.removeHeader("If-Modified-Since");
+
+        final var state = states.get(exchange.getFromRouteId());
+        if (state != null) {
+            if (state.getEtag() != null) {
+                message.setHeader("If-None-Match", state.getEtag());
+            }
+            if (state.getLastModified() != null) {
+                message.setHeader("If-Modified-Since", state.getLastModified());
+            }
+        }
+    }
+
+    /**
+     * Stops the route if the data did not change. Otherwise, the validators and content hash of
+     * the response are stored once the exchange completes successfully. The conditional request
+     * headers are removed, so that they are not sent to later endpoints of the route.
+     *
+     * @param exchange the exchange.
+     * @throws IOException if the body cannot be read.
+     */
+    public void detect(final Exchange exchange) throws IOException {
+        final var message = exchange.getMessage();
+        message.removeHeader("If-None-Match");
+        message.removeHeader("If-Modified-Since");
+
+        final var routeId = exchange.getFromRouteId();
+        final var previous = states.get(routeId);
+        final var status = message.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (status != null && status == NOT_MODIFIED) {
+            stop(exchange, "Source of route {} answered 304 (Not Modified).", routeId);
+            return;
+        }
+
+        final var hash = hashFallback ? hash(exchange) : null;
+        if (hash != null && previous != null && hash.equals(previous.getHash())) {
+            stop(exchange, "Data of route {} has the same content hash as before.", routeId);
+            return;
+        }
+
+        message.setHeader(UNCHANGED_HEADER, false);
+        final var state = new State(message.getHeader("ETag", String.class),
+                message.getHeader("Last-Modified", String.class), hash);
+        exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onComplete(final Exchange completed) {
+                states.put(routeId, state);
+            }
+        });
+    }
+
+    /**
+     * Forgets the state of a route, so that the next run transfers the data again.
+     *
+     * @param routeId the route ID.
+     */
+    public void reset(final String routeId) {
+        states.remove(Objects.requireNonNull(routeId));
+    }
+
+    /**
+     * Marks an exchange as unchanged and stops the route.
+     *
+     * @param exchange the exchange.
+     * @param reason the log message.
+     * @param routeId the route ID.
+     */
+    private static void stop(final Exchange exchange, final String reason, final String routeId) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(reason, routeId);
+        }
+        exchange.getMessage().setHeader(UNCHANGED_HEADER, true);
+        exchange.setRouteStop(true);
+    }
+
+    /**
+     * Computes the content hash of the body without consuming it. Cached streams are reset after
+     * reading, other streams are not hashed. Other bodies are converted to a byte array, which
+     * replaces the body.
+     *
+     * @param exchange the exchange.
+     * @return the content hash, or null if the body cannot be read twice.
+     * @throws IOException if the body cannot be read.
+     */
+    private static String hash(final Exchange exchange) throws IOException {
+        final var message = exchange.getMessage();
+        final var body = message.getBody();
+        if (body == null) {
+            return ContentHash.of(new byte[0]);
+        } else if (body instanceof StreamCache && body instanceof InputStream) {
+            final var cache = (StreamCache) body;
+            try {
+                cache.reset();
+                return ContentHash.of((InputStream) body);
+            } finally {
+                cache.reset();
+            }
+        } else if (body instanceof InputStream) {
+            return null;
+        }
+
+        final var bytes = message.getBody(byte[].class);
+        if (bytes == null) {
+            return null;
+        }
+        message.setBody(bytes);
+        return ContentHash.of(bytes);
+    }
+
+    /**
+     * The validators and content hash of the last successful response of a route.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class State {
+
+        /**
+         * The entity tag, or null.
+         */
+        private final String etag;
+
+        /**
+         * The last modification date, or null.
+         */
+        private final String lastModified;
+
+        /**
+         * The content hash, or null.
+         */
+        private final String hash;
+
+    }
+
+}
@@ -0,0 +1,450 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.TemplatedRoute;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.BeanStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.RouteStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.StoreRestorer;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.TemplateStore;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.apache.camel.model.ModelCamelContext;
+import org.apache.camel.model.RouteDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distributes the routes of the store between the members of a cluster, so that every stored
+ * route runs on exactly one member. Every member renews its lease in the shared
+ * {@link LeaseStore} once per heartbeat and assigns the stored routes to the live members with
+ * {@link RendezvousHash}, so all members agree on the owners without further coordination.
+ * Routes a member no longer owns are stopped immediately; routes it gained are only started once
+ * the same members have been seen on two consecutive heartbeats, which gives the previous owner
+ * one heartbeat to stop them. Beans and route templates are loaded on every member.
+ *
+ * <p>If the lease cannot be renewed for longer than its time to live, the other members
+ * consider this member dead and take over its routes, so it stops them as well.</p>
+ */
+@Component
+public class ClusterCoordinator {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterCoordinator.class);
+
+    /**
+     * Whether cluster mode is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The ID of this member.
+     */
+    private final String nodeId;
+
+    /**
+     * The URL under which the admin API of this member can be reached by the other members.
+     */
+    private final String url;
+
+    /**
+     * The interval in milliseconds in which the lease is renewed and the routes are reassigned.
+     */
+    private final long heartbeatMillis;
+
+    /**
+     * The time in milliseconds after which the lease of a member expires.
+     */
+    private final long leaseTtlMillis;
+
+    /**
+     * The lease store.
+     */
+    private final LeaseStore leaseStore;
+
+    /**
+     * The Camel context.
+     */
+    private final ModelCamelContext camelContext;
+
+    /**
+     * The route store.
+     */
+    private final RouteStore routeStore;
+
+    /**
+     * The bean store.
+     */
+    private final BeanStore beanStore;
+
+    /**
+     * The template store.
+     */
+    private final TemplateStore templateStore;
+
+    /**
+     * Service for deploying routes.
+     */
+    private final RouteDeploymentService deploymentService;
+
+    /**
+     * Restorer used for loading stored beans.
+     */
+    private final StoreRestorer storeRestorer;
+
+    /**
+     * The live members seen on the last heartbeat, by member ID.
+     */
+    private volatile Map<String, String> members;
+
+    /**
+     * The members seen on the heartbeat before the last one. Only accessed by the heartbeat
+     * thread.
+     */
+    private Map<String, String> previousMembers = Map.of();
+
+    /**
+     * The IDs of the stored routes seen on the last heartbeat. Only accessed by the heartbeat
+     * thread.
+     */
+    private Set<String> storedRouteIds = Set.of();
+
+    /**
+     * The time the lease was last renewed successfully. Only accessed by the heartbeat thread.
+     */
+    private long lastHeartbeat;
+
+    /**
+     * The executor running the heartbeat.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor for the ClusterCoordinator.
+     *
+     * @param enabled whether cluster mode is enabled.
+     * @param nodeId the ID of this member, or an empty string for host name and port.
+     * @param url the URL of the admin API of this member, or an empty string for one built from
+     *            host name and port.
+     * @param heartbeatMillis the heartbeat interval in milliseconds.
+     * @param leaseTtlMillis the time to live of a lease in milliseconds.
+     * @param port the server port.
+     * @param ssl whether the server uses TLS.
+     * @param leaseStore the LeaseStore.
+     * @param camelContext the CamelContext.
+     * @param routeStore the RouteStore.
+     * @param beanStore the BeanStore.
+     * @param templateStore the TemplateStore.
+     * @param deploymentService the RouteDeploymentService.
+     * @param storeRestorer the StoreRestorer.
+     */
+    @Autowired
+    public ClusterCoordinator(@Value("${cluster.enabled:false}") final boolean enabled,
+                              @Value("${cluster.node-id:}") final String nodeId,
+                              @Value("${cluster.advertised-url:}") final String url,
+                              @Value("${cluster.heartbeat-ms:5000}") final long heartbeatMillis,
+                              @Value("${cluster.lease-ttl-ms:15000}") final long leaseTtlMillis,
+                              @Value("${server.port:9090}") final int port,
+                              @Value("${server.ssl.enabled:false}") final boolean ssl,
+                              final LeaseStore leaseStore,
+                              final CamelContext camelContext,
+                              final RouteStore routeStore,
+                              final BeanStore beanStore,
+                              final TemplateStore templateStore,
+                              final RouteDeploymentService deploymentService,
+                              final StoreRestorer storeRestorer) {
+        final var host = hostName();
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? host + "-" + port : nodeId;
+        this.url = url.isBlank() ? (ssl ? "https" : "http") + "://" + host + ":" + port : url;
+        this.heartbeatMillis = heartbeatMillis;
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.leaseStore = leaseStore;
+        this.camelContext = camelContext.adapt(ModelCamelContext.class);
+        this.routeStore = routeStore;
+        this.beanStore = beanStore;
+        this.templateStore = templateStore;
+        this.deploymentService = deploymentService;
+        this.storeRestorer = storeRestorer;
+        this.members = Map.of(this.nodeId, this.url);
+    }
+
+    /**
+     * Returns whether cluster mode is enabled.
+     *
+     * @return true, if cluster mode is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the ID of this member.
+     *
+     * @return the member ID.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Checks whether a route is owned by another member.
+     *
+     * @param routeId the route ID.
+     * @return true, if cluster mode is enabled and another member owns the route.
+     */
+    public boolean isRemote(final String routeId) {
+        if (!enabled || routeId == null) {
+            return false;
+        }
+        final var owner = RendezvousHash.owner(members.keySet(), routeId);
+        return owner != null && !owner.equals(nodeId);
+    }
+
+    /**
+     * Returns the URL of the admin API of the member owning a route.
+     *
+     * @param routeId the route ID.
+     * @return the URL.
+     */
+    public String ownerUrl(final String routeId) {
+        final var current = members;
+        return current.get(RendezvousHash.owner(current.keySet(), routeId));
+    }
+
+    /**
+     * Returns the members and the routes running on this member.
+     *
+     * @return the cluster status.
+     */
+    public ClusterStatus getStatus() {
+        return new ClusterStatus(enabled, nodeId, members, camelContext.getRoutes().stream()
+                .map(Route::getRouteId).sorted().collect(Collectors.toList()));
+    }
+
+    /**
+     * Starts the heartbeat once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || executor != null) {
+            return;
+        }
+        if (!routeStore.isEnabled()) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Cluster mode requires the store to be enabled. Routes are not "
+                        + "distributed.");
+            }
+            return;
+        }
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Joining cluster as {} with URL {}.", nodeId, url);
+        }
+        executor = camelContext.getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, "ClusterCoordinator");
+        executor.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the heartbeat and releases the lease when the application shuts down, so that the
+     * other members take over the routes right away.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        camelContext.getExecutorServiceManager().shutdownNow(executor);
+        executor = null;
+        try {
+            leaseStore.leave(nodeId);
+        } catch (IOException e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not release the lease of {}. [exception=({})]", nodeId,
+                        e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Renews the lease and reassigns the routes. Errors are logged, so that the next heartbeat
+     * is not cancelled.
+     */
+    void heartbeat() {
+        final Map<String, String> live;
+        try {
+            leaseStore.heartbeat(nodeId, url, leaseTtlMillis);
+            lastHeartbeat = System.currentTimeMillis();
+            live = new TreeMap<>(leaseStore.liveNodes());
+            live.put(nodeId, url);
+        } catch (Exception e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not renew the lease of {}. [exception=({})]", nodeId,
+                        e.getMessage(), e);
+            }
+            fence();
+            return;
+        }
+
+        try {
+            if (!live.keySet().equals(members.keySet()) && LOGGER.isInfoEnabled()) {
+                LOGGER.info("Cluster members changed to {}.", live.keySet());
+            }
+            final var stable = live.keySet().equals(previousMembers.keySet());
+            previousMembers = live;
+            members = live;
+
+            reconcile(live.keySet(), stable);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not reassign routes. [exception=({})]", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Loads new beans and templates, stops the routes owned by other members and, if the
+     * members are stable, starts the routes owned by this member.
+     *
+     * @param nodes the IDs of the live members.
+     * @param stable whether the same members were seen on the previous heartbeat.
+     * @throws Exception if the store cannot be read.
+     */
+    private void reconcile(final Set<String> nodes, final boolean stable) throws Exception {
+        storeRestorer.restoreBeans(beanStore.loadAll());
+        for (final var template : templateStore.loadTemplates()) {
+            if (camelContext.getRouteTemplateDefinition(template.getId()) == null) {
+                camelContext.addRouteTemplateDefinition(template);
+            }
+        }
+
+        final var routeIds = routeStore.listIds();
+        final var templatedRoutes = templateStore.loadRoutes();
+        final var stored = new ArrayList<>(routeIds);
+        templatedRoutes.forEach(route -> stored.add(route.getRouteId()));
+        storedRouteIds = Set.copyOf(stored);
+
+        release(stored.stream()
+                .filter(routeId -> !nodeId.equals(RendezvousHash.owner(nodes, routeId)))
+                .collect(Collectors.toList()));
+
+        if (stable) {
+            acquire(routeIds.stream().filter(routeId -> isOwned(nodes, routeId))
+                            .collect(Collectors.toList()),
+                    templatedRoutes.stream().filter(route -> isOwned(nodes, route.getRouteId()))
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Stops the stored routes running on this member if the lease has not been renewed for
+     * longer than its time to live, as the other members may already have taken them over.
+     */
+    private void fence() {
+        if (System.currentTimeMillis() - lastHeartbeat > leaseTtlMillis) {
+            release(storedRouteIds);
+            previousMembers = Map.of();
+        }
+    }
+
+    /**
+     * Checks whether this member owns a route that is not running yet.
+     *
+     * @param nodes the IDs of the live members.
+     * @param routeId the route ID.
+     * @return true, if the route has to be started on this member.
+     */
+    private boolean isOwned(final Set<String> nodes, final String routeId) {
+        return routeId != null && nodeId.equals(RendezvousHash.owner(nodes, routeId))
+                && camelContext.getRoute(routeId) == null;
+    }
+
+    /**
+     * Starts stored routes. Routes that cannot be read or started are logged and retried on the
+     * next heartbeat.
+     *
+     * @param routeIds the IDs of the routes from the route store.
+     * @param templatedRoutes the routes created from templates.
+     * @throws Exception if the routes could not be added to the Camel context.
+     */
+    private void acquire(final List<String> routeIds, final List<TemplatedRoute> templatedRoutes)
+            throws Exception {
+        if (routeIds.isEmpty() && templatedRoutes.isEmpty()) {
+            return;
+        }
+
+        final var routes = new ArrayList<RouteDefinition>();
+        for (final var routeId : routeIds) {
+            try {
+                routes.add(routeStore.load(routeId));
+            } catch (IOException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Could not read stored route {}. [exception=({})]", routeId,
+                            e.getMessage(), e);
+                }
+            }
+        }
+
+        final var results = new ArrayList<>(deploymentService.restore(routes));
+        results.addAll(deploymentService.restoreFromTemplates(templatedRoutes));
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Took over {} routes.", results.size());
+        }
+    }
+
+    /**
+     * Stops and removes routes that are running on this member.
+     *
+     * @param routeIds the IDs of the routes.
+     */
+    private void release(final Collection<String> routeIds) {
+        final var running = routeIds.stream()
+                .filter(routeId -> camelContext.getRoute(routeId) != null)
+                .collect(Collectors.toList());
+        if (running.isEmpty()) {
+            return;
+        }
+
+        deploymentService.removeRoutes(running);
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Handed over {} routes to other members.", running.size());
+        }
+    }
+
+    /**
+     * Returns the host name of this machine.
+     *
+     * @return the host name, or "localhost" if it cannot be determined.
+     */
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Pattern;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Forwards admin API calls for a single route, i.e. "/api/routes/{routeId}" and its sub paths,
+ * to the cluster member owning the route, so that any member can be called. The request is
+ * sent with the original method, body, content type and credentials; the response of the owner
+ * is returned as is. Forwarded requests are marked with a header and never forwarded again, so
+ * that members with a different view of the cluster cannot forward a request in circles.
+ */
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    /**
+     * Header marking a forwarded request, containing the ID of the forwarding member.
+     */
+    public static final String FORWARDED_HEADER = "X-Dsc-Forwarded-By";
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterForwardingFilter.class);
+
+    /**
+     * Matches the paths of single routes and captures the route ID.
+     */
+    private static final Pattern ROUTE_PATH = Pattern.compile("^/api/routes/([^/]+)(/.*)?$");
+
+    /**
+     * The cluster coordinator.
+     */
+    private final ClusterCoordinator coordinator;
+
+    /**
+     * The client sending the forwarded requests.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * The timeout in milliseconds for a forwarded request.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Constructor for the ClusterForwardingFilter.
+     *
+     * @param coordinator the ClusterCoordinator.
+     * @param httpClient the client sending the forwarded requests.
+     * @param timeoutMillis the timeout in milliseconds for a forwarded request.
+     */
+    public ClusterForwardingFilter(final ClusterCoordinator coordinator,
+                                   final HttpClient httpClient, final long timeoutMillis) {
+        this.coordinator = coordinator;
+        this.httpClient = httpClient;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !coordinator.isEnabled() || request.getHeader(FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain)
+            throws ServletException, IOException {
+        final var matcher = ROUTE_PATH.matcher(request.getRequestURI()
+                .substring(request.getContextPath().length()));
+        final var routeId = matcher.matches()
+                ? URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8) : null;
+        if (routeId == null || "batch".equals(routeId) || !coordinator.isRemote(routeId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final var ownerUrl = coordinator.ownerUrl(routeId);
+        try {
+            forward(request, response, ownerUrl);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        } catch (IOException e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not forward request for route {} to {}. [exception=({})]",
+                        routeId, ownerUrl, e.getMessage(), e);
+            }
+            response.sendError(HttpStatus.BAD_GATEWAY.value(), "Could not forward request to "
+                    + "the owner of route " + routeId + ".");
+        }
+    }
+
+    /**
+     * Sends a request to the owning member and copies the response.
+     *
+     * @param request the request.
+     * @param response the response.
+     * @param ownerUrl the URL of the owning member.
+     * @throws IOException if the request cannot be forwarded.
+     * @throws InterruptedException if the thread is interrupted while waiting for the owner.
+     */
+    private void forward(final HttpServletRequest request, final HttpServletResponse response,
+                         final String ownerUrl) throws IOException, InterruptedException {
+        final var query = request.getQueryString();
+        final var target = URI.create(ownerUrl + request.getRequestURI()
+                .substring(request.getContextPath().length())
+                + (query != null ? "?" + query : ""));
+
+        final var body = request.getInputStream().readAllBytes();
+        final var builder = HttpRequest.newBuilder(target)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header(FORWARDED_HEADER, coordinator.getNodeId())
+                .method(request.getMethod(), body.length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        copyHeader(request, builder, HttpHeaders.AUTHORIZATION);
+        copyHeader(request, builder, HttpHeaders.CONTENT_TYPE);
+        copyHeader(request, builder, HttpHeaders.ACCEPT);
+
+        final var forwarded = httpClient.send(builder.build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Forwarded {} {} to {} with status {}.", request.getMethod(),
+                    request.getRequestURI(), ownerUrl, forwarded.statusCode());
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .ifPresent(response::setContentType);
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    /**
+     * Copies a header from the original to the forwarded request, if present.
+     *
+     * @param request the original request.
+     * @param builder the builder of the forwarded request.
+     * @param name the header name.
+     */
+    private static void copyHeader(final HttpServletRequest request,
+                                   final HttpRequest.Builder builder, final String name) {
+        final var value = request.getHeader(name);
+        if (value != null) {
+            builder.header(name, value);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The cluster as seen by one member.
+ */
+@Getter
+@AllArgsConstructor
+public class ClusterStatus {
+
+    /**
+     * Whether cluster mode is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The ID of this member.
+     */
+    private final String nodeId;
+
+    /**
+     * The URLs of the admin APIs of the live members by member ID.
+     */
+    private final Map<String, String> members;
+
+    /**
+     * The IDs of the routes running on this member.
+     */
+    private final List<String> routes;
+
+}
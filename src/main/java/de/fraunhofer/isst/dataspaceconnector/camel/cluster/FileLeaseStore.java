@@ -0,0 +1,150 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lease store keeping one file per member in a directory shared by all members, e.g. on a
+ * network file system. Lease files are replaced atomically, so that readers never see a
+ * partially written lease. As the expiry time is written by the member itself, the clocks of
+ * the members must be synchronized.
+ */
+public class FileLeaseStore implements LeaseStore {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileLeaseStore.class);
+
+    /**
+     * File extension of the lease files.
+     */
+    private static final String LEASE_EXTENSION = ".lease";
+
+    /**
+     * The directory containing the lease files.
+     */
+    private final Path directory;
+
+    /**
+     * Constructor for the FileLeaseStore.
+     *
+     * @param directory the directory containing the lease files. It is created if it does not
+     *                  exist.
+     */
+    public FileLeaseStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void heartbeat(final String nodeId, final String url, final long ttlMillis)
+            throws IOException {
+        final var lease = new Properties();
+        lease.setProperty("url", url);
+        lease.setProperty("expires", String.valueOf(System.currentTimeMillis() + ttlMillis));
+        final var content = new StringWriter();
+        lease.store(content, null);
+
+        Files.createDirectories(directory);
+        final var temp = Files.createTempFile(directory, ".", ".tmp");
+        try {
+            Files.writeString(temp, content.toString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, leaseFile(nodeId), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, leaseFile(nodeId), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Map<String, String> liveNodes() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Map.of();
+        }
+
+        final List<Path> files;
+        try (var list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().endsWith(LEASE_EXTENSION))
+                    .collect(Collectors.toList());
+        }
+
+        final var now = System.currentTimeMillis();
+        final var nodes = new TreeMap<String, String>();
+        for (final var file : files) {
+            final var lease = read(file);
+            if (lease == null) {
+                continue;
+            }
+
+            final var url = lease.getProperty("url");
+            final var expires = lease.getProperty("expires");
+            try {
+                if (url != null && expires != null && Long.parseLong(expires) > now) {
+                    final var name = file.getFileName().toString();
+                    nodes.put(URLDecoder.decode(name.substring(0, name.length()
+                            - LEASE_EXTENSION.length()), StandardCharsets.UTF_8), url);
+                }
+            } catch (NumberFormatException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Ignoring lease file {} with invalid expiry time.", file);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    @Override
+    public void leave(final String nodeId) throws IOException {
+        Files.deleteIfExists(leaseFile(nodeId));
+    }
+
+    /**
+     * Reads a lease file.
+     *
+     * @param file the lease file.
+     * @return the lease, or null if the file has been removed in the meantime.
+     * @throws IOException if the file cannot be read.
+     */
+    private static Properties read(final Path file) throws IOException {
+        try {
+            final var lease = new Properties();
+            lease.load(new StringReader(Files.readString(file, StandardCharsets.UTF_8)));
+            return lease;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the lease file of a member.
+     *
+     * @param nodeId the ID of the member.
+     * @return the file.
+     */
+    private Path leaseFile(final String nodeId) {
+        return directory.resolve(URLEncoder.encode(nodeId, StandardCharsets.UTF_8)
+                + LEASE_EXTENSION);
+    }
+
+}
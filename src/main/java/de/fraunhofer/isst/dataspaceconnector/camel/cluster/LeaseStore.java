@@ -0,0 +1,42 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Shared store of the leases of the cluster members. Every member renews its lease periodically;
+ * a member whose lease has expired is no longer considered alive, so that its routes are taken
+ * over by the remaining members. Implementations must be shared by all members, e.g. a directory
+ * on a shared volume or a database table.
+ */
+public interface LeaseStore {
+
+    /**
+     * Creates or renews the lease of a member.
+     *
+     * @param nodeId the ID of the member.
+     * @param url the URL under which the admin API of the member can be reached.
+     * @param ttlMillis the time in milliseconds after which the lease expires, if it is not
+     *                  renewed.
+     * @throws IOException if the lease cannot be written.
+     */
+    void heartbeat(String nodeId, String url, long ttlMillis) throws IOException;
+
+    /**
+     * Returns the members whose leases have not expired.
+     *
+     * @return the URLs of the admin APIs by member ID.
+     * @throws IOException if the leases cannot be read.
+     */
+    Map<String, String> liveNodes() throws IOException;
+
+    /**
+     * Releases the lease of a member, e.g. when it shuts down, so that the other members take
+     * over its routes without waiting for the lease to expire.
+     *
+     * @param nodeId the ID of the member.
+     * @throws IOException if the lease cannot be removed.
+     */
+    void leave(String nodeId) throws IOException;
+
+}
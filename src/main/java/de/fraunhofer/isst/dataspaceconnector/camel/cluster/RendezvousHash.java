@@ -0,0 +1,63 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.util.ContentHash;
+
+/**
+ * Assigns keys to members with rendezvous (highest random weight) hashing: every member gets a
+ * weight per key and the member with the highest weight owns the key. When a member joins or
+ * leaves, only the keys it gains or loses change their owner.
+ */
+public final class RendezvousHash {
+
+    /**
+     * Utility class, not to be instantiated.
+     */
+    private RendezvousHash() {
+    }
+
+    /**
+     * Returns the owner of a key.
+     *
+     * @param nodes the IDs of the members.
+     * @param key the key, e.g. a route ID.
+     * @return the ID of the owning member, or null if there are no members.
+     */
+    public static String owner(final Collection<String> nodes, final String key) {
+        String owner = null;
+        var ownerWeight = 0L;
+        for (final var node : nodes) {
+            final var weight = weight(node, key);
+            if (owner == null || Long.compareUnsigned(weight, ownerWeight) > 0
+                    || (weight == ownerWeight && node.compareTo(owner) < 0)) {
+                owner = node;
+                ownerWeight = weight;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Computes the weight of a member for a key from the first eight bytes of their SHA-256
+     * hash.
+     *
+     * @param node the ID of the member.
+     * @param key the key.
+     * @return the weight.
+     */
+    private static long weight(final String node, final String key) {
+        final var digest = ContentHash.newDigest();
+        digest.update(node.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        final var hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+
+        var weight = 0L;
+        for (var i = 0; i < Long.BYTES; i++) {
+            weight = (weight << Byte.SIZE) | (hash[i] & 0xFF);
+        }
+        return weight;
+    }
+
+}
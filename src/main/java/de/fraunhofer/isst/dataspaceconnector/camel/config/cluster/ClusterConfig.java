@@ -0,0 +1,61 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.cluster;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterCoordinator;
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterForwardingFilter;
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.FileLeaseStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.LeaseStore;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Contains the beans of the cluster mode. The file-based lease store can be replaced by
+ * defining another {@link LeaseStore} bean, e.g. one backed by a database table.
+ */
+@Configuration
+@NoArgsConstructor
+public class ClusterConfig {
+
+    /**
+     * Creates the lease store keeping the leases of the cluster members as files in a shared
+     * directory.
+     *
+     * @param path the directory of the lease files.
+     * @return the lease store
+     */
+    @Bean
+    @ConditionalOnMissingBean(LeaseStore.class)
+    public LeaseStore leaseStore(@Value("${cluster.path:${store.path:./store}/cluster}")
+                                 final String path) {
+        return new FileLeaseStore(Path.of(path, "nodes"));
+    }
+
+    /**
+     * Registers the filter forwarding admin API calls for single routes to the member owning
+     * the route. It runs after Spring Security, so only authenticated calls are forwarded.
+     *
+     * @param coordinator the cluster coordinator.
+     * @param timeoutMillis the timeout in milliseconds for a forwarded request.
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ClusterForwardingFilter> clusterForwardingFilter(
+            final ClusterCoordinator coordinator,
+            @Value("${cluster.forward-timeout-ms:30000}") final long timeoutMillis) {
+        final var httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMillis))
+                .build();
+        final var registration = new FilterRegistrationBean<>(
+                new ClusterForwardingFilter(coordinator, httpClient, timeoutMillis));
+        registration.addUrlPatterns("/api/routes/*");
+        return registration;
+    }
+
+}
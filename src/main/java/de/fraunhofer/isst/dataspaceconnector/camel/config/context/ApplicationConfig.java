@@ -2,13 +2,16 @@ package de.fraunhofer.isst.dataspaceconnector.camel.config.context;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
+import de.fraunhofer.isst.dataspaceconnector.camel.change.ChangeDetector;
+import de.fraunhofer.isst.dataspaceconnector.camel.logging.BodyLogger;
 import lombok.NoArgsConstructor;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.model.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.context.annotation.Bean;
@@ -23,17 +26,17 @@ import org.springframework.context.support.GenericApplicationContext;
 public class ApplicationConfig {
 
     /**
-     * Creates an Unmarshaller bean that can be used to read bean definitions from XML.
+     * Creates the JAXBContext for the Camel model as a bean. The context is thread-safe and
+     * expensive to create, so it is shared by everything that reads route definitions from XML.
      *
-     * @return the Unmarshaller
+     * @return the JAXBContext
      */
     @Bean
-    public Unmarshaller unmarshaller() {
+    public JAXBContext jaxbContext() {
         try {
-            final var jaxb = JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
-            return jaxb.createUnmarshaller();
+            return JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
         } catch (JAXBException e) {
-            throw new BeanCreationException("Failed to create Unmarshaller", e);
+            throw new BeanCreationException("Failed to create JAXBContext", e);
         }
     }
 
@@ -49,6 +52,7 @@ public class ApplicationConfig {
                                                                        appContext) {
         final var xmlBeanReader = new XmlBeanDefinitionReader(appContext);
         xmlBeanReader.setValidationMode(XmlBeanDefinitionReader.VALIDATION_XSD);
+        xmlBeanReader.setDocumentLoader(new CachingDocumentLoader());
         return xmlBeanReader;
     }
 
@@ -76,4 +80,35 @@ public class ApplicationConfig {
         return LoggerFactory.getLogger("camel-route-logger");
     }
 
+    /**
+     * Creates a processor logging a bounded preview of message bodies to the Camel route logger,
+     * so that routes can log bodies without converting them to strings completely.
+     *
+     * @param level the level to log at.
+     * @param sampleRate only every n-th exchange is logged.
+     * @param maxBytes the maximum number of bytes of a body to log.
+     * @return the body logger
+     */
+    @Bean("body-logger")
+    public BodyLogger bodyLogger(@Value("${body-logger.level:INFO}") final LoggingLevel level,
+                                 @Value("${body-logger.sample-rate:1}") final int sampleRate,
+                                 @Value("${body-logger.max-bytes:1024}") final int maxBytes) {
+        final var bodyLogger = new BodyLogger();
+        bodyLogger.setLevel(level);
+        bodyLogger.setSampleRate(sampleRate);
+        bodyLogger.setMaxBytes(maxBytes);
+        return bodyLogger;
+    }
+
+    /**
+     * Creates a change detector as a bean, so that polling routes can skip unchanged data. The
+     * detector keeps its state per route, so one instance can be shared by all routes.
+     *
+     * @return the change detector
+     */
+    @Bean("change-detector")
+    public ChangeDetector changeDetector() {
+        return new ChangeDetector();
+    }
+
 }
@@ -0,0 +1,241 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.context;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.springframework.beans.factory.xml.DefaultDocumentLoader;
+import org.springframework.beans.factory.xml.DocumentLoader;
+import org.springframework.util.xml.XmlValidationModeDetector;
+import org.w3c.dom.Document;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A document loader for XSD-validated bean files that compiles the referenced schemas only once.
+ * Spring's default loader lets the parser load and compile all schemas named in the
+ * {@code xsi:schemaLocation} attribute for every document. This loader parses the document
+ * without validation first and then validates it against a compiled schema, which is cached per
+ * combination of schema locations.
+ *
+ * <p>Schemas are resolved exclusively through the reader's entity resolver, which maps the
+ * well-known schema URLs to files on the classpath. Schemas that cannot be resolved this way are
+ * rejected instead of being downloaded.</p>
+ */
+public class CachingDocumentLoader implements DocumentLoader {
+
+    /**
+     * Namespace of the schema instance attributes.
+     */
+    private static final String XSI_NAMESPACE = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+
+    /**
+     * Loader used for documents that are not validated against an XSD.
+     */
+    private final DocumentLoader delegate = new DefaultDocumentLoader();
+
+    /**
+     * Compiled schemas by their schema locations.
+     */
+    private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+
+    @Override
+    public Document loadDocument(final InputSource inputSource,
+                                 final EntityResolver entityResolver,
+                                 final ErrorHandler errorHandler, final int validationMode,
+                                 final boolean namespaceAware) throws Exception {
+        if (validationMode != XmlValidationModeDetector.VALIDATION_XSD) {
+            return delegate.loadDocument(inputSource, entityResolver, errorHandler,
+                    validationMode, namespaceAware);
+        }
+
+        final var builder = newDocumentBuilderFactory().newDocumentBuilder();
+        builder.setEntityResolver(entityResolver);
+        builder.setErrorHandler(errorHandler);
+        final var document = builder.parse(inputSource);
+
+        final var schemaLocation = document.getDocumentElement()
+                .getAttributeNS(XSI_NAMESPACE, "schemaLocation").trim();
+        final var validator = getSchema(schemaLocation, entityResolver).newValidator();
+        validator.setErrorHandler(errorHandler);
+        validator.validate(new DOMSource(document));
+        return document;
+    }
+
+    /**
+     * Returns the compiled schema for a schema location attribute, compiling it on first use.
+     *
+     * @param schemaLocation the value of the {@code xsi:schemaLocation} attribute.
+     * @param entityResolver the resolver mapping schema URLs to local files.
+     * @return the compiled schema.
+     * @throws SAXException if a schema cannot be resolved or compiled.
+     */
+    private Schema getSchema(final String schemaLocation, final EntityResolver entityResolver)
+            throws SAXException {
+        final var cached = schemas.get(schemaLocation);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var schema = compile(schemaLocation, entityResolver);
+        schemas.putIfAbsent(schemaLocation, schema);
+        return schema;
+    }
+
+    /**
+     * Compiles the schemas named in a schema location attribute into one schema.
+     *
+     * @param schemaLocation the value of the {@code xsi:schemaLocation} attribute, consisting of
+     *                       pairs of namespace and schema URL.
+     * @param entityResolver the resolver mapping schema URLs to local files.
+     * @return the compiled schema.
+     * @throws SAXException if a schema cannot be resolved or compiled.
+     */
+    private Schema compile(final String schemaLocation, final EntityResolver entityResolver)
+            throws SAXException {
+        final var tokens = schemaLocation.isEmpty()
+                ? new String[0] : schemaLocation.split("\\s+");
+        if (tokens.length == 0 || tokens.length % 2 != 0) {
+            throw new SAXException("The root element must declare xsi:schemaLocation with pairs "
+                    + "of namespace and schema URL.");
+        }
+
+        final var sources = new ArrayList<Source>();
+        for (var i = 1; i < tokens.length; i += 2) {
+            sources.add(resolve(tokens[i], entityResolver));
+        }
+
+        final var factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "file,jar");
+        factory.setResourceResolver(new EntityResourceResolver(entityResolver,
+                domImplementation()));
+        return factory.newSchema(sources.toArray(new Source[0]));
+    }
+
+    /**
+     * Resolves a schema URL to a local source.
+     *
+     * @param systemId the schema URL.
+     * @param entityResolver the resolver mapping schema URLs to local files.
+     * @return the source.
+     * @throws SAXException if the schema is not available locally.
+     */
+    private static Source resolve(final String systemId, final EntityResolver entityResolver)
+            throws SAXException {
+        try {
+            final var resolved = entityResolver.resolveEntity(null, systemId);
+            if (resolved == null || resolved.getByteStream() == null) {
+                throw new SAXException("Schema " + systemId + " is not available locally.");
+            }
+            final var source = new StreamSource(resolved.getByteStream());
+            source.setSystemId(resolved.getSystemId() != null ? resolved.getSystemId()
+                    : systemId);
+            return source;
+        } catch (IOException e) {
+            throw new SAXException("Could not resolve schema " + systemId + ".", e);
+        }
+    }
+
+    /**
+     * Returns the DOM implementation used for creating inputs of resolved schemas.
+     *
+     * @return the DOM implementation.
+     * @throws SAXException if no document builder can be created.
+     */
+    private static DOMImplementationLS domImplementation() throws SAXException {
+        try {
+            return (DOMImplementationLS) newDocumentBuilderFactory().newDocumentBuilder()
+                    .getDOMImplementation();
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("Could not create a document builder.", e);
+        }
+    }
+
+    /**
+     * Creates a namespace-aware, non-validating document builder factory that does not load
+     * external DTDs.
+     *
+     * @return the factory.
+     * @throws ParserConfigurationException if the factory cannot be configured.
+     */
+    private static DocumentBuilderFactory newDocumentBuilderFactory()
+            throws ParserConfigurationException {
+        final var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setValidating(false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd",
+                false);
+        return factory;
+    }
+
+    /**
+     * Resolves schemas imported or included by other schemas through an entity resolver.
+     */
+    private static final class EntityResourceResolver implements LSResourceResolver {
+
+        /**
+         * The entity resolver.
+         */
+        private final EntityResolver entityResolver;
+
+        /**
+         * The DOM implementation for creating inputs.
+         */
+        private final DOMImplementationLS domImplementation;
+
+        /**
+         * Constructor for the EntityResourceResolver.
+         *
+         * @param entityResolver the entity resolver.
+         * @param domImplementation the DOM implementation for creating inputs.
+         */
+        private EntityResourceResolver(final EntityResolver entityResolver,
+                                       final DOMImplementationLS domImplementation) {
+            this.entityResolver = entityResolver;
+            this.domImplementation = domImplementation;
+        }
+
+        @Override
+        public LSInput resolveResource(final String type, final String namespaceUri,
+                                       final String publicId, final String systemId,
+                                       final String baseUri) {
+            if (systemId == null) {
+                return null;
+            }
+
+            try {
+                final var resolved = entityResolver.resolveEntity(publicId, systemId);
+                if (resolved == null) {
+                    return null;
+                }
+
+                final var input = domImplementation.createLSInput();
+                input.setPublicId(publicId);
+                input.setSystemId(resolved.getSystemId() != null ? resolved.getSystemId()
+                        : systemId);
+                input.setBaseURI(baseUri);
+                input.setByteStream(resolved.getByteStream());
+                return input;
+            } catch (SAXException | IOException e) {
+                return null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NoArgsConstructor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.micrometer.eventnotifier.MicrometerExchangeEventNotifier;
+import org.apache.camel.component.micrometer.routepolicy.MicrometerRoutePolicyFactory;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes Camel metrics to the application's Micrometer registry, which is exposed for
+ * scraping by Prometheus at "/actuator/prometheus". Per route, the processing time (including
+ * failures) and the number of in-flight exchanges are recorded. Per endpoint, the time spent
+ * sending to it is recorded, so that slow hops of a route can be identified.
+ */
+@Configuration
+@NoArgsConstructor
+public class MetricsConfig {
+
+    /**
+     * Registers the Micrometer route policies and event notifier with the Camel context before
+     * any route is created.
+     *
+     * @param meterRegistry the meter registry.
+     * @return the Camel context configuration.
+     */
+    @Bean
+    public CamelContextConfiguration metricsContextConfiguration(
+            final MeterRegistry meterRegistry) {
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(final CamelContext camelContext) {
+                final var routePolicyFactory = new MicrometerRoutePolicyFactory();
+                routePolicyFactory.setMeterRegistry(meterRegistry);
+                camelContext.addRoutePolicyFactory(routePolicyFactory);
+                camelContext.addRoutePolicyFactory(new RouteInflightPolicyFactory(meterRegistry));
+
+                final var exchangeNotifier = new MicrometerExchangeEventNotifier();
+                exchangeNotifier.setMeterRegistry(meterRegistry);
+                camelContext.getManagementStrategy().addEventNotifier(exchangeNotifier);
+            }
+
+            @Override
+            public void afterApplicationStart(final CamelContext camelContext) {
+                // Nothing to do after start.
+            }
+        };
+    }
+
+}
@@ -0,0 +1,89 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Route;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.RoutePolicySupport;
+
+/**
+ * Creates route policies that publish the number of in-flight exchanges of every route as a
+ * gauge. The gauge is registered when a route is created and removed together with the route,
+ * so that routes deployed at runtime are covered as well.
+ */
+public class RouteInflightPolicyFactory implements RoutePolicyFactory {
+
+    /**
+     * Name of the gauge.
+     */
+    public static final String METER_NAME = "camel.route.inflight";
+
+    /**
+     * The meter registry.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for the RouteInflightPolicyFactory.
+     *
+     * @param meterRegistry the meter registry.
+     */
+    public RouteInflightPolicyFactory(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(final CamelContext camelContext, final String routeId,
+                                         final NamedNode route) {
+        return new InflightPolicy(meterRegistry);
+    }
+
+    /**
+     * Route policy registering the in-flight gauge of a single route.
+     */
+    private static final class InflightPolicy extends RoutePolicySupport {
+
+        /**
+         * The meter registry.
+         */
+        private final MeterRegistry meterRegistry;
+
+        /**
+         * The gauge, once registered.
+         */
+        private Gauge gauge;
+
+        /**
+         * Constructor for the InflightPolicy.
+         *
+         * @param meterRegistry the meter registry.
+         */
+        private InflightPolicy(final MeterRegistry meterRegistry) {
+            super();
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void onInit(final Route route) {
+            super.onInit(route);
+            gauge = Gauge.builder(METER_NAME, route, r -> r.getCamelContext()
+                            .getInflightRepository().size(r.getRouteId()))
+                    .tag("routeId", route.getRouteId())
+                    .description("Number of exchanges currently in flight in the route")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void onRemove(final Route route) {
+            super.onRemove(route);
+            if (gauge != null) {
+                meterRegistry.remove(gauge);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.outbox.Outbox;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NoArgsConstructor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Contains the outbox used by routes for sending messages to the connector, which stores
+ * messages on local disk while the connector is unavailable and replays them later.
+ */
+@Configuration
+@NoArgsConstructor
+public class OutboxConfig {
+
+    /**
+     * Creates the outbox as a bean, so that routes can use it with
+     * {@code <bean ref="dsc-outbox" method="send"/>}. Its backlog is published as the gauge
+     * "camel.outbox.backlog".
+     *
+     * @param path the directory of the outbox on local disk.
+     * @param segmentBytes the size of a segment file in bytes.
+     * @param maxBytes the maximum size of the outbox in bytes.
+     * @param sync whether to flush every stored message to disk.
+     * @param batchSize the maximum number of messages replayed before committing the progress.
+     * @param pollIntervalMillis the interval in which the outbox is checked for messages.
+     * @param initialBackoffMillis the delay before the first retry after a failed replay.
+     * @param maxBackoffMillis the maximum delay between retries.
+     * @param authorization the Authorization header of replayed messages.
+     * @param meterRegistry the meter registry.
+     * @return the outbox
+     */
+    @Bean(name = "dsc-outbox", destroyMethod = "close")
+    public Outbox outbox(@Value("${outbox.path:./outbox}") final String path,
+                         @Value("${outbox.segment-bytes:16777216}") final int segmentBytes,
+                         @Value("${outbox.max-bytes:1073741824}") final long maxBytes,
+                         @Value("${outbox.sync:false}") final boolean sync,
+                         @Value("${outbox.batch-size:100}") final int batchSize,
+                         @Value("${outbox.poll-interval-ms:1000}") final long pollIntervalMillis,
+                         @Value("${outbox.initial-backoff-ms:1000}")
+                         final long initialBackoffMillis,
+                         @Value("${outbox.max-backoff-ms:300000}") final long maxBackoffMillis,
+                         @Value("${outbox.authorization:}") final String authorization,
+                         final MeterRegistry meterRegistry) {
+        final var outbox = new Outbox(Path.of(path));
+        outbox.setSegmentBytes(segmentBytes);
+        outbox.setMaxBytes(maxBytes);
+        outbox.setSync(sync);
+        outbox.setBatchSize(batchSize);
+        outbox.setPollIntervalMillis(pollIntervalMillis);
+        outbox.setInitialBackoffMillis(initialBackoffMillis);
+        outbox.setMaxBackoffMillis(maxBackoffMillis);
+        outbox.setAuthorization(authorization);
+
+        Gauge.builder("camel.outbox.backlog", outbox, Outbox::getBacklogBytes)
+                .baseUnit("bytes")
+                .description("Size of the messages waiting in the outbox")
+                .register(meterRegistry);
+        return outbox;
+    }
+
+    /**
+     * Starts replaying the messages in the outbox once the Camel context has started, including
+     * the messages left from a previous run.
+     *
+     * @param outbox the outbox.
+     * @return the Camel context configuration.
+     */
+    @Bean
+    public CamelContextConfiguration outboxContextConfiguration(final Outbox outbox) {
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(final CamelContext camelContext) {
+                // Nothing to do before start.
+            }
+
+            @Override
+            public void afterApplicationStart(final CamelContext camelContext) {
+                try {
+                    outbox.start(camelContext);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to open the outbox.", e);
+                }
+            }
+        };
+    }
+
+}
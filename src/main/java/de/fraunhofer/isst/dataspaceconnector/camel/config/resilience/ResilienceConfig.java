@@ -0,0 +1,83 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.resilience;
+
+import java.util.Map;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.resilience.ResilienceInterceptStrategy;
+import de.fraunhofer.isst.dataspaceconnector.camel.resilience.ResilienceSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NoArgsConstructor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Guards the HTTP calls of all routes with circuit breakers and adaptive concurrency limits per
+ * target host, if "routes.resilience.enabled" is set. The settings under
+ * "routes.resilience.default" apply to all hosts and can be overridden per host under
+ * "routes.resilience.hosts[host:port]" and per route under "routes.resilience.routes.{id}".
+ */
+@Configuration
+@NoArgsConstructor
+public class ResilienceConfig {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    /**
+     * Prefix of the resilience properties.
+     */
+    private static final String PREFIX = "routes.resilience";
+
+    /**
+     * Registers the intercept strategy guarding HTTP calls with the Camel context before any
+     * route is created, so that routes deployed at runtime are guarded as well.
+     *
+     * @param environment the environment holding the resilience properties.
+     * @param meterRegistry the meter registry.
+     * @return the Camel context configuration.
+     */
+    @Bean
+    public CamelContextConfiguration resilienceContextConfiguration(
+            final Environment environment, final MeterRegistry meterRegistry) {
+        final var binder = Binder.get(environment);
+        final boolean enabled = binder.bind(PREFIX + ".enabled", Boolean.class).orElse(false);
+        final var defaults = binder.bind(PREFIX + ".default", ResilienceSettings.class)
+                .orElseGet(ResilienceSettings::new);
+        final var hosts = binder.bind(PREFIX + ".hosts",
+                Bindable.mapOf(String.class, ResilienceSettings.class)).orElse(Map.of());
+        final var routes = binder.bind(PREFIX + ".routes",
+                Bindable.mapOf(String.class, ResilienceSettings.class)).orElse(Map.of());
+
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(final CamelContext camelContext) {
+                if (!enabled) {
+                    return;
+                }
+
+                camelContext.adapt(ExtendedCamelContext.class).addInterceptStrategy(
+                        new ResilienceInterceptStrategy(meterRegistry, defaults, hosts, routes));
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Guarding HTTP calls with circuit breakers and concurrency "
+                            + "limits, {} host(s) and {} route(s) configured individually.",
+                            hosts.size(), routes.size());
+                }
+            }
+
+            @Override
+            public void afterApplicationStart(final CamelContext camelContext) {
+                // Nothing to do after start.
+            }
+        };
+    }
+
+}
@@ -0,0 +1,55 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+/**
+ * This class takes care of the security configuration of the actuator endpoints: the health
+ * endpoint is public, while all other endpoints, e.g. "/actuator/prometheus", can only be
+ * accessed by users with the "ADMIN" role.
+ */
+@Configuration
+@Order(ActuatorSecurityConfigurationAdapter.ORDER)
+public class ActuatorSecurityConfigurationAdapter extends WebSecurityConfigurerAdapter {
+
+    /**
+     * The order of this configuration, which must differ from the order of the configuration
+     * of "/api".
+     */
+    public static final int ORDER = 99;
+
+    /**
+     * The entry point to the admin realm.
+     */
+    private final AuthenticationEntryPoint authenticationEntryPoint;
+
+    /**
+     * Constructor for the ActuatorSecurityConfigurationAdapter.
+     *
+     * @param authenticationEntryPoint the entry point to the admin realm.
+     */
+    @Autowired
+    public ActuatorSecurityConfigurationAdapter(
+            final AuthenticationEntryPoint authenticationEntryPoint) {
+        super();
+        this.authenticationEntryPoint = authenticationEntryPoint;
+    }
+
+    @Override
+    public final void configure(final HttpSecurity httpSecurity) throws Exception {
+        httpSecurity
+                .csrf().disable()
+                .formLogin().disable()
+                .antMatcher("/actuator/**")
+                .authorizeRequests()
+                .antMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .anyRequest().hasRole("ADMIN")
+                .and()
+                .httpBasic().authenticationEntryPoint(authenticationEntryPoint);
+    }
+
+}
@@ -0,0 +1,134 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.util.ContentHash;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A password encoder remembering successful password checks for a limited time, so that clients
+ * sending their credentials with every request (HTTP Basic) do not pay the cost of the delegate's
+ * deliberately slow hash function for every call.
+ *
+ * <p>Only an HMAC of the raw and encoded password is kept, using a random key that exists only
+ * in memory, so the cache does not contain any password. Failed checks are never cached and
+ * always run the delegate. Since the encoded password is part of the HMAC, a changed password
+ * does not match any cached entry.</p>
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    /**
+     * The HMAC algorithm.
+     */
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * The encoder performing the actual checks.
+     */
+    private final PasswordEncoder delegate;
+
+    /**
+     * The time in milliseconds a successful check is remembered.
+     */
+    private final long timeToLive;
+
+    /**
+     * The random HMAC key.
+     */
+    private final SecretKeySpec key;
+
+    /**
+     * The HMACs of successful checks mapped to their expiry time, least recently used first.
+     */
+    private final Map<String, Long> verified;
+
+    /**
+     * Constructor for the CachingPasswordEncoder.
+     *
+     * @param delegate the encoder performing the actual checks.
+     * @param maxSize the maximum number of remembered checks.
+     * @param timeToLive the time in milliseconds a successful check is remembered.
+     */
+    public CachingPasswordEncoder(final PasswordEncoder delegate, final int maxSize,
+                                  final long timeToLive) {
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+
+        final var keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        final var digest = hmac(rawPassword, encodedPassword);
+        final var now = System.currentTimeMillis();
+        synchronized (verified) {
+            final var expiry = verified.get(digest);
+            if (expiry != null) {
+                if (expiry > now) {
+                    return true;
+                }
+                verified.remove(digest);
+            }
+        }
+
+        final var matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            synchronized (verified) {
+                verified.put(digest, now + timeToLive);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Calculates the HMAC of a raw and an encoded password.
+     *
+     * @param rawPassword the raw password.
+     * @param encodedPassword the encoded password.
+     * @return the HMAC as hex string.
+     */
+    private String hmac(final CharSequence rawPassword, final String encodedPassword) {
+        try {
+            final var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return ContentHash.toHex(mac.doFinal(
+                    rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC algorithm not available.", e);
+        }
+    }
+
+}
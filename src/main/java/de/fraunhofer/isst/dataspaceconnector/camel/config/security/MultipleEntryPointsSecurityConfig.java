@@ -31,6 +31,18 @@ public class MultipleEntryPointsSecurityConfig {
     @Value("${spring.security.user.password}")
     private String password;
 
+    /**
+     * The maximum number of remembered successful credential checks, or 0 to disable the cache.
+     */
+    @Value("${security.credential-cache.size:100}")
+    private int credentialCacheSize;
+
+    /**
+     * The time in milliseconds a successful credential check is remembered.
+     */
+    @Value("${security.credential-cache.ttl-ms:300000}")
+    private long credentialCacheTtl;
+
     /**
      * Sets up a default admin user.
      *
@@ -47,13 +59,18 @@ public class MultipleEntryPointsSecurityConfig {
     }
 
     /**
-     * Bean providing a password encoder.
+     * Bean providing a password encoder. Unless disabled, successful checks are cached, so that
+     * repeated calls with the same credentials do not run BCrypt again.
      *
      * @return the password encoder.
      */
     @Bean
     public PasswordEncoder encoder() {
-        return new BCryptPasswordEncoder();
+        final var bcrypt = new BCryptPasswordEncoder();
+        if (credentialCacheSize < 1 || credentialCacheTtl < 1) {
+            return bcrypt;
+        }
+        return new CachingPasswordEncoder(bcrypt, credentialCacheSize, credentialCacheTtl);
     }
 
 }
@@ -0,0 +1,79 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.threads;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+
+/**
+ * Settings of a Camel thread pool profile, as read from the application properties. Settings
+ * that are not set are taken from Camel's default thread pool profile.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ThreadPoolSettings {
+
+    /**
+     * The number of threads kept in the pool.
+     */
+    private Integer poolSize;
+
+    /**
+     * The maximum number of threads in the pool.
+     */
+    private Integer maxPoolSize;
+
+    /**
+     * The maximum number of tasks waiting for a thread. -1 for an unbounded queue.
+     */
+    private Integer maxQueueSize;
+
+    /**
+     * The time in milliseconds idle threads above the pool size are kept.
+     */
+    private Long keepAliveMs;
+
+    /**
+     * Whether idle threads within the pool size are terminated as well.
+     */
+    private Boolean allowCoreThreadTimeOut;
+
+    /**
+     * What to do with tasks if the queue is full.
+     */
+    private ThreadPoolRejectedPolicy rejectedPolicy;
+
+    /**
+     * Applies the settings that are set to a thread pool profile.
+     *
+     * @param profile the profile.
+     * @return the profile.
+     */
+    public ThreadPoolProfile applyTo(final ThreadPoolProfile profile) {
+        if (poolSize != null) {
+            profile.setPoolSize(poolSize);
+        }
+        if (maxPoolSize != null) {
+            profile.setMaxPoolSize(maxPoolSize);
+        }
+        if (maxQueueSize != null) {
+            profile.setMaxQueueSize(maxQueueSize);
+        }
+        if (keepAliveMs != null) {
+            profile.setKeepAliveTime(keepAliveMs);
+            profile.setTimeUnit(TimeUnit.MILLISECONDS);
+        }
+        if (allowCoreThreadTimeOut != null) {
+            profile.setAllowCoreThreadTimeOut(allowCoreThreadTimeOut);
+        }
+        if (rejectedPolicy != null) {
+            profile.setRejectedPolicy(rejectedPolicy);
+        }
+        return profile;
+    }
+
+}
@@ -0,0 +1,126 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.threads;
+
+import java.util.Map;
+
+import lombok.NoArgsConstructor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configures the threads used for route processing and the admin API. Thread pool profiles
+ * defined as "routes.thread-pools.{id}.*" are registered with the Camel context, so that routes
+ * can process exchanges on a dedicated pool, e.g. with {@code <threads executorServiceRef="id"/>}.
+ * The profile "default" changes Camel's default profile. If "spring.threads.virtual.enabled" is
+ * set and the JVM supports virtual threads, Camel's thread pools and Tomcat's request
+ * processing use virtual threads instead.
+ */
+@Configuration
+@NoArgsConstructor
+public class ThreadsConfig {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadsConfig.class);
+
+    /**
+     * Prefix of the thread pool profile properties.
+     */
+    private static final String PROFILES_PREFIX = "routes.thread-pools";
+
+    /**
+     * ID of the profile changing Camel's default profile.
+     */
+    private static final String DEFAULT_PROFILE = "default";
+
+    /**
+     * Registers the thread pool profiles and, if enabled, the virtual thread pool factory with
+     * the Camel context before any route is created.
+     *
+     * @param environment the environment holding the profile properties.
+     * @param virtualThreads whether to use virtual threads.
+     * @return the Camel context configuration.
+     */
+    @Bean
+    public CamelContextConfiguration threadsContextConfiguration(
+            final Environment environment,
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads) {
+        final var profiles = Binder.get(environment).bind(PROFILES_PREFIX,
+                Bindable.mapOf(String.class, ThreadPoolSettings.class)).orElse(Map.of());
+        final var useVirtualThreads = virtualThreads && checkVirtualThreads();
+
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(final CamelContext camelContext) {
+                final var manager = camelContext.getExecutorServiceManager();
+                for (final var entry : profiles.entrySet()) {
+                    if (DEFAULT_PROFILE.equals(entry.getKey())) {
+                        entry.getValue().applyTo(manager.getDefaultThreadPoolProfile());
+                    } else {
+                        manager.registerThreadPoolProfile(
+                                entry.getValue().applyTo(new ThreadPoolProfile(entry.getKey())));
+                    }
+                }
+
+                if (useVirtualThreads) {
+                    manager.setThreadPoolFactory(
+                            new VirtualThreadPoolFactory(manager.getThreadPoolFactory()));
+                }
+
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Registered {} thread pool profile(s), virtual threads {}.",
+                            profiles.size(), useVirtualThreads ? "enabled" : "disabled");
+                }
+            }
+
+            @Override
+            public void afterApplicationStart(final CamelContext camelContext) {
+                // Nothing to do after start.
+            }
+        };
+    }
+
+    /**
+     * Lets Tomcat process the requests to the admin API on virtual threads, if enabled.
+     *
+     * @param virtualThreads whether to use virtual threads.
+     * @return the protocol handler customizer.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsTomcatCustomizer(
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads) {
+        final var useVirtualThreads = virtualThreads && checkVirtualThreads();
+        return protocolHandler -> {
+            if (useVirtualThreads) {
+                protocolHandler.setExecutor(VirtualThreads.newExecutor("tomcat-handler-"));
+            }
+        };
+    }
+
+    /**
+     * Checks whether virtual threads are supported and logs a warning if they are not.
+     *
+     * @return true, if virtual threads are supported.
+     */
+    private static boolean checkVirtualThreads() {
+        final var supported = VirtualThreads.isSupported();
+        if (!supported && LOGGER.isWarnEnabled()) {
+            LOGGER.warn("Virtual threads are enabled, but require Java 21 or later. Using "
+                    + "platform threads. [java.version=({})]",
+                    System.getProperty("java.version"));
+        }
+        return supported;
+    }
+
+}
@@ -0,0 +1,105 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.threads;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.camel.spi.ThreadPoolFactory;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread pool factory creating Camel's thread pools as executors that run every task on a new
+ * virtual thread. Pool sizes, queue sizes and rejected policies of the profiles do not apply to
+ * them, as virtual threads are not pooled and tasks are never queued or rejected; a warning is
+ * logged once for every custom profile setting them. Single-threaded pools, which guarantee the
+ * order of their tasks, and scheduled pools are still created by the original factory with
+ * platform threads.
+ */
+public class VirtualThreadPoolFactory implements ThreadPoolFactory {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPoolFactory.class);
+
+    /**
+     * Name prefix of the virtual threads.
+     */
+    private static final String THREAD_PREFIX = "Camel-virtual-";
+
+    /**
+     * The factory creating single-threaded and scheduled pools.
+     */
+    private final ThreadPoolFactory delegate;
+
+    /**
+     * The IDs of the profiles whose ignored settings have been logged.
+     */
+    private final Set<String> warnedProfiles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor for the VirtualThreadPoolFactory.
+     *
+     * @param delegate the factory creating single-threaded and scheduled pools.
+     */
+    public VirtualThreadPoolFactory(final ThreadPoolFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates an executor running every task on a new virtual thread.
+     *
+     * @param threadFactory the thread factory, ignored.
+     * @return the executor.
+     * @deprecated deprecated in Camel's SPI, but still called by Camel for cached pools.
+     */
+    @Deprecated
+    @Override
+    public ExecutorService newCachedThreadPool(final ThreadFactory threadFactory) {
+        return VirtualThreads.newExecutor(THREAD_PREFIX);
+    }
+
+    @Override
+    public ExecutorService newThreadPool(final ThreadPoolProfile profile,
+                                         final ThreadFactory threadFactory) {
+        final var maxPoolSize = profile.getMaxPoolSize();
+        if (maxPoolSize != null && maxPoolSize == 1) {
+            return delegate.newThreadPool(profile, threadFactory);
+        }
+        warnIgnoredSettings(profile);
+        return VirtualThreads.newExecutor(THREAD_PREFIX);
+    }
+
+    @Override
+    public ScheduledExecutorService newScheduledThreadPool(final ThreadPoolProfile profile,
+                                                           final ThreadFactory threadFactory) {
+        return delegate.newScheduledThreadPool(profile, threadFactory);
+    }
+
+    /**
+     * Logs a warning, once per profile, if a custom profile sets a queue size or rejected
+     * policy, which virtual threads ignore. Camel's default profile always sets both, so it is
+     * not logged.
+     *
+     * @param profile the profile.
+     */
+    private void warnIgnoredSettings(final ThreadPoolProfile profile) {
+        if (Boolean.TRUE.equals(profile.isDefaultProfile()) || profile.getId() == null) {
+            return;
+        }
+
+        final var queueSize = profile.getMaxQueueSize();
+        final var rejectedPolicy = profile.getRejectedPolicy();
+        if ((queueSize != null && queueSize > 0 || rejectedPolicy != null)
+                && warnedProfiles.add(profile.getId()) && LOGGER.isWarnEnabled()) {
+            LOGGER.warn("Virtual threads ignore the queue size and rejected policy of thread "
+                    + "pool profile {}, tasks are never queued or rejected. [maxQueueSize=({}), "
+                    + "rejectedPolicy=({})]", profile.getId(), queueSize, rejectedPolicy);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads, which are available from Java 21 on. As the application is built
+ * for Java 11, the API is called by reflection and {@link #isSupported()} tells whether the
+ * running JVM provides it.
+ */
+public final class VirtualThreads {
+
+    /**
+     * Thread.ofVirtual(), or null if not supported.
+     */
+    private static final Method OF_VIRTUAL;
+
+    /**
+     * Thread.Builder.name(String, long), or null if not supported.
+     */
+    private static final Method NAME;
+
+    /**
+     * Thread.Builder.factory(), or null if not supported.
+     */
+    private static final Method FACTORY;
+
+    /**
+     * Executors.newThreadPerTaskExecutor(ThreadFactory), or null if not supported.
+     */
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newExecutor = null;
+        try {
+            final var builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor",
+                    ThreadFactory.class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newExecutor;
+    }
+
+    /**
+     * Utility class, not to be instantiated.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return true, if virtual threads are supported.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory for virtual threads, which are named with a prefix and a counter.
+     *
+     * @param prefix the name prefix.
+     * @return the thread factory.
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    public static ThreadFactory newThreadFactory(final String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later.");
+        }
+
+        try {
+            final var builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create virtual thread factory.", e);
+        }
+    }
+
+    /**
+     * Creates an executor that runs every task on a new virtual thread.
+     *
+     * @param prefix the name prefix of the threads.
+     * @return the executor.
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    public static ExecutorService newExecutor(final String prefix) {
+        final var threadFactory = newThreadFactory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create virtual thread executor.", e);
+        }
+    }
+
+}
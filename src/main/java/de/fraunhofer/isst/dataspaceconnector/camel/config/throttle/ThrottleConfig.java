@@ -0,0 +1,75 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.throttle;
+
+import java.util.Map;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteLimits;
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteThrottlePolicyFactory;
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteThrottles;
+import lombok.NoArgsConstructor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Lets every route be throttled at runtime via "/api/routes/{routeId}/limits". Initial limits
+ * can be set per route under "routes.throttle.{id}".
+ */
+@Configuration
+@NoArgsConstructor
+public class ThrottleConfig {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThrottleConfig.class);
+
+    /**
+     * Prefix of the throttle properties.
+     */
+    private static final String PREFIX = "routes.throttle";
+
+    /**
+     * Registers the route policy factory throttling routes with the Camel context before any
+     * route is created and applies the limits from the application properties.
+     *
+     * @param environment the environment holding the throttle properties.
+     * @param throttles the throttles of all routes.
+     * @return the Camel context configuration.
+     */
+    @Bean
+    public CamelContextConfiguration throttleContextConfiguration(
+            final Environment environment, final RouteThrottles throttles) {
+        final var limits = Binder.get(environment).bind(PREFIX,
+                Bindable.mapOf(String.class, RouteLimits.class)).orElse(Map.of());
+
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(final CamelContext camelContext) {
+                limits.forEach((routeId, routeLimits) -> {
+                    final var invalid = routeLimits.validate();
+                    if (invalid != null) {
+                        throw new IllegalArgumentException("Invalid limits of route " + routeId
+                                + ": " + invalid);
+                    }
+                    throttles.setLimits(routeId, routeLimits);
+                });
+                camelContext.addRoutePolicyFactory(new RouteThrottlePolicyFactory(throttles));
+                if (!limits.isEmpty() && LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Throttling {} route(s) as configured.", limits.size());
+                }
+            }
+
+            @Override
+            public void afterApplicationStart(final CamelContext camelContext) {
+                // Nothing to do after start.
+            }
+        };
+    }
+
+}
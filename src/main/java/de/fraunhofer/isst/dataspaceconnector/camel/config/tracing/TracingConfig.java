@@ -0,0 +1,147 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.tracing;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.JsonFileSpanExporter;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.RouteTracing;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.TracingEventNotifier;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.TracingMdcInterceptStrategy;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.TracingRoutePolicyFactory;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.NoArgsConstructor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Records OpenTelemetry spans for the exchanges of routes and their calls to endpoints. Tracing
+ * applies to all routes if "tracing.enabled" is set, and can be switched per route under
+ * "tracing.routes.{id}" or at runtime via "/api/routes/{routeId}/tracing". Spans are sampled
+ * with "tracing.sample-ratio" and exported to an OTLP collector or a JSON lines file.
+ */
+@Configuration
+@NoArgsConstructor
+public class TracingConfig {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TracingConfig.class);
+
+    /**
+     * Creates the tracer provider with the configured sampler and exporter. Spans are exported
+     * in batches on a background thread, so that routes never wait for the exporter.
+     *
+     * @param serviceName the service name of the spans.
+     * @param sampleRatio the ratio of traces that are recorded and exported.
+     * @param exporter the exporter: otlp, file or none.
+     * @param otlpEndpoint the endpoint of the OTLP collector.
+     * @param filePath the file of the file exporter.
+     * @return the tracer provider
+     */
+    @Bean(destroyMethod = "shutdown")
+    public SdkTracerProvider tracerProvider(
+            @Value("${tracing.service-name:dsc-camel-instance}") final String serviceName,
+            @Value("${tracing.sample-ratio:1.0}") final double sampleRatio,
+            @Value("${tracing.exporter:otlp}") final String exporter,
+            @Value("${tracing.otlp.endpoint:http://localhost:4317}") final String otlpEndpoint,
+            @Value("${tracing.file.path:./log/traces.jsonl}") final String filePath) {
+        final var builder = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(sampleRatio)))
+                .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(
+                        AttributeKey.stringKey("service.name"), serviceName))));
+
+        switch (exporter.toLowerCase(Locale.ROOT)) {
+            case "otlp":
+                builder.addSpanProcessor(BatchSpanProcessor.builder(OtlpGrpcSpanExporter
+                        .builder().setEndpoint(otlpEndpoint).build()).build());
+                break;
+            case "file":
+                builder.addSpanProcessor(BatchSpanProcessor.builder(
+                        new JsonFileSpanExporter(Path.of(filePath))).build());
+                break;
+            case "none":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown tracing exporter " + exporter
+                        + ", expected otlp, file or none.");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the route tracing with the routes switched on or off in the properties.
+     *
+     * @param tracerProvider the tracer provider.
+     * @param environment the environment holding the tracing properties.
+     * @param enabled whether routes without a setting of their own are traced.
+     * @param sampleRatio the ratio of traces that are recorded and exported.
+     * @param exporter the exporter.
+     * @return the route tracing
+     */
+    @Bean
+    public RouteTracing routeTracing(final SdkTracerProvider tracerProvider,
+                                     final Environment environment,
+                                     @Value("${tracing.enabled:false}") final boolean enabled,
+                                     @Value("${tracing.sample-ratio:1.0}")
+                                     final double sampleRatio,
+                                     @Value("${tracing.exporter:otlp}") final String exporter) {
+        final var tracing = new RouteTracing(
+                tracerProvider.get("de.fraunhofer.isst.dataspaceconnector.camel"),
+                W3CTraceContextPropagator.getInstance(), enabled, sampleRatio, exporter);
+        Binder.get(environment).bind("tracing.routes",
+                Bindable.mapOf(String.class, Boolean.class)).orElse(Map.of())
+                .forEach(tracing::setEnabled);
+        return tracing;
+    }
+
+    /**
+     * Registers the route policy factory and event notifier recording the spans and the intercept
+     * strategy setting the MDC with the Camel context before any route is created, so that routes
+     * deployed at runtime can be traced.
+     *
+     * @param tracing the route tracing.
+     * @return the Camel context configuration.
+     */
+    @Bean
+    public CamelContextConfiguration tracingContextConfiguration(final RouteTracing tracing) {
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(final CamelContext camelContext) {
+                camelContext.addRoutePolicyFactory(new TracingRoutePolicyFactory(tracing));
+                camelContext.getManagementStrategy()
+                        .addEventNotifier(new TracingEventNotifier(tracing));
+                camelContext.adapt(ExtendedCamelContext.class)
+                        .addInterceptStrategy(new TracingMdcInterceptStrategy(tracing));
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Tracing routes {}, sampling {} of the traces, exporter {}.",
+                            tracing.isEnabledByDefault() ? "by default" : "on demand",
+                            tracing.getSampleRatio(), tracing.getExporter());
+                }
+            }
+
+            @Override
+            public void afterApplicationStart(final CamelContext camelContext) {
+                // Nothing to do after start.
+            }
+        };
+    }
+
+}
@@ -0,0 +1,90 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.upload;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.upload.CompressingUploader;
+import de.fraunhofer.isst.dataspaceconnector.camel.upload.ContentEncoding;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Contains the uploader used by routes for sending compressed, chunked request bodies, e.g. to
+ * the artifact data endpoint of the connector. The encoding is set with "upload.encoding" and
+ * per target under "upload.targets[host:port]".
+ */
+@Configuration
+@NoArgsConstructor
+public class UploadConfig {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadConfig.class);
+
+    /**
+     * Creates the uploader as a bean, so that routes can use it with
+     * {@code <bean ref="dsc-upload" method="send"/>}.
+     *
+     * @param environment the environment holding the target encodings.
+     * @param encoding the encoding of targets without an encoding of their own.
+     * @param level the compression level, or a negative value for the default of the encoding.
+     * @param minBytes the size below which bodies are sent uncompressed.
+     * @param bufferSize the size of the buffer used for compressing bodies.
+     * @param renegotiateMillis the time after which rejected encodings are tried again.
+     * @return the uploader
+     */
+    @Bean(name = "dsc-upload", destroyMethod = "close")
+    public CompressingUploader uploader(final Environment environment,
+                                        @Value("${upload.encoding:identity}")
+                                        final String encoding,
+                                        @Value("${upload.level:-1}") final int level,
+                                        @Value("${upload.min-bytes:1024}") final long minBytes,
+                                        @Value("${upload.buffer-size:65536}")
+                                        final int bufferSize,
+                                        @Value("${upload.renegotiate-ms:3600000}")
+                                        final long renegotiateMillis) {
+        final var uploader = new CompressingUploader();
+        uploader.setEncoding(available(ContentEncoding.fromToken(encoding)));
+        uploader.setLevel(level < 0 ? null : level);
+        uploader.setMinBytes(minBytes);
+        uploader.setBufferSize(bufferSize);
+        uploader.setRenegotiateMillis(renegotiateMillis);
+
+        final var targets = new HashMap<String, ContentEncoding>();
+        Binder.get(environment).bind("upload.targets",
+                Bindable.mapOf(String.class, String.class)).orElse(Map.of())
+                .forEach((target, token) -> targets.put(target,
+                        available(ContentEncoding.fromToken(token))));
+        uploader.setTargetEncodings(targets);
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Uploading with {} by default and {} target-specific encoding(s).",
+                    uploader.getEncoding().getToken(), targets.size());
+        }
+        return uploader;
+    }
+
+    /**
+     * Checks that an encoding can be used.
+     *
+     * @param encoding the encoding.
+     * @return the encoding.
+     * @throws IllegalArgumentException if the encoding is not available.
+     */
+    private static ContentEncoding available(final ContentEncoding encoding) {
+        if (!encoding.isAvailable()) {
+            throw new IllegalArgumentException("Content encoding " + encoding.getToken()
+                    + " requires com.github.luben:zstd-jni on the classpath.");
+        }
+        return encoding;
+    }
+
+}
@@ -1,14 +1,21 @@
 package de.fraunhofer.isst.dataspaceconnector.camel.controller;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import de.fraunhofer.isst.dataspaceconnector.camel.store.BeanStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.util.ContentHash;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.http.HttpStatus;
@@ -26,6 +33,7 @@ import org.xml.sax.InputSource;
  * Controller for adding and removing beans at runtime.
  */
 @RestController
+@Timed(value = "camel.admin.beans", histogram = true)
 @RequestMapping("/api/beans")
 public class BeansController {
 
@@ -44,35 +52,79 @@ public class BeansController {
      */
     private final BeanDefinitionRegistry beanRegistry;
 
+    /**
+     * Store for persisting uploaded beans.
+     */
+    private final BeanStore beanStore;
+
+    /**
+     * The bean definitions registered by each uploaded file, by the file's content hash. Used to
+     * detect re-uploads of a file whose beans are all still registered unchanged.
+     */
+    private final Map<String, Map<String, BeanDefinition>> deployedFiles =
+            new ConcurrentHashMap<>();
+
     /**
      * Constructor for the BeansController.
      *
      * @param xmlBeanReader the XmlBeanDefinitionReader.
      * @param beanRegistry the BeanDefinitionRegistry.
+     * @param beanStore the BeanStore.
      */
     @Autowired
     public BeansController(final XmlBeanDefinitionReader xmlBeanReader,
-                           final BeanDefinitionRegistry beanRegistry) {
+                           final BeanDefinitionRegistry beanRegistry,
+                           final BeanStore beanStore) {
         this.xmlBeanReader = xmlBeanReader;
         this.beanRegistry = beanRegistry;
+        this.beanStore = beanStore;
     }
 
     /**
-     * Adds one or more beans from an XML file to the application context.
+     * Adds one or more beans from an XML file to the application context. Uploading a file
+     * again while all of its beans are still registered unchanged is a no-op. Uploads and
+     * removals are serialized, as the beans registered by a file are determined by comparing the
+     * registry before and after reading it.
      *
      * @param file the XML file.
      * @return a response entity with code 200 or 500, if an error occurs.
      */
     @PostMapping
-    public ResponseEntity<String> addBeans(@RequestParam("file") final MultipartFile file) {
+    public synchronized ResponseEntity<String> addBeans(
+            @RequestParam("file") final MultipartFile file) {
         try {
             if (file == null) {
                 throw new IllegalArgumentException("File must not be null");
             }
 
-            final var xml = new String(file.getBytes(), StandardCharsets.UTF_8);
-            final var numberOfBeans = xmlBeanReader
-                    .loadBeanDefinitions(new InputSource(new StringReader(xml)));
+            final String hash;
+            try (var inputStream = file.getInputStream()) {
+                hash = ContentHash.of(inputStream);
+            }
+
+            if (isDeployed(hash)) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Beans from file with hash {} are already deployed.", hash);
+                }
+                return new ResponseEntity<>("Beans from this file are already deployed.",
+                        HttpStatus.OK);
+            }
+
+            final var existingBeans = snapshot();
+            final int numberOfBeans;
+            try (var inputStream = file.getInputStream()) {
+                numberOfBeans = xmlBeanReader.loadBeanDefinitions(new InputSource(inputStream));
+            }
+            final var registeredBeans = registered(existingBeans);
+
+            deployedFiles.values().removeIf(definitions -> !isCurrent(definitions));
+            if (!registeredBeans.isEmpty()) {
+                deployedFiles.put(hash, registeredBeans);
+            }
+
+            if (beanStore.isEnabled()) {
+                persist(file, hash, new ArrayList<>(registeredBeans.keySet()));
+            }
 
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Added {} beans to the Application Context.", numberOfBeans);
@@ -102,9 +154,11 @@ public class BeansController {
      * @return a response entity with code 200 or 500, if an error occurs.
      */
     @DeleteMapping("/{beanId}")
-    public ResponseEntity<String> removeBean(@PathVariable("beanId") final String beanId) {
+    public synchronized ResponseEntity<String> removeBean(
+            @PathVariable("beanId") final String beanId) {
         try {
             beanRegistry.removeBeanDefinition(beanId);
+            unpersist(beanId);
 
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Removed bean with ID {} from the Application Context.", beanId);
@@ -122,4 +176,99 @@ public class BeansController {
         }
     }
 
+    /**
+     * Checks whether the beans of a previously uploaded file are all still registered unchanged.
+     *
+     * @param hash the content hash of the file.
+     * @return true, if the file is already deployed.
+     */
+    private boolean isDeployed(final String hash) {
+        final var definitions = deployedFiles.get(hash);
+        return definitions != null && isCurrent(definitions);
+    }
+
+    /**
+     * Checks whether bean definitions are still registered, i.e. have been neither removed nor
+     * replaced.
+     *
+     * @param definitions the bean definitions by name.
+     * @return true, if all definitions are still registered.
+     */
+    private boolean isCurrent(final Map<String, BeanDefinition> definitions) {
+        for (final var entry : definitions.entrySet()) {
+            if (!beanRegistry.containsBeanDefinition(entry.getKey())
+                    || beanRegistry.getBeanDefinition(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the currently registered bean definitions.
+     *
+     * @return the bean definitions by name.
+     */
+    private Map<String, BeanDefinition> snapshot() {
+        final var definitions = new HashMap<String, BeanDefinition>();
+        for (final var name : beanRegistry.getBeanDefinitionNames()) {
+            definitions.put(name, beanRegistry.getBeanDefinition(name));
+        }
+        return definitions;
+    }
+
+    /**
+     * Returns the bean definitions that were added or replaced since a snapshot was taken.
+     *
+     * @param before the snapshot.
+     * @return the added or replaced bean definitions by name.
+     */
+    private Map<String, BeanDefinition> registered(final Map<String, BeanDefinition> before) {
+        final var definitions = new HashMap<String, BeanDefinition>();
+        for (final var name : beanRegistry.getBeanDefinitionNames()) {
+            final var definition = beanRegistry.getBeanDefinition(name);
+            if (before.get(name) != definition) {
+                definitions.put(name, definition);
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Saves an uploaded bean file to the bean store, together with the names of the beans it
+     * added or replaced. A failure is logged, but does not affect the upload, as the beans are
+     * already registered.
+     *
+     * @param file the uploaded file.
+     * @param hash the content hash of the file.
+     * @param registeredBeans the names of the beans added or replaced by the file.
+     */
+    private void persist(final MultipartFile file, final String hash,
+                         final List<String> registeredBeans) {
+        try (var inputStream = file.getInputStream()) {
+            beanStore.save(hash, inputStream, registeredBeans);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not persist beans. They will not be restored after a "
+                        + "restart. [exception=({})]", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Removes a bean from the bean store. A failure is logged, but does not affect the removal.
+     *
+     * @param beanId the bean ID.
+     */
+    private void unpersist(final String beanId) {
+        try {
+            beanStore.delete(beanId);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not delete bean {} from the store. It will be restored after "
+                        + "a restart. [exception=({})]", beanId, e.getMessage(), e);
+            }
+        }
+    }
+
 }
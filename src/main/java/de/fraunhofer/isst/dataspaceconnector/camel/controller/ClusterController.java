@@ -0,0 +1,44 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterCoordinator;
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for inspecting the cluster.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    /**
+     * The cluster coordinator.
+     */
+    private final ClusterCoordinator coordinator;
+
+    /**
+     * Constructor for the ClusterController.
+     *
+     * @param coordinator the ClusterCoordinator.
+     */
+    @Autowired
+    public ClusterController(final ClusterCoordinator coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * Returns the live members of the cluster and the routes running on this member.
+     *
+     * @return a response entity with the cluster status and code 200.
+     */
+    @GetMapping
+    public ResponseEntity<ClusterStatus> getStatus() {
+        return new ResponseEntity<>(coordinator.getStatus(), HttpStatus.OK);
+    }
+
+}
@@ -0,0 +1,142 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteLimits;
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteThrottles;
+import io.micrometer.core.annotation.Timed;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for throttling running routes with a rate limit and a limit of exchanges in flight,
+ * without restarting them.
+ */
+@RestController
+@Timed(value = "camel.admin.routes", histogram = true)
+@RequestMapping("/api/routes/{routeId}/limits")
+public class RouteLimitsController {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteLimitsController.class);
+
+    /**
+     * The Camel context.
+     */
+    private final CamelContext camelContext;
+
+    /**
+     * The throttles of all routes.
+     */
+    private final RouteThrottles throttles;
+
+    /**
+     * Constructor for the RouteLimitsController.
+     *
+     * @param camelContext the CamelContext.
+     * @param throttles the RouteThrottles.
+     */
+    @Autowired
+    public RouteLimitsController(final CamelContext camelContext,
+                                 final RouteThrottles throttles) {
+        this.camelContext = camelContext;
+        this.throttles = throttles;
+    }
+
+    /**
+     * Returns the limits and current throttling state of a route.
+     *
+     * @param routeId the route ID.
+     * @return a response entity with the throttling state and code 200, or 404 if the route
+     * does not exist.
+     */
+    @GetMapping
+    public ResponseEntity<Object> getLimits(@PathVariable("routeId") final String routeId) {
+        if (camelContext.getRoute(routeId) == null) {
+            return notFound(routeId);
+        }
+        return status(routeId);
+    }
+
+    /**
+     * Sets the limits of a route, replacing the previous ones. Exchanges waiting for the
+     * previous limits are subject to the new ones right away.
+     *
+     * @param routeId the route ID.
+     * @param limits the limits.
+     * @return a response entity with the throttling state and code 200, or 400 if the limits
+     * are invalid or 404 if the route does not exist.
+     */
+    @PutMapping
+    public ResponseEntity<Object> setLimits(@PathVariable("routeId") final String routeId,
+                                            @RequestBody final RouteLimits limits) {
+        if (camelContext.getRoute(routeId) == null) {
+            return notFound(routeId);
+        }
+        final var invalid = limits.validate();
+        if (invalid != null) {
+            return new ResponseEntity<>("Invalid limits: " + invalid, HttpStatus.BAD_REQUEST);
+        }
+
+        throttles.setLimits(routeId, limits);
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Set limits of route {} to {} exchanges/s (burst {}) and {} in flight.",
+                    routeId, limits.getRatePerSecond(), limits.getBurst(),
+                    limits.getMaxInflight());
+        }
+        return status(routeId);
+    }
+
+    /**
+     * Removes the limits of a route, releasing all waiting exchanges.
+     *
+     * @param routeId the route ID.
+     * @return a response entity with the throttling state and code 200, or 404 if the route
+     * does not exist.
+     */
+    @DeleteMapping
+    public ResponseEntity<Object> removeLimits(@PathVariable("routeId") final String routeId) {
+        if (camelContext.getRoute(routeId) == null) {
+            return notFound(routeId);
+        }
+
+        throttles.setLimits(routeId, null);
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Removed limits of route {}.", routeId);
+        }
+        return status(routeId);
+    }
+
+    /**
+     * Creates a response with the throttling state of a route.
+     *
+     * @param routeId the route ID.
+     * @return the response entity with code 200.
+     */
+    private ResponseEntity<Object> status(final String routeId) {
+        final var inflight = camelContext.getInflightRepository().size(routeId);
+        return new ResponseEntity<>(throttles.get(routeId).getStatus(inflight), HttpStatus.OK);
+    }
+
+    /**
+     * Creates a response for a route that does not exist.
+     *
+     * @param routeId the route ID.
+     * @return the response entity with code 404.
+     */
+    private static ResponseEntity<Object> notFound(final String routeId) {
+        return new ResponseEntity<>("No route with ID " + routeId + ".", HttpStatus.NOT_FOUND);
+    }
+
+}
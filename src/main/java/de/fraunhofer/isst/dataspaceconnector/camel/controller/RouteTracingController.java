@@ -0,0 +1,124 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.RouteTracing;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.RouteTracingSettings;
+import io.micrometer.core.annotation.Timed;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for switching the tracing of running routes on and off without redeploying them.
+ */
+@RestController
+@Timed(value = "camel.admin.routes", histogram = true)
+@RequestMapping("/api/routes/{routeId}/tracing")
+public class RouteTracingController {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteTracingController.class);
+
+    /**
+     * The Camel context.
+     */
+    private final CamelContext camelContext;
+
+    /**
+     * The route tracing.
+     */
+    private final RouteTracing tracing;
+
+    /**
+     * Constructor for the RouteTracingController.
+     *
+     * @param camelContext the CamelContext.
+     * @param tracing the RouteTracing.
+     */
+    @Autowired
+    public RouteTracingController(final CamelContext camelContext, final RouteTracing tracing) {
+        this.camelContext = camelContext;
+        this.tracing = tracing;
+    }
+
+    /**
+     * Returns whether a route is traced.
+     *
+     * @param routeId the route ID.
+     * @return a response entity with the tracing state and code 200, or 404 if the route does
+     * not exist.
+     */
+    @GetMapping
+    public ResponseEntity<Object> getTracing(@PathVariable("routeId") final String routeId) {
+        if (camelContext.getRoute(routeId) == null) {
+            return notFound(routeId);
+        }
+        return new ResponseEntity<>(tracing.getStatus(routeId), HttpStatus.OK);
+    }
+
+    /**
+     * Switches tracing on or off for a route. The setting applies to exchanges starting
+     * afterwards.
+     *
+     * @param routeId the route ID.
+     * @param settings the tracing settings.
+     * @return a response entity with the tracing state and code 200, or 400 if the settings are
+     * incomplete or 404 if the route does not exist.
+     */
+    @PutMapping
+    public ResponseEntity<Object> setTracing(@PathVariable("routeId") final String routeId,
+                                             @RequestBody final RouteTracingSettings settings) {
+        if (camelContext.getRoute(routeId) == null) {
+            return notFound(routeId);
+        }
+        if (settings.getEnabled() == null) {
+            return new ResponseEntity<>("Field enabled must be set.", HttpStatus.BAD_REQUEST);
+        }
+
+        tracing.setEnabled(routeId, settings.getEnabled());
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Switched tracing of route {} {}.", routeId,
+                    settings.getEnabled() ? "on" : "off");
+        }
+        return new ResponseEntity<>(tracing.getStatus(routeId), HttpStatus.OK);
+    }
+
+    /**
+     * Removes the tracing setting of a route, so that the default applies again.
+     *
+     * @param routeId the route ID.
+     * @return a response entity with the tracing state and code 200, or 404 if the route does
+     * not exist.
+     */
+    @DeleteMapping
+    public ResponseEntity<Object> resetTracing(@PathVariable("routeId") final String routeId) {
+        if (camelContext.getRoute(routeId) == null) {
+            return notFound(routeId);
+        }
+
+        tracing.setEnabled(routeId, null);
+        return new ResponseEntity<>(tracing.getStatus(routeId), HttpStatus.OK);
+    }
+
+    /**
+     * Creates a response for a route that does not exist.
+     *
+     * @param routeId the route ID.
+     * @return the response entity with code 404.
+     */
+    private static ResponseEntity<Object> notFound(final String routeId) {
+        return new ResponseEntity<>("No route with ID " + routeId + ".", HttpStatus.NOT_FOUND);
+    }
+
+}
@@ -1,10 +1,28 @@
 package de.fraunhofer.isst.dataspaceconnector.camel.controller;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipInputStream;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterCoordinator;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentException;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentReport;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteInfo;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteInventoryService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RoutePage;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteReplacement;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteStartup;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.RouteStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.TemplateStore;
+import io.micrometer.core.annotation.Timed;
 import org.apache.camel.CamelContext;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.RoutesDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,17 +30,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
- * Controller for adding and removing routes at runtime.
+ * Controller for listing, adding, replacing and removing routes at runtime. In cluster mode,
+ * added routes owned by another member are only stored and then started by their owner.
  */
 @RestController
+@Timed(value = "camel.admin.routes", histogram = true)
 @RequestMapping("/api/routes")
 public class RoutesController {
 
@@ -31,26 +53,121 @@ public class RoutesController {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(RoutesController.class);
 
+    /**
+     * The maximum number of routes per page when listing routes.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     /**
      * The Camel context.
      */
     private final DefaultCamelContext camelContext;
 
     /**
-     * Unmarshaller for reading route definitions from XML.
+     * Parser for reading route definitions from XML.
+     */
+    private final RouteDefinitionParser routeParser;
+
+    /**
+     * Service for deploying sets of routes as one unit.
+     */
+    private final RouteDeploymentService deploymentService;
+
+    /**
+     * Store for persisting deployed routes.
+     */
+    private final RouteStore routeStore;
+
+    /**
+     * Store for persisting routes created from templates.
+     */
+    private final TemplateStore templateStore;
+
+    /**
+     * Coordinator assigning routes to cluster members.
+     */
+    private final ClusterCoordinator clusterCoordinator;
+
+    /**
+     * Service for listing routes with their runtime statistics.
      */
-    private final Unmarshaller unmarshaller;
+    private final RouteInventoryService inventoryService;
 
     /**
      * Constructor for the RoutesController.
      *
      * @param camelContext the CamelContext.
-     * @param unmarshaller the Unmarshaller.
+     * @param routeParser the RouteDefinitionParser.
+     * @param deploymentService the RouteDeploymentService.
+     * @param routeStore the RouteStore.
+     * @param templateStore the TemplateStore.
+     * @param clusterCoordinator the ClusterCoordinator.
+     * @param inventoryService the RouteInventoryService.
      */
     @Autowired
-    public RoutesController(final CamelContext camelContext, final Unmarshaller unmarshaller) {
+    public RoutesController(final CamelContext camelContext,
+                            final RouteDefinitionParser routeParser,
+                            final RouteDeploymentService deploymentService,
+                            final RouteStore routeStore,
+                            final TemplateStore templateStore,
+                            final ClusterCoordinator clusterCoordinator,
+                            final RouteInventoryService inventoryService) {
         this.camelContext = (DefaultCamelContext) camelContext;
-        this.unmarshaller = unmarshaller;
+        this.routeParser = routeParser;
+        this.deploymentService = deploymentService;
+        this.routeStore = routeStore;
+        this.templateStore = templateStore;
+        this.clusterCoordinator = clusterCoordinator;
+        this.inventoryService = inventoryService;
+    }
+
+    /**
+     * Lists the routes of this instance, ordered by route ID, with their status and runtime
+     * statistics.
+     *
+     * @param page the index of the page, starting at 0.
+     * @param size the maximum number of routes per page, at most 1000.
+     * @param status the status the routes must have, e.g. Started, optional.
+     * @return a response entity with the page and code 200, or 400 or 500, if an error occurs.
+     */
+    @GetMapping
+    public ResponseEntity<Object> getRoutes(
+            @RequestParam(value = "page", defaultValue = "0") final int page,
+            @RequestParam(value = "size", defaultValue = "100") final int size,
+            @RequestParam(value = "status", required = false) final String status) {
+        try {
+            if (size > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Size must not exceed " + MAX_PAGE_SIZE + ".");
+            }
+            final RoutePage routes = inventoryService.list(page, size, status);
+            return new ResponseEntity<>(routes, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>("Could not list routes: " + e.getMessage(),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not list routes. [exception=({})]", e.getMessage(), e);
+            }
+            return new ResponseEntity<>("Could not list routes: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Returns a route with its status and runtime statistics.
+     *
+     * @param routeId the route ID.
+     * @return a response entity with the route and code 200, or 404 if there is no route with
+     * this ID.
+     */
+    @GetMapping("/{routeId}")
+    public ResponseEntity<Object> getRoute(@PathVariable("routeId") final String routeId) {
+        final RouteInfo route = inventoryService.get(routeId);
+        if (route == null) {
+            return new ResponseEntity<>("No route with ID " + routeId + ".",
+                    HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(route, HttpStatus.OK);
     }
 
     /**
@@ -63,24 +180,32 @@ public class RoutesController {
     public ResponseEntity<String> addRoutes(@RequestParam("file") final MultipartFile file) {
         try {
             if (file == null) {
-                throw new IllegalArgumentException("File must not be null");
+                throw new IllegalArgumentException("File must not be null.");
             }
 
-            final var inputStream = file.getInputStream();
-            final var routes = (RoutesDefinition) unmarshaller.unmarshal(inputStream);
-            camelContext.addRouteDefinitions(routes.getRoutes());
+            final RoutesDefinition routes;
+            try (var inputStream = file.getInputStream()) {
+                routes = routeParser.parseRoutes(inputStream);
+            }
+            final var local = new ArrayList<RouteDefinition>();
+            final var handedOff = handOff(routes.getRoutes(), local);
+            if (!local.isEmpty() || handedOff.isEmpty()) {
+                camelContext.addRouteDefinitions(local);
+            }
+            persist(routes.getRoutes());
 
             if (LOGGER.isInfoEnabled()) {
-                LOGGER.info("Added {} routes to the Camel Context.", routes.getRoutes().size());
+                LOGGER.info("Added {} routes to the Camel Context.", local.size());
             }
 
-            return new ResponseEntity<>("Successfully added " + routes.getRoutes().size()
-                    + " routes to Camel Context.", HttpStatus.OK);
+            return new ResponseEntity<>("Successfully added " + local.size()
+                    + " routes to Camel Context." + describeHandOff(handedOff.size()),
+                    HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             if (LOGGER.isErrorEnabled()) {
-                LOGGER.error("Could not read XML file because file was null.");
+                LOGGER.error("Could not add route(s). [exception=({})]", e.getMessage());
             }
-            return new ResponseEntity<>("File must not be null.", HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (JAXBException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("Could not read route(s) from XML file. [exception=({})]",
@@ -98,6 +223,110 @@ public class RoutesController {
         }
     }
 
+    /**
+     * Adds the routes from multiple XML files and/or ZIP archives of XML files to the Camel
+     * context as one unit. All files are read and validated before any route is started. The
+     * routes are then started concurrently and, if any of them fails to start, all routes of
+     * the request are removed again.
+     *
+     * @param files the XML files and/or ZIP archives.
+     * @return a response entity with the startup time of every route and code 200, or 400 or
+     * 500, if an error occurs.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<RouteDeploymentReport> addRoutesBatch(
+            @RequestParam("files") final List<MultipartFile> files) {
+        final var startTime = System.nanoTime();
+        try {
+            if (files == null || files.isEmpty()) {
+                throw new IllegalArgumentException("Files must not be empty.");
+            }
+
+            final var routes = new ArrayList<RouteDefinition>();
+            for (final var file : files) {
+                routes.addAll(readRoutes(file));
+            }
+
+            final var local = new ArrayList<RouteDefinition>();
+            final var handedOff = handOff(routes, local);
+            final var results = new ArrayList<RouteStartup>();
+            if (!local.isEmpty() || handedOff.isEmpty()) {
+                results.addAll(deploymentService.deploy(local));
+            }
+            final var deployed = results.size();
+            handedOff.forEach(routeId -> results.add(new RouteStartup(routeId,
+                    RouteStartup.Status.HANDED_OFF, 0, null)));
+            persist(routes);
+            return new ResponseEntity<>(new RouteDeploymentReport(true, "Successfully added "
+                    + deployed + " routes to Camel Context." + describeHandOff(handedOff.size()),
+                    millisSince(startTime), results), HttpStatus.OK);
+        } catch (IllegalArgumentException | JAXBException | IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not read route(s) from files. [exception=({})]",
+                        e.getMessage(), e);
+            }
+            return new ResponseEntity<>(new RouteDeploymentReport(false, "Could not read "
+                    + "route(s) from files: " + e.getMessage(), millisSince(startTime),
+                    List.of()), HttpStatus.BAD_REQUEST);
+        } catch (RouteDeploymentException e) {
+            return new ResponseEntity<>(new RouteDeploymentReport(false, e.getMessage(),
+                    millisSince(startTime), e.getRoutes()), HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not add route(s) to Camel Context. [exception=({})]",
+                        e.getMessage(), e);
+            }
+            return new ResponseEntity<>(new RouteDeploymentReport(false, "Could not add "
+                    + "route(s) to Camel Context: " + e.getMessage(), millisSince(startTime),
+                    List.of()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Replaces a running route with the route from an XML file without interrupting
+     * consumption: the new route is started before the old one is drained and removed. The file
+     * is parsed once and the shadow route is started from a copy of the definition.
+     *
+     * @param routeId the ID of the route to replace.
+     * @param file the XML file, containing exactly one route.
+     * @param drainTimeout the time in milliseconds the old route may take to complete its
+     *                     in-flight exchanges, optional.
+     * @return a response entity with the drain time and number of in-flight exchanges and code
+     * 200, or 400 or 500, if an error occurs.
+     */
+    @PutMapping("/{routeId}")
+    public ResponseEntity<Object> replaceRoute(
+            @PathVariable("routeId") final String routeId,
+            @RequestParam("file") final MultipartFile file,
+            @RequestParam(value = "drainTimeout", required = false) final Long drainTimeout) {
+        try {
+            if (file == null) {
+                throw new IllegalArgumentException("File must not be null.");
+            }
+
+            final var route = readSingleRoute(file);
+            final RouteReplacement replacement = deploymentService.replace(routeId,
+                    routeParser.copy(route, RouteDefinition.class), route, drainTimeout);
+            unpersist(routeId);
+            persist(List.of(route));
+            return new ResponseEntity<>(replacement, HttpStatus.OK);
+        } catch (IllegalArgumentException | JAXBException | IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not replace route with ID {}. [exception=({})]",
+                        routeId, e.getMessage(), e);
+            }
+            return new ResponseEntity<>("Could not replace route: " + e.getMessage(),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not replace route with ID {}. [exception=({})]",
+                        routeId, e.getMessage(), e);
+            }
+            return new ResponseEntity<>("Could not replace route: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Deletes a route from the Camel context by its ID.
      *
@@ -112,6 +341,7 @@ public class RoutesController {
             if (!camelContext.removeRoute(routeId)) {
                 throw new Exception("Could not remove route because route was not stopped.");
             }
+            unpersist(routeId);
 
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Stopped route with ID {} and removed it from the Camel Context",
@@ -130,4 +360,143 @@ public class RoutesController {
         }
     }
 
+    /**
+     * Splits routes into the ones started on this instance and the ones owned by another
+     * cluster member, which are only stored.
+     *
+     * @param routes the route definitions.
+     * @param local the list the routes started on this instance are added to.
+     * @return the IDs of the routes owned by other members.
+     */
+    private List<String> handOff(final List<RouteDefinition> routes,
+                                 final List<RouteDefinition> local) {
+        final var handedOff = new ArrayList<String>();
+        for (final var route : routes) {
+            if (clusterCoordinator.isRemote(route.getId())) {
+                handedOff.add(route.getId());
+            } else {
+                local.add(route);
+            }
+        }
+        return handedOff;
+    }
+
+    /**
+     * Saves deployed routes to the route store. A failure is logged, but does not affect the
+     * deployment, as the routes are already running.
+     *
+     * @param routes the deployed route definitions.
+     */
+    private void persist(final List<RouteDefinition> routes) {
+        try {
+            routeStore.save(routes);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not persist {} route(s). They will not be restored after a "
+                        + "restart. [exception=({})]", routes.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Removes a route from the route store, whether it was added from XML or created from a
+     * template. A failure is logged, but does not affect the removal, as the route is already
+     * stopped.
+     *
+     * @param routeId the route ID.
+     */
+    private void unpersist(final String routeId) {
+        try {
+            routeStore.delete(routeId);
+            templateStore.deleteRoute(routeId);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not delete route {} from the store. It will be restored after "
+                        + "a restart. [exception=({})]", routeId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads all routes from an XML file or from all XML files contained in a ZIP archive.
+     *
+     * @param file the XML file or ZIP archive.
+     * @return the route definitions.
+     * @throws IOException if the file cannot be read.
+     * @throws JAXBException if a file does not contain valid route definitions.
+     */
+    private List<RouteDefinition> readRoutes(final MultipartFile file)
+            throws IOException, JAXBException {
+        final var routes = new ArrayList<RouteDefinition>();
+        if (!isZipArchive(file)) {
+            try (var inputStream = file.getInputStream()) {
+                routes.addAll(routeParser.parseRoutes(inputStream).getRoutes());
+            }
+            return routes;
+        }
+
+        try (var zip = new ZipInputStream(file.getInputStream())) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (!entry.isDirectory()
+                        && entry.getName().toLowerCase(Locale.ROOT).endsWith(".xml")) {
+                    routes.addAll(routeParser.parseRoutes(zip).getRoutes());
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Reads a file that must contain exactly one route.
+     *
+     * @param file the XML file.
+     * @return the route definition.
+     * @throws IOException if the file cannot be read.
+     * @throws JAXBException if the file does not contain a valid route definition.
+     */
+    private RouteDefinition readSingleRoute(final MultipartFile file)
+            throws IOException, JAXBException {
+        try (var inputStream = file.getInputStream()) {
+            final var routes = routeParser.parseRoutes(inputStream).getRoutes();
+            if (routes.size() != 1) {
+                throw new IllegalArgumentException("File must contain exactly one route.");
+            }
+            return routes.get(0);
+        }
+    }
+
+    /**
+     * Describes the routes handed off to other cluster members for a response message.
+     *
+     * @param count the number of routes handed off.
+     * @return the description, or an empty string if no route was handed off.
+     */
+    private static String describeHandOff(final int count) {
+        return count == 0 ? "" : " Handed off " + count + " routes to other cluster members.";
+    }
+
+    /**
+     * Checks whether an uploaded file is a ZIP archive based on its name and content type.
+     *
+     * @param file the file.
+     * @return true, if the file is a ZIP archive.
+     */
+    private static boolean isZipArchive(final MultipartFile file) {
+        final var fileName = file.getOriginalFilename();
+        final var contentType = file.getContentType();
+        return (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".zip"))
+                || "application/zip".equals(contentType)
+                || "application/x-zip-compressed".equals(contentType);
+    }
+
+    /**
+     * Calculates the milliseconds elapsed since a given point in time.
+     *
+     * @param startNanos the start time as returned by {@link System#nanoTime()}.
+     * @return the elapsed milliseconds.
+     */
+    private static long millisSince(final long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
 }
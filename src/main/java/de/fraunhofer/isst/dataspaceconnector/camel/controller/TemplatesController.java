@@ -0,0 +1,335 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.xml.bind.JAXBException;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterCoordinator;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentException;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentReport;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteStartup;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.TemplatedRoute;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.TemplateStore;
+import io.micrometer.core.annotation.Timed;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteTemplateDefinition;
+import org.apache.camel.model.RouteTemplateParameterDefinition;
+import org.apache.camel.model.RouteTemplatesDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Controller for adding and removing route templates and creating routes from them at runtime.
+ * Templates are parsed once when they are added, so creating a route from a template does not
+ * require any XML to be read. In cluster mode, routes owned by another member are only stored and
+ * then created by their owner.
+ */
+@RestController
+@Timed(value = "camel.admin.templates", histogram = true)
+@RequestMapping("/api/templates")
+public class TemplatesController {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplatesController.class);
+
+    /**
+     * The Camel context.
+     */
+    private final DefaultCamelContext camelContext;
+
+    /**
+     * Parser for reading route templates from XML.
+     */
+    private final RouteDefinitionParser routeParser;
+
+    /**
+     * Service for deploying routes.
+     */
+    private final RouteDeploymentService deploymentService;
+
+    /**
+     * Store for persisting templates and the routes created from them.
+     */
+    private final TemplateStore templateStore;
+
+    /**
+     * Coordinator assigning routes to cluster members.
+     */
+    private final ClusterCoordinator clusterCoordinator;
+
+    /**
+     * Constructor for the TemplatesController.
+     *
+     * @param camelContext the CamelContext.
+     * @param routeParser the RouteDefinitionParser.
+     * @param deploymentService the RouteDeploymentService.
+     * @param templateStore the TemplateStore.
+     * @param clusterCoordinator the ClusterCoordinator.
+     */
+    @Autowired
+    public TemplatesController(final CamelContext camelContext,
+                               final RouteDefinitionParser routeParser,
+                               final RouteDeploymentService deploymentService,
+                               final TemplateStore templateStore,
+                               final ClusterCoordinator clusterCoordinator) {
+        this.camelContext = (DefaultCamelContext) camelContext;
+        this.routeParser = routeParser;
+        this.deploymentService = deploymentService;
+        this.templateStore = templateStore;
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    /**
+     * Lists the route templates and their parameters.
+     *
+     * @return a response entity mapping every template ID to its parameter names.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, List<String>>> getTemplates() {
+        final var templates = new LinkedHashMap<String, List<String>>();
+        for (final var template : camelContext.getRouteTemplateDefinitions()) {
+            templates.put(template.getId(), template.getTemplateParameters().stream()
+                    .map(RouteTemplateParameterDefinition::getName)
+                    .collect(Collectors.toList()));
+        }
+        return new ResponseEntity<>(templates, HttpStatus.OK);
+    }
+
+    /**
+     * Adds one or more route templates from an XML file to the Camel context. Existing
+     * templates with the same IDs are replaced; routes already created from them are not
+     * affected.
+     *
+     * @param file the XML file.
+     * @return a response entity with code 200, or 400 or 500, if an error occurs.
+     */
+    @PostMapping
+    public ResponseEntity<String> addTemplates(@RequestParam("file") final MultipartFile file) {
+        try {
+            if (file == null) {
+                throw new IllegalArgumentException("File must not be null.");
+            }
+
+            final RouteTemplatesDefinition templates;
+            try (var inputStream = file.getInputStream()) {
+                templates = routeParser.parse(inputStream, RouteTemplatesDefinition.class);
+            }
+            validate(templates.getRouteTemplates());
+
+            camelContext.addRouteTemplateDefinitions(templates.getRouteTemplates());
+            persist(templates.getRouteTemplates());
+
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Added {} route templates to the Camel Context.",
+                        templates.getRouteTemplates().size());
+            }
+
+            return new ResponseEntity<>("Successfully added "
+                    + templates.getRouteTemplates().size() + " route templates to Camel Context.",
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException | JAXBException | IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not read route template(s) from XML file. "
+                        + "[exception=({})]", e.getMessage(), e);
+            }
+            return new ResponseEntity<>("Could not read route template(s) from XML file: "
+                    + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not add route template(s) to Camel Context. "
+                        + "[exception=({})]", e.getMessage(), e);
+            }
+            return new ResponseEntity<>("Could not add route template(s) to Camel Context: "
+                    + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Creates routes from a route template. All routes are created or none.
+     *
+     * @param templateId the template ID.
+     * @param routes the route IDs and parameter values of the routes to create.
+     * @return a response entity with the startup time of every route and code 200, or 400 or
+     * 500, if an error occurs.
+     */
+    @PostMapping("/{templateId}/routes")
+    public ResponseEntity<RouteDeploymentReport> addRoutes(
+            @PathVariable("templateId") final String templateId,
+            @RequestBody final List<TemplatedRoute> routes) {
+        final var startTime = System.nanoTime();
+        try {
+            final var local = new ArrayList<TemplatedRoute>();
+            final var handedOff = new ArrayList<RouteStartup>();
+            if (routes != null) {
+                for (final var route : routes) {
+                    route.setTemplateId(templateId);
+                    if (clusterCoordinator.isRemote(route.getRouteId())) {
+                        handedOff.add(new RouteStartup(route.getRouteId(),
+                                RouteStartup.Status.HANDED_OFF, 0, null));
+                    } else {
+                        local.add(route);
+                    }
+                }
+            }
+
+            final var results = new ArrayList<RouteStartup>();
+            if (!local.isEmpty() || handedOff.isEmpty()) {
+                results.addAll(deploymentService.deployFromTemplates(local));
+            }
+            final var deployed = results.size();
+            results.addAll(handedOff);
+            persistRoutes(routes);
+            return new ResponseEntity<>(new RouteDeploymentReport(true, "Successfully created "
+                    + deployed + " routes from template " + templateId + "."
+                    + describeHandOff(handedOff.size()), millisSince(startTime), results),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not create route(s) from template {}. [exception=({})]",
+                        templateId, e.getMessage(), e);
+            }
+            return new ResponseEntity<>(new RouteDeploymentReport(false, "Could not create "
+                    + "route(s): " + e.getMessage(), millisSince(startTime), List.of()),
+                    HttpStatus.BAD_REQUEST);
+        } catch (RouteDeploymentException e) {
+            return new ResponseEntity<>(new RouteDeploymentReport(false, e.getMessage(),
+                    millisSince(startTime), e.getRoutes()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Removes a route template from the Camel context. Routes created from it keep running.
+     *
+     * @param templateId the template ID.
+     * @return a response entity with code 200, or 404 or 500, if an error occurs.
+     */
+    @DeleteMapping("/{templateId}")
+    public ResponseEntity<String> removeTemplate(
+            @PathVariable("templateId") final String templateId) {
+        try {
+            final var template = camelContext.getRouteTemplateDefinition(templateId);
+            if (template == null) {
+                return new ResponseEntity<>("No route template found with ID " + templateId
+                        + ".", HttpStatus.NOT_FOUND);
+            }
+
+            camelContext.removeRouteTemplateDefinition(template);
+            templateStore.deleteTemplate(templateId);
+
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Removed route template with ID {} from the Camel Context.",
+                        templateId);
+            }
+
+            return new ResponseEntity<>("Successfully removed route template with ID "
+                    + templateId, HttpStatus.OK);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not remove route template with ID {}. [exception=({})]",
+                        templateId, e.getMessage(), e);
+            }
+            return new ResponseEntity<>("Could not remove route template: "
+                    + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Checks that every template has an ID that is unique within the file.
+     *
+     * @param templates the route templates.
+     * @throws IllegalArgumentException if the templates are invalid.
+     */
+    private static void validate(final List<RouteTemplateDefinition> templates) {
+        if (templates == null || templates.isEmpty()) {
+            throw new IllegalArgumentException("No route templates found.");
+        }
+
+        final var templateIds = new HashSet<String>();
+        for (final var template : templates) {
+            if (template.getId() == null || template.getId().isBlank()) {
+                throw new IllegalArgumentException("Every route template must have an ID.");
+            }
+            if (!templateIds.add(template.getId())) {
+                throw new IllegalArgumentException("Duplicate route template ID "
+                        + template.getId() + ".");
+            }
+        }
+    }
+
+    /**
+     * Saves added templates to the template store. A failure is logged, but does not affect
+     * the request, as the templates are already added.
+     *
+     * @param templates the route templates.
+     */
+    private void persist(final List<RouteTemplateDefinition> templates) {
+        try {
+            templateStore.saveTemplates(templates);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not persist {} route template(s). They will not be restored "
+                        + "after a restart. [exception=({})]", templates.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Saves routes created from a template to the template store. A failure is logged, but
+     * does not affect the deployment, as the routes are already running.
+     *
+     * @param routes the created routes.
+     */
+    private void persistRoutes(final List<TemplatedRoute> routes) {
+        try {
+            templateStore.saveRoutes(routes);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not persist {} route(s). They will not be restored after a "
+                        + "restart. [exception=({})]", routes.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Calculates the milliseconds elapsed since a given point in time.
+     *
+     * @param startNanos the start time as returned by {@link System#nanoTime()}.
+     * @return the elapsed milliseconds.
+     */
+    private static long millisSince(final long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Describes the routes handed off to other cluster members for a response message.
+     *
+     * @param count the number of routes handed off.
+     * @return the description, or an empty string if no route was handed off.
+     */
+    private static String describeHandOff(final int count) {
+        return count == 0 ? "" : " Handed off " + count + " routes to other cluster members.";
+    }
+
+}
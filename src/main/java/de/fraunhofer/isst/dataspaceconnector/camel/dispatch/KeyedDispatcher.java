@@ -0,0 +1,419 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.AsyncProcessorHelper;
+import org.apache.camel.support.ExchangeHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanNameAware;
+
+/**
+ * A processor that hands exchanges over to a number of worker threads (lanes), which send them
+ * to a target endpoint in parallel. Depending on the ordering, exchanges with the same topic or
+ * key are always processed by the same lane and therefore in order, while different keys are
+ * processed concurrently. Each lane has a bounded queue; when it is full, the calling consumer
+ * thread blocks until there is space again.
+ *
+ * <p>The lanes are started when the first exchange arrives. A queued exchange stays in flight
+ * until its lane has sent it to the target, so Camel's graceful shutdown waits for it and the
+ * result of the target, including a failure, is the result of the exchange. Exchanges still
+ * queued when the dispatcher is closed after the drain timeout are sent to the discard endpoint,
+ * if set, and otherwise fail. Note that consumers acknowledging messages on receipt, like the
+ * Paho consumer, have acknowledged them at that point, so without a discard endpoint such
+ * messages are delivered at most once.</p>
+ */
+@NoArgsConstructor
+public class KeyedDispatcher implements AsyncProcessor, CamelContextAware, BeanNameAware,
+        AutoCloseable {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedDispatcher.class);
+
+    /**
+     * Header holding the topic of an MQTT message, set by the Paho consumer.
+     */
+    public static final String MQTT_TOPIC_HEADER = "CamelMqttTopic";
+
+    /**
+     * Name of the gauge publishing the number of queued exchanges per lane.
+     */
+    public static final String METER_NAME = "camel.dispatcher.queued";
+
+    /**
+     * The ordering guarantees of a dispatcher.
+     */
+    public enum Ordering {
+        /**
+         * No ordering, every lane takes the next exchange from one shared queue.
+         */
+        UNORDERED,
+
+        /**
+         * Exchanges with the same MQTT topic are processed in order.
+         */
+        PER_TOPIC,
+
+        /**
+         * Exchanges with the same key, as defined by the key expression, are processed in order.
+         */
+        KEYED
+    }
+
+    /**
+     * The endpoint URI exchanges are sent to, e.g. a direct endpoint of another route.
+     */
+    @Getter
+    @Setter
+    private String target;
+
+    /**
+     * The endpoint URI exchanges still queued on shutdown are sent to, e.g. a route storing
+     * them in the outbox or a file, or null to fail them.
+     */
+    @Getter
+    @Setter
+    private String discardTarget;
+
+    /**
+     * The number of lanes.
+     */
+    @Getter
+    @Setter
+    private int lanes = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The capacity of every lane's queue.
+     */
+    @Getter
+    @Setter
+    private int queueSize = 1_000;
+
+    /**
+     * The ordering guarantees.
+     */
+    @Getter
+    @Setter
+    private Ordering ordering = Ordering.PER_TOPIC;
+
+    /**
+     * Simple language expression calculating the key of an exchange, if the ordering is KEYED.
+     */
+    @Getter
+    @Setter
+    private String keyExpression;
+
+    /**
+     * The time in milliseconds queued exchanges are still processed on shutdown.
+     */
+    @Getter
+    @Setter
+    private long drainTimeout = 30_000;
+
+    /**
+     * The Camel context.
+     */
+    @Getter
+    @Setter
+    private CamelContext camelContext;
+
+    /**
+     * The name of the bean.
+     */
+    private String beanName = "keyed-dispatcher";
+
+    /**
+     * The lanes' queues, once started. Holds a single shared queue if unordered.
+     */
+    private volatile List<BlockingQueue<Task>> queues;
+
+    /**
+     * The gauges publishing the queue sizes, once started.
+     */
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    /**
+     * The compiled key expression, once started.
+     */
+    private Expression key;
+
+    /**
+     * The worker threads, once started.
+     */
+    private ExecutorService workers;
+
+    /**
+     * The producer template used by the workers, once started.
+     */
+    private ProducerTemplate producerTemplate;
+
+    /**
+     * Whether the workers should keep taking exchanges from the queues.
+     */
+    private volatile boolean running;
+
+    @Override
+    public void setBeanName(final String name) {
+        this.beanName = name;
+    }
+
+    /**
+     * Queues the exchange and waits until its lane has processed it.
+     *
+     * @param exchange the exchange.
+     * @throws Exception if interrupted while waiting.
+     */
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+        AsyncProcessorHelper.process(this, exchange);
+    }
+
+    /**
+     * Queues the exchange in the lane determined by its key, blocking while that lane's queue
+     * is full. The callback is called once the lane has sent the exchange to the target.
+     *
+     * @param exchange the exchange.
+     * @param callback the callback.
+     * @return false, as the exchange is completed asynchronously, or true if it could not be
+     * queued.
+     */
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        var lanesQueues = queues;
+        if (lanesQueues == null) {
+            lanesQueues = start();
+        }
+
+        try {
+            lanesQueues.get(selectLane(exchange, lanesQueues.size()))
+                    .put(new Task(exchange, callback));
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Exchange> processAsync(final Exchange exchange) {
+        final var future = new CompletableFuture<Exchange>();
+        process(exchange, doneSync -> future.complete(exchange));
+        return future;
+    }
+
+    /**
+     * Stops the lanes after they have processed the queued exchanges, or the drain timeout has
+     * passed. Exchanges that are still queued are sent to the discard target, if set, and
+     * otherwise fail.
+     */
+    @Override
+    public synchronized void close() {
+        if (workers == null) {
+            return;
+        }
+
+        running = false;
+        camelContext.getExecutorServiceManager().shutdownGraceful(workers, drainTimeout);
+        for (final var queue : queues) {
+            final var remaining = new ArrayList<Task>();
+            queue.drainTo(remaining);
+            if (!remaining.isEmpty() && LOGGER.isErrorEnabled()) {
+                LOGGER.error("Exchanges still queued on shutdown. [dispatcher=({}), "
+                        + "count=({}), discardTarget=({})]", beanName, remaining.size(),
+                        discardTarget);
+            }
+            remaining.forEach(this::discard);
+        }
+
+        try {
+            producerTemplate.stop();
+        } catch (Exception e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Failed to stop producer template. [exception=({})]",
+                        e.getMessage(), e);
+            }
+        }
+        gauges.forEach(Metrics.globalRegistry::remove);
+        gauges.clear();
+        workers = null;
+        queues = null;
+    }
+
+    /**
+     * Determines the lane of an exchange.
+     *
+     * @param exchange the exchange.
+     * @param count the number of queues.
+     * @return the index of the lane's queue.
+     */
+    private int selectLane(final Exchange exchange, final int count) {
+        if (count == 1) {
+            return 0;
+        }
+
+        final Object value;
+        if (ordering == Ordering.PER_TOPIC) {
+            value = exchange.getMessage().getHeader(MQTT_TOPIC_HEADER);
+        } else {
+            value = key.evaluate(exchange, Object.class);
+        }
+        return value == null ? 0 : Math.floorMod(value.hashCode(), count);
+    }
+
+    /**
+     * Starts the lanes, if not yet started.
+     *
+     * @return the lanes' queues.
+     */
+    private synchronized List<BlockingQueue<Task>> start() {
+        if (queues != null) {
+            return queues;
+        }
+
+        if (target == null || camelContext == null) {
+            throw new IllegalStateException("Target and Camel context must be set.");
+        }
+        if (ordering == Ordering.KEYED) {
+            if (keyExpression == null) {
+                throw new IllegalStateException("Key expression must be set for keyed ordering.");
+            }
+            key = camelContext.resolveLanguage("simple").createExpression(keyExpression);
+        }
+
+        final var laneCount = Math.max(1, lanes);
+        final var queueCount = ordering == Ordering.UNORDERED ? 1 : laneCount;
+        final var lanesQueues = new ArrayList<BlockingQueue<Task>>(queueCount);
+        for (var i = 0; i < queueCount; i++) {
+            final var queue = new ArrayBlockingQueue<Task>(queueSize);
+            lanesQueues.add(queue);
+            gauges.add(Gauge.builder(METER_NAME, queue, BlockingQueue::size)
+                    .tag("dispatcher", beanName)
+                    .tag("lane", String.valueOf(i))
+                    .description("Number of exchanges queued in a dispatcher lane")
+                    .register(Metrics.globalRegistry));
+        }
+
+        producerTemplate = camelContext.createProducerTemplate();
+        workers = camelContext.getExecutorServiceManager()
+                .newFixedThreadPool(this, "KeyedDispatcher-" + beanName, laneCount);
+        running = true;
+        for (var i = 0; i < laneCount; i++) {
+            final var queue = lanesQueues.get(queueCount == 1 ? 0 : i);
+            workers.execute(() -> work(queue));
+        }
+        queues = lanesQueues;
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Started dispatcher. [dispatcher=({}), lanes=({}), ordering=({}), "
+                    + "target=({})]", beanName, laneCount, ordering, target);
+        }
+        return lanesQueues;
+    }
+
+    /**
+     * Sends the exchanges of a queue to the target until stopped and the queue is empty.
+     *
+     * @param queue the queue.
+     */
+    private void work(final BlockingQueue<Task> queue) {
+        try {
+            while (running || !queue.isEmpty()) {
+                final var task = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (task == null) {
+                    continue;
+                }
+
+                send(target, task);
+                if (task.getExchange().isFailed() && LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Failed to process dispatched exchange. [dispatcher=({}), "
+                            + "exchangeId=({}), exception=({})]", beanName,
+                            task.getExchange().getExchangeId(),
+                            task.getExchange().getException() == null ? null
+                                    : task.getExchange().getException().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completes an exchange that was still queued on shutdown, by sending it to the discard
+     * target or failing it.
+     *
+     * @param task the queued exchange.
+     */
+    private void discard(final Task task) {
+        if (discardTarget != null) {
+            send(discardTarget, task);
+            return;
+        }
+
+        task.getExchange().setException(new RejectedExecutionException("Dispatcher "
+                + beanName + " was closed before the exchange was processed."));
+        task.getCallback().done(false);
+    }
+
+    /**
+     * Sends a copy of a queued exchange to an endpoint and completes the exchange with the
+     * result.
+     *
+     * @param uri the endpoint URI.
+     * @param task the queued exchange.
+     */
+    private void send(final String uri, final Task task) {
+        final var exchange = task.getExchange();
+        try {
+            final var copy = exchange.copy();
+            producerTemplate.send(uri, copy);
+            ExchangeHelper.copyResults(exchange, copy);
+        } catch (RuntimeException e) {
+            exchange.setException(e);
+        } finally {
+            task.getCallback().done(false);
+        }
+    }
+
+    /**
+     * An exchange waiting in a lane's queue together with the callback completing it.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class Task {
+
+        /**
+         * The exchange.
+         */
+        private final Exchange exchange;
+
+        /**
+         * The callback completing the exchange.
+         */
+        private final AsyncCallback callback;
+    }
+
+}
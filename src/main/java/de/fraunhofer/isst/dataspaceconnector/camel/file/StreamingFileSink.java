@@ -0,0 +1,211 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.util.ContentHash;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processor writing the message body to a file in constant memory. The body is read as a stream
+ * and transferred through a file channel into a temporary file in the target directory, which
+ * then atomically replaces the target file, so that readers never see a partially written file.
+ * Together with an HTTP endpoint using {@code disableStreamCache=true}, a download is piped
+ * straight from the connection to the disk.
+ *
+ * <p>Optionally, the content hash of every written file is remembered and the target file is
+ * left untouched if a new body has the same hash.</p>
+ */
+@NoArgsConstructor
+public class StreamingFileSink implements Processor {
+
+    /**
+     * Header set to true if the target file was left untouched, as its content did not change.
+     */
+    public static final String UNCHANGED_HEADER = "DscFileUnchanged";
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingFileSink.class);
+
+    /**
+     * The maximum number of bytes transferred to the file channel per call.
+     */
+    private static final long TRANSFER_SIZE = 1_048_576;
+
+    /**
+     * The content hashes of the written files by path.
+     */
+    private final Map<Path, String> hashes = new ConcurrentHashMap<>();
+
+    /**
+     * The directory to write to. It is created if it does not exist.
+     */
+    @Getter
+    @Setter
+    private String directory;
+
+    /**
+     * The name of the file to write. If not set, the CamelFileName header is used.
+     */
+    @Getter
+    @Setter
+    private String fileName;
+
+    /**
+     * Whether to leave the target file untouched if the body has the same content hash as the
+     * file.
+     */
+    @Getter
+    @Setter
+    private boolean skipUnchanged;
+
+    /**
+     * Whether to force the written data to the storage device before the file is renamed.
+     */
+    @Getter
+    @Setter
+    private boolean sync = true;
+
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+        final var target = resolveTarget(exchange);
+        Files.createDirectories(target.getParent());
+
+        final var temp = Files.createTempFile(target.getParent(),
+                "." + target.getFileName(), ".tmp");
+        try {
+            final var hash = write(exchange.getMessage().getMandatoryBody(InputStream.class),
+                    temp);
+
+            final var unchanged = skipUnchanged && hash.equals(currentHash(target));
+            if (unchanged) {
+                Files.delete(temp);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Content of {} did not change, skipped write.", target);
+                }
+            } else {
+                move(temp, target);
+                if (skipUnchanged) {
+                    hashes.put(target, hash);
+                }
+            }
+
+            exchange.getMessage().setHeader(UNCHANGED_HEADER, unchanged);
+            exchange.getMessage().setHeader(Exchange.FILE_NAME_PRODUCED, target.toString());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Returns the target file of an exchange.
+     *
+     * @param exchange the exchange.
+     * @return the target file.
+     * @throws IllegalArgumentException if no file name is configured or set as header.
+     */
+    private Path resolveTarget(final Exchange exchange) {
+        final var name = fileName != null
+                ? fileName : exchange.getMessage().getHeader(Exchange.FILE_NAME, String.class);
+        if (directory == null || name == null) {
+            throw new IllegalArgumentException("Directory and file name must be set.");
+        }
+
+        final var base = Path.of(directory).toAbsolutePath().normalize();
+        final var target = base.resolve(name).normalize();
+        if (!target.startsWith(base) || target.equals(base)) {
+            throw new IllegalArgumentException("File name " + name + " is not inside "
+                    + directory + ".");
+        }
+        return target;
+    }
+
+    /**
+     * Transfers a stream to a file and closes the stream.
+     *
+     * @param body the stream.
+     * @param file the file.
+     * @return the content hash, if unchanged files are skipped, or an empty string.
+     * @throws IOException if the stream cannot be read or the file cannot be written.
+     */
+    private String write(final InputStream body, final Path file) throws IOException {
+        final var digest = skipUnchanged ? ContentHash.newDigest() : null;
+        try (var source = Channels.newChannel(
+                digest != null ? new DigestInputStream(body, digest) : body);
+             var channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            var position = 0L;
+            for (var transferred = channel.transferFrom(source, position, TRANSFER_SIZE);
+                 transferred > 0;
+                 transferred = channel.transferFrom(source, position, TRANSFER_SIZE)) {
+                position += transferred;
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        }
+        return digest != null ? ContentHash.toHex(digest.digest()) : "";
+    }
+
+    /**
+     * Returns the content hash of the target file. If the file was not written by this sink
+     * before, e.g. after a restart, the hash is computed from the file.
+     *
+     * @param target the target file.
+     * @return the content hash, or null if the file does not exist.
+     * @throws IOException if the file cannot be read.
+     */
+    private String currentHash(final Path target) throws IOException {
+        if (!Files.exists(target)) {
+            hashes.remove(target);
+            return null;
+        }
+
+        final var hash = hashes.get(target);
+        if (hash != null) {
+            return hash;
+        }
+
+        try (var inputStream = Files.newInputStream(target)) {
+            final var computed = ContentHash.of(inputStream);
+            hashes.put(target, computed);
+            return computed;
+        }
+    }
+
+    /**
+     * Replaces the target file with the written temporary file, atomically if supported by the
+     * file system.
+     *
+     * @param temp the temporary file.
+     * @param target the target file.
+     * @throws IOException if the file cannot be moved.
+     */
+    private static void move(final Path temp, final Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
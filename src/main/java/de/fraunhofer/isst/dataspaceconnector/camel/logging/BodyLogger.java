@@ -0,0 +1,209 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.Processor;
+import org.apache.camel.StreamCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processor logging a bounded preview of message bodies. Unlike a log tag with {@code ${body}},
+ * it never converts a whole body to a string: the preview is only built if the level is enabled
+ * and the exchange is sampled, and it contains at most the configured number of bytes. Cached
+ * streams are read up to that limit and reset afterwards, other streams are not read at all, so
+ * that logging never consumes a body.
+ */
+@NoArgsConstructor
+public class BodyLogger implements Processor {
+
+    /**
+     * Marker appended to truncated previews.
+     */
+    private static final String TRUNCATED = "...";
+
+    /**
+     * Counts the exchanges for sampling.
+     */
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * The logger to write to.
+     */
+    @Getter
+    private Logger logger = LoggerFactory.getLogger("camel-route-logger");
+
+    /**
+     * The level to log at.
+     */
+    @Getter
+    @Setter
+    private LoggingLevel level = LoggingLevel.INFO;
+
+    /**
+     * Text written before the preview.
+     */
+    @Getter
+    @Setter
+    private String message = "Fetched data: ";
+
+    /**
+     * Only every n-th exchange is logged. 1 logs every exchange.
+     */
+    @Getter
+    @Setter
+    private int sampleRate = 1;
+
+    /**
+     * The maximum number of bytes of a body to log, or characters for bodies that already are
+     * text.
+     */
+    @Getter
+    @Setter
+    private int maxBytes = 1024;
+
+    /**
+     * Sets the name of the logger to write to.
+     *
+     * @param loggerName the logger name.
+     */
+    public void setLoggerName(final String loggerName) {
+        this.logger = LoggerFactory.getLogger(loggerName);
+    }
+
+    @Override
+    public void process(final Exchange exchange) {
+        if (!isEnabled() || !isSampled()) {
+            return;
+        }
+
+        log(message + preview(exchange.getMessage().getBody()));
+    }
+
+    /**
+     * Returns a preview of a body of at most the maximum number of bytes.
+     *
+     * @param body the body.
+     * @return the preview.
+     */
+    String preview(final Object body) {
+        if (body == null) {
+            return "null";
+        } else if (body instanceof byte[]) {
+            final var bytes = (byte[]) body;
+            return decode(bytes, Math.min(bytes.length, maxBytes), bytes.length > maxBytes);
+        } else if (body instanceof CharSequence) {
+            final var chars = (CharSequence) body;
+            return chars.length() > maxBytes
+                    ? chars.subSequence(0, maxBytes) + TRUNCATED : chars.toString();
+        } else if (body instanceof StreamCache && body instanceof InputStream) {
+            return preview((StreamCache) body);
+        } else if (body instanceof InputStream) {
+            return "[" + body.getClass().getSimpleName() + " not logged, stream caching is "
+                    + "disabled]";
+        }
+
+        final var text = body.toString();
+        return text.length() > maxBytes ? text.substring(0, maxBytes) + TRUNCATED : text;
+    }
+
+    /**
+     * Reads the start of a cached stream and resets it, so that it can be read again.
+     *
+     * @param cache the cached stream.
+     * @return the preview.
+     */
+    private String preview(final StreamCache cache) {
+        final var inputStream = (InputStream) cache;
+        final var buffer = new byte[maxBytes + 1];
+        try {
+            cache.reset();
+            final var length = inputStream.readNBytes(buffer, 0, buffer.length);
+            return decode(buffer, Math.min(length, maxBytes), length > maxBytes);
+        } catch (IOException e) {
+            return "[stream not readable: " + e.getMessage() + "]";
+        } finally {
+            cache.reset();
+        }
+    }
+
+    /**
+     * Decodes the start of a byte array as UTF-8.
+     *
+     * @param bytes the bytes.
+     * @param length the number of bytes to decode.
+     * @param truncated whether the bytes are only the start of the body.
+     * @return the text.
+     */
+    private static String decode(final byte[] bytes, final int length, final boolean truncated) {
+        final var text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        return truncated ? text + TRUNCATED : text;
+    }
+
+    /**
+     * Checks whether the current exchange is logged, i.e. whether it is the n-th one.
+     *
+     * @return true, if the exchange is logged.
+     */
+    private boolean isSampled() {
+        return sampleRate <= 1 || counter.getAndIncrement() % sampleRate == 0;
+    }
+
+    /**
+     * Checks whether the logger is enabled for the level.
+     *
+     * @return true, if messages are logged.
+     */
+    private boolean isEnabled() {
+        switch (level) {
+            case ERROR:
+                return logger.isErrorEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case TRACE:
+                return logger.isTraceEnabled();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Writes a message at the level.
+     *
+     * @param text the message.
+     */
+    private void log(final String text) {
+        switch (level) {
+            case ERROR:
+                logger.error(text);
+                break;
+            case WARN:
+                logger.warn(text);
+                break;
+            case INFO:
+                logger.info(text);
+                break;
+            case DEBUG:
+                logger.debug(text);
+                break;
+            case TRACE:
+                logger.trace(text);
+                break;
+            default:
+                break;
+        }
+    }
+
+}
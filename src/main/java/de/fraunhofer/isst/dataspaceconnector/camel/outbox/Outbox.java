@@ -0,0 +1,516 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.outbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.resilience.ResilienceInterceptStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.apache.camel.support.DefaultExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable outbox for messages sent to the connector. Routes hand their messages to
+ * {@link #send(Exchange)} instead of calling the connector directly: the message is sent right
+ * away if the outbox is empty, and appended to a {@link SegmentLog} on local disk if the call
+ * fails with an error worth retrying or earlier messages are still waiting. Stored messages are
+ * replayed in order in batches, with an exponential backoff while the connector is unavailable,
+ * and survive restarts of the application. Routes thereby keep consuming from their sources
+ * while the connector is down, limited only by the maximum size of the outbox. Appends wait for
+ * direct sends in progress, and no message is sent directly once an earlier one is stored.
+ *
+ * <p>Routes handling failed calls themselves can store a message with {@link #store(Exchange)},
+ * e.g. in a {@code doCatch} block. Messages rejected permanently, i.e. with a client error other
+ * than 408 (Request Timeout) or 429 (Too Many Requests), are not stored or are dropped during
+ * replay with an error log, as retrying them would block the outbox forever.</p>
+ *
+ * <p>The Authorization, Proxy-Authorization and Cookie headers are not stored. Replayed messages
+ * get the Authorization header configured with {@link #setAuthorization(String)} instead.</p>
+ *
+ * <p>Messages are sent with a producer template, which the route resilience settings do not
+ * intercept, so sends and replays pass the guard of their target host themselves. A call
+ * rejected by an open circuit is stored or retried like any other failed call.</p>
+ */
+public class Outbox implements Closeable {
+
+    /**
+     * Header containing the URI of the endpoint to send the message to.
+     */
+    public static final String URI_HEADER = "DscOutboxUri";
+
+    /**
+     * Header set to the offset of the message in the outbox, if it has been stored.
+     */
+    public static final String OFFSET_HEADER = "DscOutboxOffset";
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(Outbox.class);
+
+    /**
+     * Status code for a request timeout.
+     */
+    private static final int REQUEST_TIMEOUT = 408;
+
+    /**
+     * Status code for too many requests.
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Lowest status code of a server error.
+     */
+    private static final int SERVER_ERROR = 500;
+
+    /**
+     * The directory of the outbox.
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * The size of a segment file in bytes, which limits the size of a message.
+     */
+    @Getter
+    @Setter
+    private int segmentBytes = 16 * 1024 * 1024;
+
+    /**
+     * The maximum size of the outbox in bytes. Storing a message fails once it is reached.
+     */
+    @Getter
+    @Setter
+    private long maxBytes = 1024L * 1024 * 1024;
+
+    /**
+     * Whether to flush every stored message to disk, so that it survives a crash of the
+     * operating system as well.
+     */
+    @Getter
+    @Setter
+    private boolean sync;
+
+    /**
+     * The maximum number of messages replayed before committing the progress.
+     */
+    @Getter
+    @Setter
+    private int batchSize = 100;
+
+    /**
+     * The interval in milliseconds in which the outbox is checked for messages to replay.
+     */
+    @Getter
+    @Setter
+    private long pollIntervalMillis = 1000;
+
+    /**
+     * The delay in milliseconds before the first retry after a failed replay.
+     */
+    @Getter
+    @Setter
+    private long initialBackoffMillis = 1000;
+
+    /**
+     * The maximum delay in milliseconds between retries.
+     */
+    @Getter
+    @Setter
+    private long maxBackoffMillis = 5 * 60 * 1000L;
+
+    /**
+     * The value of the Authorization header of replayed messages. Credentials are not stored
+     * with the messages, so replayed messages are sent without this header if it is not set.
+     */
+    @Getter
+    @Setter
+    private String authorization;
+
+    /**
+     * The log, which is opened when the first message is stored or on start if the directory
+     * exists.
+     */
+    private volatile SegmentLog log;
+
+    /**
+     * Orders direct sends and appends. Direct sends hold the read lock from checking the backlog
+     * until the call completes, and appends hold the write lock, so that no message is sent
+     * directly while an earlier message is being stored or waiting to be replayed.
+     */
+    private final ReadWriteLock sendLock = new ReentrantReadWriteLock();
+
+    /**
+     * The producer template used for sending messages.
+     */
+    private volatile ProducerTemplate producerTemplate;
+
+    /**
+     * The executor replaying stored messages.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * The current delay between retries, or 0 if the last replay succeeded.
+     */
+    private long backoffMillis;
+
+    /**
+     * The earliest time to retry replaying messages.
+     */
+    private long nextAttemptMillis;
+
+    /**
+     * Constructor for the Outbox.
+     *
+     * @param directory the directory of the outbox.
+     */
+    public Outbox(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the messages left from a previous run, if any, and starts replaying messages.
+     *
+     * @param camelContext the Camel context.
+     * @throws IOException if the outbox cannot be opened.
+     */
+    public synchronized void start(final CamelContext camelContext) throws IOException {
+        producerTemplate(camelContext);
+        if (Files.isDirectory(directory)) {
+            final var opened = openLog();
+            if (opened.getBacklogBytes() > 0 && LOGGER.isInfoEnabled()) {
+                LOGGER.info("Replaying {} bytes of messages left in the outbox {}.",
+                        opened.getBacklogBytes(), directory);
+            }
+        }
+
+        executor = camelContext.getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, "DscOutbox");
+        executor.scheduleWithFixedDelay(this::replay, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends a message to the URI in the {@value #URI_HEADER} header, or stores it if earlier
+     * messages are waiting or the call fails with an error worth retrying. Permanent errors are
+     * left on the exchange, so that the error handling of the route applies.
+     *
+     * @param exchange the exchange.
+     * @throws IOException if the message cannot be stored.
+     */
+    public void send(final Exchange exchange) throws IOException {
+        final var uri = targetUri(exchange);
+        if (!trySend(exchange, uri)) {
+            store(exchange, uri);
+        }
+    }
+
+    /**
+     * Stores a message to be sent to the URI in the {@value #URI_HEADER} header or, if not set,
+     * to the endpoint the exchange was last sent to.
+     *
+     * @param exchange the exchange.
+     * @throws IOException if the message cannot be stored.
+     */
+    public void store(final Exchange exchange) throws IOException {
+        store(exchange, targetUri(exchange));
+    }
+
+    /**
+     * Checks whether messages are waiting to be replayed.
+     *
+     * @return true, if the outbox is not empty.
+     */
+    public boolean hasBacklog() {
+        return getBacklogBytes() > 0;
+    }
+
+    /**
+     * Returns the size of the messages waiting to be replayed.
+     *
+     * @return the number of bytes.
+     */
+    public long getBacklogBytes() {
+        final var current = log;
+        return current != null ? current.getBacklogBytes() : 0;
+    }
+
+    /**
+     * Stops replaying messages and closes the outbox.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    /**
+     * Replays stored messages in batches until the outbox is empty or a message fails, in which
+     * case the next attempt is delayed with an exponential backoff.
+     */
+    void replay() {
+        final var current = log;
+        if (current == null || System.currentTimeMillis() < nextAttemptMillis) {
+            return;
+        }
+
+        try {
+            var entries = current.read(current.getCommittedOffset(), batchSize);
+            while (!entries.isEmpty()) {
+                if (!replayBatch(current, entries)) {
+                    backOff();
+                    return;
+                }
+                entries = current.read(current.getCommittedOffset(), batchSize);
+            }
+            backoffMillis = 0;
+        } catch (Exception e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Failed to replay messages from the outbox {}. [exception=({})]",
+                        directory, e.getMessage());
+            }
+            backOff();
+        }
+    }
+
+    /**
+     * Sends a batch of stored messages and commits the progress.
+     *
+     * @param current the log.
+     * @param entries the stored messages.
+     * @return true, if all messages were sent or dropped.
+     * @throws IOException if the progress cannot be committed.
+     */
+    private boolean replayBatch(final SegmentLog current, final Iterable<SegmentLog.Entry> entries)
+            throws IOException {
+        var committed = current.getCommittedOffset();
+        try {
+            for (final var entry : entries) {
+                final OutboxMessage message;
+                try {
+                    message = OutboxMessage.fromBytes(entry.getData());
+                } catch (IOException e) {
+                    if (LOGGER.isErrorEnabled()) {
+                        LOGGER.error("Dropping unreadable message at offset {} of the outbox. "
+                                + "[exception=({})]", entry.getOffset(), e.getMessage());
+                    }
+                    committed = entry.getNextOffset();
+                    continue;
+                }
+
+                final var exchange = new DefaultExchange(producerTemplate.getCamelContext());
+                exchange.getMessage().setHeaders(new HashMap<>(message.getHeaders()));
+                if (authorization != null && !authorization.isBlank()) {
+                    exchange.getMessage().setHeader("Authorization", authorization);
+                }
+                exchange.getMessage().setBody(message.getBody());
+                final var result = ResilienceInterceptStrategy.send(producerTemplate,
+                        message.getUri(), exchange);
+                if (isRetryable(result)) {
+                    if (LOGGER.isWarnEnabled()) {
+                        LOGGER.warn("Replaying message to {} failed, retrying in {} ms. "
+                                + "[exception=({})]", message.getUri(), nextBackoffMillis(),
+                                describe(result));
+                    }
+                    return false;
+                }
+                if (result.getException() != null && LOGGER.isErrorEnabled()) {
+                    LOGGER.error("Dropping message to {} rejected permanently. "
+                            + "[exception=({})]", message.getUri(), describe(result));
+                }
+                committed = entry.getNextOffset();
+            }
+            return true;
+        } finally {
+            current.commit(committed);
+        }
+    }
+
+    /**
+     * Sends a message directly, unless earlier messages are waiting. The read lock is held until
+     * the call completes, so that a concurrent append waits for it. The body and headers are
+     * captured before the call and put back if it fails, as the message then may contain the
+     * response, e.g. of a server error with throwExceptionOnFailure=false.
+     *
+     * @param exchange the exchange.
+     * @param uri the URI of the endpoint to send the message to.
+     * @return true, if the message was sent or failed permanently, false if it has to be stored.
+     */
+    private boolean trySend(final Exchange exchange, final String uri) {
+        sendLock.readLock().lock();
+        try {
+            if (hasBacklog()) {
+                return false;
+            }
+
+            final var message = exchange.getMessage();
+            message.removeHeader(URI_HEADER);
+            final var headers = new HashMap<>(message.getHeaders());
+            final var body = message.getBody(byte[].class);
+            message.setBody(body);
+            ResilienceInterceptStrategy.send(producerTemplate(exchange.getContext()), uri,
+                    exchange);
+            if (!isRetryable(exchange)) {
+                return true;
+            }
+
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Sending to {} failed, storing message in the outbox. "
+                        + "[exception=({})]", uri, describe(exchange));
+            }
+            exchange.setException(null);
+            exchange.getMessage().setHeaders(headers);
+            exchange.getMessage().setBody(body);
+            return false;
+        } finally {
+            sendLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a message to the outbox and sets its offset as a header. Holds the write lock, so
+     * that no message is sent directly while it is being appended.
+     *
+     * @param exchange the exchange.
+     * @param uri the URI of the endpoint to send the message to.
+     * @throws IOException if the message cannot be stored.
+     */
+    private void store(final Exchange exchange, final String uri) throws IOException {
+        final var message = exchange.getMessage();
+        message.removeHeader(URI_HEADER);
+        message.removeHeader(OFFSET_HEADER);
+        final var body = message.getBody(byte[].class);
+        final var data = new OutboxMessage(uri, message.getHeaders(),
+                body != null ? body : new byte[0]).toBytes();
+        final long offset;
+        sendLock.writeLock().lock();
+        try {
+            offset = openLog().append(data);
+        } finally {
+            sendLock.writeLock().unlock();
+        }
+        message.setHeader(OFFSET_HEADER, offset);
+    }
+
+    /**
+     * Returns the URI of the endpoint to send a message to.
+     *
+     * @param exchange the exchange.
+     * @return the URI.
+     */
+    private static String targetUri(final Exchange exchange) {
+        var uri = exchange.getMessage().getHeader(URI_HEADER, String.class);
+        if (uri == null) {
+            uri = exchange.getProperty(Exchange.TO_ENDPOINT, String.class);
+        }
+        if (uri == null) {
+            throw new IllegalArgumentException("Header " + URI_HEADER + " must contain the "
+                    + "URI to send the message to.");
+        }
+        return uri;
+    }
+
+    /**
+     * Checks whether a call failed with an error worth retrying, i.e. any error other than a
+     * client error, except for 408 (Request Timeout) and 429 (Too Many Requests).
+     *
+     * @param exchange the exchange.
+     * @return true, if the call should be retried.
+     */
+    static boolean isRetryable(final Exchange exchange) {
+        final var exception = exchange.getException();
+        final Integer status;
+        if (exception instanceof HttpOperationFailedException) {
+            status = ((HttpOperationFailedException) exception).getStatusCode();
+        } else if (exception != null) {
+            return true;
+        } else {
+            status = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE,
+                    Integer.class);
+        }
+        return status != null && (status >= SERVER_ERROR || status == REQUEST_TIMEOUT
+                || status == TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Describes the failure of a call for logging.
+     *
+     * @param exchange the exchange.
+     * @return the message of the exception or the status code.
+     */
+    private static String describe(final Exchange exchange) {
+        final var exception = exchange.getException();
+        return exception != null ? exception.getMessage() : "status "
+                + exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE);
+    }
+
+    /**
+     * Delays the next replay attempt with an exponential backoff and up to 20 % jitter.
+     */
+    private void backOff() {
+        backoffMillis = nextBackoffMillis();
+        final var jitter = ThreadLocalRandom.current().nextLong(backoffMillis / 5 + 1);
+        nextAttemptMillis = System.currentTimeMillis() + backoffMillis + jitter;
+    }
+
+    /**
+     * Returns the delay before the next retry.
+     *
+     * @return the delay in milliseconds.
+     */
+    private long nextBackoffMillis() {
+        return backoffMillis == 0 ? initialBackoffMillis
+                : Math.min(backoffMillis * 2, maxBackoffMillis);
+    }
+
+    /**
+     * Returns the log, opening it if necessary.
+     *
+     * @return the log.
+     * @throws IOException if the log cannot be opened.
+     */
+    private synchronized SegmentLog openLog() throws IOException {
+        if (log == null) {
+            log = new SegmentLog(directory, segmentBytes, maxBytes, sync);
+        }
+        return log;
+    }
+
+    /**
+     * Returns the producer template, creating it if necessary.
+     *
+     * @param camelContext the Camel context.
+     * @return the producer template.
+     */
+    private ProducerTemplate producerTemplate(final CamelContext camelContext) {
+        if (producerTemplate == null) {
+            synchronized (this) {
+                if (producerTemplate == null) {
+                    producerTemplate = camelContext.createProducerTemplate();
+                }
+            }
+        }
+        return producerTemplate;
+    }
+
+}
@@ -0,0 +1,194 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.outbox;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A message stored in the outbox, consisting of the target URI, the headers with simple values
+ * and the body. Headers with other values, e.g. streams or objects set by components, cannot be
+ * restored after a restart and are not stored. Headers carrying credentials are not stored
+ * either, so that they are not written to disk in plain text.
+ */
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+
+    /**
+     * Version of the serialized format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Names of the headers carrying credentials, in lower case.
+     */
+    private static final Set<String> SENSITIVE_HEADERS = Set.of("authorization",
+            "proxy-authorization", "cookie");
+
+    /**
+     * The URI of the endpoint to send the message to.
+     */
+    private final String uri;
+
+    /**
+     * The headers.
+     */
+    private final Map<String, Object> headers;
+
+    /**
+     * The body.
+     */
+    private final byte[] body;
+
+    /**
+     * Checks whether a header value can be stored.
+     *
+     * @param value the header value.
+     * @return true, if the value is a string, boolean, integer, long or double.
+     */
+    public static boolean isStorable(final Object value) {
+        return value instanceof CharSequence || value instanceof Boolean
+                || value instanceof Integer || value instanceof Long || value instanceof Double;
+    }
+
+    /**
+     * Checks whether a header carries credentials.
+     *
+     * @param name the header name.
+     * @return true, if the header is Authorization, Proxy-Authorization or Cookie.
+     */
+    public static boolean isSensitive(final String name) {
+        return SENSITIVE_HEADERS.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Serializes the message. Headers carrying credentials or values that cannot be stored are
+     * skipped.
+     *
+     * @return the serialized message.
+     * @throws IOException if the message cannot be serialized.
+     */
+    public byte[] toBytes() throws IOException {
+        final var bytes = new ByteArrayOutputStream(body.length + 256);
+        final var out = new DataOutputStream(bytes);
+        out.writeByte(VERSION);
+        writeString(out, uri);
+
+        final var storable = new LinkedHashMap<String, Object>();
+        headers.forEach((name, value) -> {
+            if (isStorable(value) && !isSensitive(name)) {
+                storable.put(name, value);
+            }
+        });
+        out.writeInt(storable.size());
+        for (final var header : storable.entrySet()) {
+            writeString(out, header.getKey());
+            final var value = header.getValue();
+            if (value instanceof Boolean) {
+                out.writeByte('Z');
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Integer) {
+                out.writeByte('I');
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte('J');
+                out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                out.writeByte('D');
+                out.writeDouble((Double) value);
+            } else {
+                out.writeByte('S');
+                writeString(out, value.toString());
+            }
+        }
+
+        out.writeInt(body.length);
+        out.write(body);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes a message.
+     *
+     * @param data the serialized message.
+     * @return the message.
+     * @throws IOException if the data is no serialized message.
+     */
+    public static OutboxMessage fromBytes(final byte[] data) throws IOException {
+        final var in = new DataInputStream(new ByteArrayInputStream(data));
+        final var version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported outbox message version " + version + ".");
+        }
+
+        final var uri = readString(in);
+        final var count = in.readInt();
+        final var headers = new LinkedHashMap<String, Object>();
+        for (var i = 0; i < count; i++) {
+            final var name = readString(in);
+            final var type = in.readByte();
+            switch (type) {
+                case 'Z':
+                    headers.put(name, in.readBoolean());
+                    break;
+                case 'I':
+                    headers.put(name, in.readInt());
+                    break;
+                case 'J':
+                    headers.put(name, in.readLong());
+                    break;
+                case 'D':
+                    headers.put(name, in.readDouble());
+                    break;
+                case 'S':
+                    headers.put(name, readString(in));
+                    break;
+                default:
+                    throw new IOException("Unknown header type " + type + ".");
+            }
+        }
+
+        final var body = new byte[in.readInt()];
+        in.readFully(body);
+        return new OutboxMessage(uri, headers, body);
+    }
+
+    /**
+     * Writes a string of any length as UTF-8.
+     *
+     * @param out the output.
+     * @param value the string.
+     * @throws IOException if the string cannot be written.
+     */
+    private static void writeString(final DataOutputStream out, final String value)
+            throws IOException {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in the input.
+     * @return the string.
+     * @throws IOException if the string cannot be read.
+     */
+    private static String readString(final DataInputStream in) throws IOException {
+        final var bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
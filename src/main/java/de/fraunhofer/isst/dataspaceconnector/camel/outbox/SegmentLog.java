@@ -0,0 +1,464 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.outbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of records on local disk, split into segment files of fixed size that are
+ * memory-mapped. Every record is written as its length, a CRC32 checksum and the data, so that a
+ * record torn by a crash is detected and dropped when the log is opened again. Records are
+ * addressed by their logical offset, which grows across segments. The offset up to which records
+ * have been consumed is kept in a separate file, and segments are deleted once all of their
+ * records have been consumed.
+ *
+ * <p>Unless {@code sync} is set, records are written to the page cache only. They then survive a
+ * crash of the application, but not of the operating system.</p>
+ */
+public class SegmentLog implements Closeable {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentLog.class);
+
+    /**
+     * File extension of the segment files, which are named after the offset of their first
+     * record.
+     */
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    /**
+     * Name of the file containing the committed offset.
+     */
+    private static final String OFFSET_FILE = "offset";
+
+    /**
+     * Number of bytes preceding the data of a record, i.e. its length and checksum.
+     */
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * The directory containing the segment files.
+     */
+    private final Path directory;
+
+    /**
+     * The size of a segment file in bytes.
+     */
+    private final int segmentBytes;
+
+    /**
+     * The maximum size of all segment files in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * Whether to flush every record to disk before returning from {@link #append(byte[])}.
+     */
+    private final boolean sync;
+
+    /**
+     * The open segments by the offset of their first record.
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * The offset up to which records have been consumed.
+     */
+    private long committedOffset;
+
+    /**
+     * The offset of the next record to be appended.
+     */
+    private long endOffset;
+
+    /**
+     * Constructor for the SegmentLog. Opens the segments in the directory, dropping a torn
+     * record at the end of the last segment, or creates the first segment.
+     *
+     * @param directory the directory containing the segment files. It is created if it does
+     *                  not exist.
+     * @param segmentBytes the size of a segment file in bytes, which limits the size of a
+     *                     record.
+     * @param maxBytes the maximum size of all segment files in bytes.
+     * @param sync whether to flush every record to disk when appending it.
+     * @throws IOException if the segments cannot be opened.
+     */
+    public SegmentLog(final Path directory, final int segmentBytes, final long maxBytes,
+                      final boolean sync) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must exceed " + HEADER_BYTES
+                    + " bytes.");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.sync = sync;
+
+        Files.createDirectories(directory);
+        final List<Long> bases;
+        try (var list = Files.list(directory)) {
+            bases = list.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_EXTENSION))
+                    .map(name -> Long.parseLong(name.substring(0,
+                            name.length() - SEGMENT_EXTENSION.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        final var committed = readCommittedOffset();
+        if (bases.isEmpty()) {
+            segments.put(committed, openSegment(committed, true));
+            endOffset = committed;
+        } else {
+            for (var i = 0; i < bases.size(); i++) {
+                final var segment = openSegment(bases.get(i), false);
+                if (i + 1 < bases.size()) {
+                    segment.end = (int) (bases.get(i + 1) - bases.get(i));
+                } else {
+                    recover(segment);
+                }
+                segments.put(bases.get(i), segment);
+            }
+            final var last = segments.lastEntry().getValue();
+            endOffset = last.base + last.end;
+        }
+        committedOffset = Math.min(Math.max(committed, segments.firstKey()), endOffset);
+    }
+
+    /**
+     * Appends a record, starting a new segment if the current one is full.
+     *
+     * @param data the data of the record.
+     * @return the offset of the record.
+     * @throws IOException if the record does not fit into a segment, the maximum size of the
+     *                     log is reached or a new segment cannot be created.
+     */
+    public synchronized long append(final byte[] data) throws IOException {
+        if (data.length == 0) {
+            throw new IllegalArgumentException("Records must not be empty.");
+        }
+        final long size = HEADER_BYTES + (long) data.length;
+        if (size > segmentBytes) {
+            throw new IOException("Record of " + data.length + " bytes exceeds the segment "
+                    + "size of " + segmentBytes + " bytes.");
+        }
+
+        var segment = segments.lastEntry().getValue();
+        if (segment.end + size > segment.buffer.capacity()) {
+            if ((segments.size() + 1L) * segmentBytes > maxBytes) {
+                throw new IOException("Log in " + directory + " is full (" + maxBytes
+                        + " bytes).");
+            }
+            segment = openSegment(endOffset, true);
+            segments.put(endOffset, segment);
+        }
+
+        final var crc = new CRC32();
+        crc.update(data);
+        final var buffer = segment.buffer.duplicate();
+        buffer.position(segment.end + HEADER_BYTES);
+        buffer.put(data);
+        buffer.putInt(segment.end + 4, (int) crc.getValue());
+        buffer.putInt(segment.end, data.length);
+        if (sync) {
+            segment.buffer.force();
+        }
+
+        final var offset = endOffset;
+        segment.end += (int) size;
+        endOffset += size;
+        return offset;
+    }
+
+    /**
+     * Reads records starting at an offset.
+     *
+     * @param from the offset of the first record.
+     * @param maxRecords the maximum number of records to read.
+     * @return the records, which is empty if there are no records at the offset.
+     */
+    public synchronized List<Entry> read(final long from, final int maxRecords) {
+        final var entries = new ArrayList<Entry>();
+        var offset = from;
+        while (entries.size() < maxRecords && offset < endOffset) {
+            final Map.Entry<Long, Segment> floor = segments.floorEntry(offset);
+            if (floor == null) {
+                break;
+            }
+            final var segment = floor.getValue();
+            final var position = (int) (offset - segment.base);
+            if (position >= segment.end) {
+                break;
+            }
+
+            final var length = segment.buffer.getInt(position);
+            final var data = new byte[length];
+            segment.buffer.duplicate().position(position + HEADER_BYTES).get(data);
+            final var next = offset + HEADER_BYTES + length;
+            entries.add(new Entry(offset, next, data));
+            offset = next;
+        }
+        return entries;
+    }
+
+    /**
+     * Marks all records before an offset as consumed and deletes the segments only containing
+     * such records.
+     *
+     * @param offset the offset following the last consumed record.
+     * @throws IOException if the offset cannot be written.
+     */
+    public synchronized void commit(final long offset) throws IOException {
+        if (offset <= committedOffset) {
+            return;
+        }
+        if (offset > endOffset) {
+            throw new IllegalArgumentException("Offset " + offset + " is beyond the end of the "
+                    + "log (" + endOffset + ").");
+        }
+
+        writeCommittedOffset(offset);
+        committedOffset = offset;
+        while (segments.size() > 1 && segments.higherKey(segments.firstKey()) <= offset) {
+            final var segment = segments.pollFirstEntry().getValue();
+            try {
+                Files.deleteIfExists(segmentFile(segment.base));
+            } catch (IOException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Failed to delete consumed segment {}. [exception=({})]",
+                            segmentFile(segment.base), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the offset up to which records have been consumed.
+     *
+     * @return the committed offset.
+     */
+    public synchronized long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    /**
+     * Returns the offset of the next record to be appended.
+     *
+     * @return the end offset.
+     */
+    public synchronized long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Returns the number of bytes of records which have not been consumed yet.
+     *
+     * @return the number of bytes.
+     */
+    public synchronized long getBacklogBytes() {
+        return endOffset - committedOffset;
+    }
+
+    /**
+     * Flushes all segments to disk.
+     */
+    public synchronized void force() {
+        for (final var segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Flushes all segments to disk and releases them.
+     */
+    @Override
+    public synchronized void close() {
+        force();
+        segments.clear();
+    }
+
+    /**
+     * Finds the end of the last record of a segment with a valid checksum. The rest of the
+     * segment is cleared, so that a torn record is not mistaken for a valid one later.
+     *
+     * @param segment the segment.
+     */
+    private void recover(final Segment segment) {
+        final var buffer = segment.buffer;
+        var position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            final var length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + (long) length > buffer.capacity()) {
+                break;
+            }
+            final var data = new byte[length];
+            buffer.duplicate().position(position + HEADER_BYTES).get(data);
+            final var crc = new CRC32();
+            crc.update(data);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        segment.end = position;
+
+        if (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Dropping torn record at offset {} of {}.",
+                        segment.base + position, directory);
+            }
+            final var clear = buffer.duplicate().position(position);
+            while (clear.hasRemaining()) {
+                clear.put((byte) 0);
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Maps a segment file into memory.
+     *
+     * @param base the offset of the first record of the segment.
+     * @param create whether to create the file with the segment size.
+     * @return the segment.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    private Segment openSegment(final long base, final boolean create) throws IOException {
+        try (var file = new RandomAccessFile(segmentFile(base).toFile(), "rw")) {
+            if (create) {
+                file.setLength(segmentBytes);
+            }
+            final var buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                    file.length());
+            return new Segment(base, buffer);
+        }
+    }
+
+    /**
+     * Returns the file of a segment.
+     *
+     * @param base the offset of the first record of the segment.
+     * @return the file.
+     */
+    private Path segmentFile(final long base) {
+        return directory.resolve(String.format("%020d", base) + SEGMENT_EXTENSION);
+    }
+
+    /**
+     * Reads the committed offset.
+     *
+     * @return the offset, or 0 if none has been committed.
+     * @throws IOException if the offset file cannot be read.
+     */
+    private long readCommittedOffset() throws IOException {
+        try {
+            return Long.parseLong(Files.readString(directory.resolve(OFFSET_FILE),
+                    StandardCharsets.UTF_8).trim());
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid offset file in " + directory + ".", e);
+        }
+    }
+
+    /**
+     * Replaces the offset file atomically.
+     *
+     * @param offset the committed offset.
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeCommittedOffset(final long offset) throws IOException {
+        final var temp = Files.createTempFile(directory, ".", ".tmp");
+        try {
+            Files.writeString(temp, String.valueOf(offset), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, directory.resolve(OFFSET_FILE),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, directory.resolve(OFFSET_FILE),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * A record read from the log.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        /**
+         * The offset of the record.
+         */
+        private final long offset;
+
+        /**
+         * The offset of the following record, to be committed once this record is consumed.
+         */
+        private final long nextOffset;
+
+        /**
+         * The data of the record.
+         */
+        private final byte[] data;
+
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private static final class Segment {
+
+        /**
+         * The offset of the first record of the segment.
+         */
+        private final long base;
+
+        /**
+         * The mapped file.
+         */
+        private final MappedByteBuffer buffer;
+
+        /**
+         * The number of bytes written to the segment.
+         */
+        private int end;
+
+        /**
+         * Constructor for the Segment.
+         *
+         * @param base the offset of the first record of the segment.
+         * @param buffer the mapped file.
+         */
+        private Segment(final long base, final MappedByteBuffer buffer) {
+            this.base = base;
+            this.buffer = buffer;
+        }
+
+    }
+
+}
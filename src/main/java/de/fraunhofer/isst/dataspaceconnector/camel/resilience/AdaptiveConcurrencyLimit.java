@@ -0,0 +1,152 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+/**
+ * Concurrency limit that adapts to the observed latency, following the gradient algorithm of
+ * Netflix' concurrency-limits library. The limit grows while the latency of calls stays close to
+ * its long-term average and shrinks when calls queue up at the target, i.e. their latency rises
+ * above the average by more than the tolerance. Failed calls reduce the limit multiplicatively.
+ * The limit is bounded by the maximum, which acts as a bulkhead for the target.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /**
+     * Weight of a new limit when smoothing the limit.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * The number of samples the long-term latency average is computed over.
+     */
+    private static final int LONG_WINDOW = 600;
+
+    /**
+     * The factor the limit is multiplied with on a failed call.
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * The smallest gradient, so that the limit at most halves per sample.
+     */
+    private static final double MIN_GRADIENT = 0.5;
+
+    /**
+     * The lower bound of the limit.
+     */
+    private final int minLimit;
+
+    /**
+     * The upper bound of the limit.
+     */
+    private final int maxLimit;
+
+    /**
+     * How much the latency may exceed the long-term average before the limit decreases.
+     */
+    private final double rttTolerance;
+
+    /**
+     * The current limit.
+     */
+    private double limit;
+
+    /**
+     * The exponential moving average of the latency in nanoseconds, or 0 before the first
+     * sample.
+     */
+    private double longRtt;
+
+    /**
+     * The number of calls in flight.
+     */
+    private int inflight;
+
+    /**
+     * Constructor for the AdaptiveConcurrencyLimit.
+     *
+     * @param settings the settings.
+     */
+    public AdaptiveConcurrencyLimit(final ResilienceSettings settings) {
+        this.minLimit = Math.max(1, settings.getMinLimit());
+        this.maxLimit = Math.max(minLimit, settings.getMaxLimit());
+        this.rttTolerance = settings.getRttTolerance();
+        this.limit = clamp(settings.getInitialLimit());
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the limit.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of calls in flight.
+     *
+     * @return the number of calls.
+     */
+    public synchronized int getInflight() {
+        return inflight;
+    }
+
+    /**
+     * Checks whether another call is permitted. A permitted call must be completed with
+     * {@link #onComplete(long, boolean)} or {@link #cancel()}.
+     *
+     * @return true, if the number of calls in flight is below the limit.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inflight >= (int) limit) {
+            return false;
+        }
+        inflight++;
+        return true;
+    }
+
+    /**
+     * Releases a permitted call that has not been sent, without adjusting the limit.
+     */
+    public synchronized void cancel() {
+        inflight--;
+    }
+
+    /**
+     * Completes a permitted call and adjusts the limit.
+     *
+     * @param rttNanos the duration of the call in nanoseconds.
+     * @param success whether the call succeeded.
+     */
+    public synchronized void onComplete(final long rttNanos, final boolean success) {
+        final var wasInflight = inflight;
+        inflight--;
+
+        if (!success) {
+            limit = clamp(limit * BACKOFF_RATIO);
+            return;
+        }
+
+        final var rtt = (double) Math.max(1, rttNanos);
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+
+        // Do not grow the limit if it is not used, as the latency says nothing about it.
+        if (wasInflight < limit / 2) {
+            return;
+        }
+
+        final var gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / rtt));
+        final var newLimit = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    /**
+     * Bounds a limit by the minimum and maximum.
+     *
+     * @param value the limit.
+     * @return the bounded limit.
+     */
+    private double clamp(final double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+}
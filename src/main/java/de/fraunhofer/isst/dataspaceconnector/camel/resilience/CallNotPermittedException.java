@@ -0,0 +1,27 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+
+/**
+ * Thrown if a call to a target host is rejected without being sent, because the circuit of the
+ * host is open or its concurrency limit is reached.
+ */
+public class CallNotPermittedException extends CamelExchangeException {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor for the CallNotPermittedException.
+     *
+     * @param message the message.
+     * @param exchange the exchange.
+     */
+    public CallNotPermittedException(final String message, final Exchange exchange) {
+        super(message, exchange);
+    }
+
+}
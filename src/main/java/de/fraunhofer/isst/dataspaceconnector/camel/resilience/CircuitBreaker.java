@@ -0,0 +1,197 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+/**
+ * Count-based circuit breaker. While closed, the outcomes of the most recent calls are recorded;
+ * once the share of failed or slow calls reaches the threshold, the circuit opens and calls are
+ * rejected without being sent. After the open duration, a single trial call is permitted: if it
+ * succeeds, the circuit closes again, otherwise it stays open for another period.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcomes are recorded.
+         */
+        CLOSED,
+
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+
+        /**
+         * A single trial call is permitted.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * The percentage of failed calls that opens the circuit.
+     */
+    private final int failureRateThreshold;
+
+    /**
+     * The minimum number of recorded calls before the circuit can open.
+     */
+    private final int minimumCalls;
+
+    /**
+     * The duration in nanoseconds above which a call counts as failed.
+     */
+    private final long slowCallNanos;
+
+    /**
+     * The time in nanoseconds the circuit stays open.
+     */
+    private final long openNanos;
+
+    /**
+     * Ring buffer of the outcomes of the most recent calls, true for failed calls.
+     */
+    private final boolean[] outcomes;
+
+    /**
+     * The position in the ring buffer the next outcome is written to.
+     */
+    private int next;
+
+    /**
+     * The number of recorded outcomes.
+     */
+    private int calls;
+
+    /**
+     * The number of failed calls among the recorded outcomes.
+     */
+    private int failures;
+
+    /**
+     * The current state.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * The time the circuit was opened, as returned by {@link System#nanoTime()}.
+     */
+    private long openedAt;
+
+    /**
+     * Whether the trial call of the half-open circuit is running.
+     */
+    private boolean trialRunning;
+
+    /**
+     * Constructor for the CircuitBreaker.
+     *
+     * @param settings the settings.
+     */
+    public CircuitBreaker(final ResilienceSettings settings) {
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.minimumCalls = settings.getMinimumCalls();
+        this.slowCallNanos = settings.getSlowCallMs() * 1_000_000;
+        this.openNanos = settings.getOpenMs() * 1_000_000;
+        this.outcomes = new boolean[Math.max(1, settings.getWindowSize())];
+    }
+
+    /**
+     * Returns the current state. An open circuit whose open duration has passed is reported as
+     * half-open.
+     *
+     * @return the state.
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Checks whether a call is permitted. A permitted call must be completed with
+     * {@link #onComplete(long, boolean)} or {@link #cancel()}.
+     *
+     * @return true, if the call is permitted.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialRunning = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (trialRunning) {
+                return false;
+            }
+            trialRunning = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param durationNanos the duration of the call in nanoseconds.
+     * @param success whether the call succeeded.
+     */
+    public synchronized void onComplete(final long durationNanos, final boolean success) {
+        final var failed = !success || durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            trialRunning = false;
+            if (failed) {
+                open();
+            } else {
+                close();
+            }
+            return;
+        } else if (state == State.OPEN) {
+            // The call was started before the circuit opened.
+            return;
+        }
+
+        if (calls == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        outcomes[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+
+        if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+            open();
+        }
+    }
+
+    /**
+     * Releases a permitted call that has not been sent, e.g. because it was rejected by the
+     * concurrency limit.
+     */
+    public synchronized void cancel() {
+        trialRunning = false;
+    }
+
+    /**
+     * Opens the circuit.
+     */
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    /**
+     * Closes the circuit and forgets the recorded outcomes.
+     */
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+
+}
@@ -0,0 +1,123 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+/**
+ * Guards the calls to a target host with a circuit breaker and an adaptive concurrency limit and
+ * publishes their state as metrics, tagged with the target.
+ */
+public class HostGuard {
+
+    /**
+     * Prefix of the meter names.
+     */
+    public static final String METER_PREFIX = "camel.resilience.";
+
+    /**
+     * The name of the target, i.e. the host and port, optionally prefixed with a route ID.
+     */
+    @Getter
+    private final String target;
+
+    /**
+     * The circuit breaker.
+     */
+    @Getter
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * The concurrency limit.
+     */
+    @Getter
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    /**
+     * Counts the calls rejected because the circuit was open.
+     */
+    private final Counter rejectedOpen;
+
+    /**
+     * Counts the calls rejected because of the concurrency limit.
+     */
+    private final Counter rejectedLimit;
+
+    /**
+     * Constructor for the HostGuard.
+     *
+     * @param target the name of the target.
+     * @param settings the settings.
+     * @param meterRegistry the meter registry.
+     */
+    public HostGuard(final String target, final ResilienceSettings settings,
+                     final MeterRegistry meterRegistry) {
+        this.target = target;
+        this.circuitBreaker = new CircuitBreaker(settings);
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(settings);
+
+        Gauge.builder(METER_PREFIX + "state", circuitBreaker, b -> b.getState().ordinal())
+                .tag("target", target)
+                .description("State of the circuit: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder(METER_PREFIX + "limit", concurrencyLimit,
+                        AdaptiveConcurrencyLimit::getLimit)
+                .tag("target", target)
+                .description("Current concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(METER_PREFIX + "inflight", concurrencyLimit,
+                        AdaptiveConcurrencyLimit::getInflight)
+                .tag("target", target)
+                .description("Number of calls in flight")
+                .register(meterRegistry);
+        rejectedOpen = rejectedCounter(meterRegistry, "circuit_open");
+        rejectedLimit = rejectedCounter(meterRegistry, "limit");
+    }
+
+    /**
+     * Checks whether a call is permitted. A permitted call must be completed with
+     * {@link #onComplete(long, boolean)}.
+     *
+     * @return null, if the call is permitted, or the reason for the rejection.
+     */
+    public String tryAcquire() {
+        if (!concurrencyLimit.tryAcquire()) {
+            rejectedLimit.increment();
+            return "Concurrency limit of " + target + " reached.";
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            concurrencyLimit.cancel();
+            rejectedOpen.increment();
+            return "Circuit of " + target + " is open.";
+        }
+        return null;
+    }
+
+    /**
+     * Completes a permitted call.
+     *
+     * @param durationNanos the duration of the call in nanoseconds.
+     * @param success whether the call succeeded.
+     */
+    public void onComplete(final long durationNanos, final boolean success) {
+        circuitBreaker.onComplete(durationNanos, success);
+        concurrencyLimit.onComplete(durationNanos, success);
+    }
+
+    /**
+     * Registers a counter for rejected calls.
+     *
+     * @param meterRegistry the meter registry.
+     * @param reason the reason for the rejection.
+     * @return the counter.
+     */
+    private Counter rejectedCounter(final MeterRegistry meterRegistry, final String reason) {
+        return Counter.builder(METER_PREFIX + "rejected")
+                .tag("target", target)
+                .tag("reason", reason)
+                .description("Number of calls rejected without being sent")
+                .register(meterRegistry);
+    }
+
+}
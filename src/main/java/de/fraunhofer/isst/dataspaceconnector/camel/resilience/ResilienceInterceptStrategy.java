@@ -0,0 +1,296 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.apache.camel.model.ProcessorDefinitionHelper;
+import org.apache.camel.model.SendDefinition;
+import org.apache.camel.model.ToDynamicDefinition;
+import org.apache.camel.model.WireTapDefinition;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+
+/**
+ * Wraps every call of a route to an HTTP endpoint, i.e. every {@code to} or {@code toD} with an
+ * http or https URI, in a {@link HostGuard} of the target host. Guards are shared by all routes
+ * calling the same host, unless a route has settings of its own, in which case it gets guards
+ * of its own. Calls rejected by a guard fail with a {@link CallNotPermittedException}, so that
+ * the error handling of the route applies.
+ *
+ * <p>A call counts as failed if it throws an exception other than an HTTP error below 500 or
+ * returns a status code of 500 or above. Client errors say nothing about the health of the
+ * target, so they count as successful.</p>
+ *
+ * <p>Calls that beans make with a producer template are not intercepted, as they are not part
+ * of a route definition. Such beans send through {@link #send(ProducerTemplate, String,
+ * Exchange)}, which applies the guard of the target host.</p>
+ */
+public class ResilienceInterceptStrategy implements InterceptStrategy {
+
+    /**
+     * The meter registry.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The settings of all targets.
+     */
+    private final ResilienceSettings defaults;
+
+    /**
+     * The settings of individual hosts by host and port.
+     */
+    private final Map<String, ResilienceSettings> hosts;
+
+    /**
+     * The settings of individual routes by route ID.
+     */
+    private final Map<String, ResilienceSettings> routes;
+
+    /**
+     * The guards by target.
+     */
+    private final Map<String, HostGuard> guards = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ResilienceInterceptStrategy.
+     *
+     * @param meterRegistry the meter registry.
+     * @param defaults the settings of all targets.
+     * @param hosts the settings of individual hosts by host and port.
+     * @param routes the settings of individual routes by route ID.
+     */
+    public ResilienceInterceptStrategy(final MeterRegistry meterRegistry,
+                                       final ResilienceSettings defaults,
+                                       final Map<String, ResilienceSettings> hosts,
+                                       final Map<String, ResilienceSettings> routes) {
+        this.meterRegistry = meterRegistry;
+        this.defaults = defaults.orElse(ResilienceSettings.defaults());
+        this.hosts = hosts;
+        this.routes = routes;
+    }
+
+    /**
+     * Returns the guards created so far.
+     *
+     * @return the guards by target.
+     */
+    public Map<String, HostGuard> getGuards() {
+        return Map.copyOf(guards);
+    }
+
+    /**
+     * Sends an exchange with a producer template, guarded by the guard of the target host if
+     * a resilience strategy is registered with the exchange's Camel context. Only the settings
+     * of the host apply, as the call is not made by a route's {@code to} or {@code toD}.
+     * Rejected calls fail with a {@link CallNotPermittedException} without being sent.
+     *
+     * @param template the producer template.
+     * @param uri the endpoint URI.
+     * @param exchange the exchange.
+     * @return the exchange.
+     */
+    public static Exchange send(final ProducerTemplate template, final String uri,
+                                final Exchange exchange) {
+        final var strategy = find(exchange.getContext());
+        final var guard = strategy != null ? strategy.guardOf(uri) : null;
+        if (guard == null) {
+            return template.send(uri, exchange);
+        }
+
+        final var rejection = guard.tryAcquire();
+        if (rejection != null) {
+            exchange.setException(new CallNotPermittedException(rejection, exchange));
+            return exchange;
+        }
+
+        final var startTime = System.nanoTime();
+        var success = false;
+        try {
+            template.send(uri, exchange);
+            success = !isFailure(exchange);
+        } finally {
+            guard.onComplete(System.nanoTime() - startTime, success);
+        }
+        return exchange;
+    }
+
+    /**
+     * Returns the resilience strategy registered with a Camel context.
+     *
+     * @param context the Camel context.
+     * @return the strategy, or null if none is registered.
+     */
+    private static ResilienceInterceptStrategy find(final CamelContext context) {
+        for (final var strategy : context.adapt(ExtendedCamelContext.class)
+                .getInterceptStrategies()) {
+            if (strategy instanceof ResilienceInterceptStrategy) {
+                return (ResilienceInterceptStrategy) strategy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the guard of the host of an endpoint URI, shared with the routes calling the
+     * same host without settings of their own.
+     *
+     * @param uri the endpoint URI.
+     * @return the guard, or null if the URI is no HTTP URI or the host is not guarded.
+     */
+    private HostGuard guardOf(final String uri) {
+        final var host = hostOf(uri);
+        if (host == null) {
+            return null;
+        }
+
+        final var settings = hosts.containsKey(host)
+                ? hosts.get(host).orElse(defaults) : defaults;
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return null;
+        }
+        return guards.computeIfAbsent(host, k -> new HostGuard(k, settings, meterRegistry));
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(final CamelContext context,
+                                                 final NamedNode definition,
+                                                 final Processor target,
+                                                 final Processor nextTarget) throws Exception {
+        final var uri = uriOf(definition);
+        final var host = uri != null ? hostOf(context.resolvePropertyPlaceholders(uri)) : null;
+        if (host == null) {
+            return target;
+        }
+
+        final var route = ProcessorDefinitionHelper.getRoute(definition);
+        final var routeId = route != null ? route.getRouteId() : null;
+        final var routeSettings = routeId != null ? routes.get(routeId) : null;
+        var settings = hosts.containsKey(host)
+                ? hosts.get(host).orElse(defaults) : defaults;
+        if (routeSettings != null) {
+            settings = routeSettings.orElse(settings);
+        }
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return target;
+        }
+
+        final var key = routeSettings != null ? routeId + "/" + host : host;
+        final var effective = settings;
+        final var guard = guards.computeIfAbsent(key,
+                k -> new HostGuard(k, effective, meterRegistry));
+        return new GuardedProcessor(target, guard);
+    }
+
+    /**
+     * Returns the endpoint URI of a node sending to an endpoint.
+     *
+     * @param definition the node.
+     * @return the URI, or null if the node does not send to an endpoint synchronously.
+     */
+    private static String uriOf(final NamedNode definition) {
+        if (definition instanceof SendDefinition) {
+            return ((SendDefinition<?>) definition).getEndpointUri();
+        } else if (definition instanceof ToDynamicDefinition
+                && !(definition instanceof WireTapDefinition)) {
+            return ((ToDynamicDefinition) definition).getUri();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the host and port of an HTTP endpoint URI.
+     *
+     * @param uri the endpoint URI.
+     * @return the host and port, or null if the URI is no HTTP URI or its host is dynamic.
+     */
+    static String hostOf(final String uri) {
+        final var lower = uri.toLowerCase(Locale.ROOT);
+        final String rest;
+        if (lower.startsWith("https:")) {
+            rest = lower.substring("https:".length());
+        } else if (lower.startsWith("http:")) {
+            rest = lower.substring("http:".length());
+        } else {
+            return null;
+        }
+
+        final var authority = rest.replaceFirst("^//", "").split("[/?]", 2)[0];
+        final var host = authority.substring(authority.lastIndexOf('@') + 1);
+        return host.isEmpty() || host.contains("{") ? null : host;
+    }
+
+    /**
+     * Checks whether a call failed.
+     *
+     * @param exchange the exchange.
+     * @return true, if the call failed.
+     */
+    private static boolean isFailure(final Exchange exchange) {
+        final var exception = exchange.getException();
+        if (exception instanceof HttpOperationFailedException) {
+            return ((HttpOperationFailedException) exception).getStatusCode() >= 500;
+        } else if (exception != null) {
+            return true;
+        }
+
+        final var status = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE,
+                Integer.class);
+        return status != null && status >= 500;
+    }
+
+    /**
+     * Processor passing a call through the guard of its target.
+     */
+    private static final class GuardedProcessor extends DelegateAsyncProcessor {
+
+        /**
+         * The guard.
+         */
+        private final HostGuard guard;
+
+        /**
+         * Constructor for the GuardedProcessor.
+         *
+         * @param target the processor sending the call.
+         * @param guard the guard.
+         */
+        private GuardedProcessor(final Processor target, final HostGuard guard) {
+            super(target);
+            this.guard = guard;
+        }
+
+        @Override
+        public boolean process(final Exchange exchange, final AsyncCallback callback) {
+            final var rejection = guard.tryAcquire();
+            if (rejection != null) {
+                exchange.setException(new CallNotPermittedException(rejection, exchange));
+                callback.done(true);
+                return true;
+            }
+
+            final var startTime = System.nanoTime();
+            return super.process(exchange, doneSync -> {
+                guard.onComplete(System.nanoTime() - startTime, !isFailure(exchange));
+                callback.done(doneSync);
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "Guarded[" + guard.getTarget() + "](" + processor + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Settings of the circuit breaker and concurrency limit guarding calls to a target host, as read
+ * from the application properties. Settings that are not set are inherited, see
+ * {@link #orElse(ResilienceSettings)}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ResilienceSettings {
+
+    /**
+     * Whether calls are guarded.
+     */
+    private Boolean enabled;
+
+    /**
+     * The percentage of failed or slow calls in the window that opens the circuit.
+     */
+    private Integer failureRateThreshold;
+
+    /**
+     * The duration in milliseconds above which a call counts as failed.
+     */
+    private Long slowCallMs;
+
+    /**
+     * The number of most recent calls the failure rate is computed from.
+     */
+    private Integer windowSize;
+
+    /**
+     * The minimum number of calls in the window before the circuit can open.
+     */
+    private Integer minimumCalls;
+
+    /**
+     * The time in milliseconds the circuit stays open before a trial call is permitted.
+     */
+    private Long openMs;
+
+    /**
+     * The number of concurrent calls permitted before any latency has been observed.
+     */
+    private Integer initialLimit;
+
+    /**
+     * The lower bound of the concurrency limit.
+     */
+    private Integer minLimit;
+
+    /**
+     * The upper bound of the concurrency limit, i.e. the size of the bulkhead.
+     */
+    private Integer maxLimit;
+
+    /**
+     * How much the latency may exceed the long-term average before the limit is decreased,
+     * e.g. 1.5 for 50 percent.
+     */
+    private Double rttTolerance;
+
+    /**
+     * Returns the default settings.
+     *
+     * @return the default settings.
+     */
+    public static ResilienceSettings defaults() {
+        final var settings = new ResilienceSettings();
+        settings.setEnabled(true);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallMs(10_000L);
+        settings.setWindowSize(20);
+        settings.setMinimumCalls(10);
+        settings.setOpenMs(30_000L);
+        settings.setInitialLimit(20);
+        settings.setMinLimit(1);
+        settings.setMaxLimit(200);
+        settings.setRttTolerance(1.5);
+        return settings;
+    }
+
+    /**
+     * Creates a copy of these settings in which every setting that is not set is taken from
+     * other settings.
+     *
+     * @param fallback the settings to inherit from, or null.
+     * @return the merged settings.
+     */
+    public ResilienceSettings orElse(final ResilienceSettings fallback) {
+        if (fallback == null) {
+            return this;
+        }
+
+        final var merged = new ResilienceSettings();
+        merged.setEnabled(enabled != null ? enabled : fallback.getEnabled());
+        merged.setFailureRateThreshold(failureRateThreshold != null
+                ? failureRateThreshold : fallback.getFailureRateThreshold());
+        merged.setSlowCallMs(slowCallMs != null ? slowCallMs : fallback.getSlowCallMs());
+        merged.setWindowSize(windowSize != null ? windowSize : fallback.getWindowSize());
+        merged.setMinimumCalls(minimumCalls != null ? minimumCalls : fallback.getMinimumCalls());
+        merged.setOpenMs(openMs != null ? openMs : fallback.getOpenMs());
+        merged.setInitialLimit(initialLimit != null ? initialLimit : fallback.getInitialLimit());
+        merged.setMinLimit(minLimit != null ? minLimit : fallback.getMinLimit());
+        merged.setMaxLimit(maxLimit != null ? maxLimit : fallback.getMaxLimit());
+        merged.setRttTolerance(rttTolerance != null ? rttTolerance : fallback.getRttTolerance());
+        return merged;
+    }
+
+}
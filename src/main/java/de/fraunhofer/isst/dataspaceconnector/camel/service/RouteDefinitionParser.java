@@ -0,0 +1,155 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.JAXBIntrospector;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.camel.model.RoutesDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Thread-safe parser for Camel XML definitions. The JAXBContext is shared, while the
+ * (non thread-safe) Unmarshallers are handed out from a bounded pool, so that concurrent uploads
+ * neither interfere with each other nor have to be serialized.
+ */
+@Service
+public class RouteDefinitionParser {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteDefinitionParser.class);
+
+    /**
+     * The shared JAXBContext for the Camel model.
+     */
+    private final JAXBContext jaxbContext;
+
+    /**
+     * Factory for the StAX readers used as unmarshalling input.
+     */
+    private final XMLInputFactory xmlInputFactory;
+
+    /**
+     * Idle Unmarshallers that can be reused.
+     */
+    private final BlockingQueue<Unmarshaller> pool;
+
+    /**
+     * Constructor for the RouteDefinitionParser.
+     *
+     * @param jaxbContext the JAXBContext for the Camel model.
+     * @param poolSize the maximum number of idle Unmarshallers to keep, or a value smaller than 1
+     *                 to use the number of available processors.
+     */
+    @Autowired
+    public RouteDefinitionParser(final JAXBContext jaxbContext,
+                                 @Value("${routes.parser.pool-size:0}") final int poolSize) {
+        this.jaxbContext = jaxbContext;
+        this.pool = new ArrayBlockingQueue<>(poolSize > 0
+                ? poolSize : Runtime.getRuntime().availableProcessors());
+
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Reads a routes definition from an XML input stream.
+     *
+     * @param inputStream the input stream.
+     * @return the routes definition.
+     * @throws JAXBException if the input is not a valid routes definition.
+     */
+    public RoutesDefinition parseRoutes(final InputStream inputStream) throws JAXBException {
+        return parse(inputStream, RoutesDefinition.class);
+    }
+
+    /**
+     * Reads an element of the Camel model from an XML input stream.
+     *
+     * @param inputStream the input stream.
+     * @param type the expected type of the root element.
+     * @param <T> the type of the root element.
+     * @return the parsed element.
+     * @throws JAXBException if the input cannot be read or has an unexpected root element.
+     */
+    public <T> T parse(final InputStream inputStream, final Class<T> type) throws JAXBException {
+        final var unmarshaller = acquire();
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(inputStream);
+            final var result = JAXBIntrospector.getValue(unmarshaller.unmarshal(reader));
+            if (!type.isInstance(result)) {
+                throw new JAXBException("Unexpected root element, expected "
+                        + type.getSimpleName() + ".");
+            }
+            return type.cast(result);
+        } catch (XMLStreamException e) {
+            throw new JAXBException("Could not read XML input: " + e.getMessage(), e);
+        } finally {
+            closeQuietly(reader);
+            pool.offer(unmarshaller);
+        }
+    }
+
+    /**
+     * Creates a deep copy of an element of the Camel model, e.g. to add the same route
+     * definition twice, by writing it to XML and reading it again.
+     *
+     * @param element the element.
+     * @param type the type of the element.
+     * @param <T> the type of the element.
+     * @return the copy.
+     * @throws JAXBException if the element cannot be written or read.
+     */
+    public <T> T copy(final T element, final Class<T> type) throws JAXBException {
+        final var output = new ByteArrayOutputStream();
+        jaxbContext.createMarshaller().marshal(element, output);
+        return parse(new ByteArrayInputStream(output.toByteArray()), type);
+    }
+
+    /**
+     * Takes an idle Unmarshaller from the pool or creates a new one, if none is available.
+     *
+     * @return the Unmarshaller.
+     * @throws JAXBException if a new Unmarshaller cannot be created.
+     */
+    private Unmarshaller acquire() throws JAXBException {
+        final var unmarshaller = pool.poll();
+        return unmarshaller != null ? unmarshaller : jaxbContext.createUnmarshaller();
+    }
+
+    /**
+     * Closes a StAX reader, ignoring any errors.
+     *
+     * @param reader the reader, may be null.
+     */
+    private static void closeQuietly(final XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Could not close XML reader. [exception=({})]", e.getMessage(), e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.util.List;
+
+/**
+ * Thrown when a set of routes could not be deployed. All routes of the deployment have been
+ * removed again when this exception is thrown.
+ */
+public class RouteDeploymentException extends Exception {
+
+    /**
+     * Default serial version uid.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The startup results of the individual routes.
+     */
+    private final transient List<RouteStartup> routes;
+
+    /**
+     * Constructor for the RouteDeploymentException.
+     *
+     * @param message the error message.
+     * @param routes the startup results of the individual routes.
+     */
+    public RouteDeploymentException(final String message, final List<RouteStartup> routes) {
+        super(message);
+        this.routes = routes;
+    }
+
+    /**
+     * Returns the startup results of the individual routes.
+     *
+     * @return the startup results.
+     */
+    public List<RouteStartup> getRoutes() {
+        return routes;
+    }
+
+}
@@ -0,0 +1,35 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Summarizes the deployment of a set of routes, including the startup results of all routes.
+ */
+@Getter
+@AllArgsConstructor
+public class RouteDeploymentReport {
+
+    /**
+     * Whether all routes have been deployed.
+     */
+    private final boolean deployed;
+
+    /**
+     * A message describing the outcome.
+     */
+    private final String message;
+
+    /**
+     * The total time the deployment took in milliseconds.
+     */
+    private final long deploymentTimeMillis;
+
+    /**
+     * The startup results of the individual routes.
+     */
+    private final List<RouteStartup> routes;
+
+}
@@ -0,0 +1,514 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deploys sets of routes to the Camel context as one unit: all routes are validated and added
+ * first, then started concurrently on a bounded executor. If any route fails to start, all routes
+ * of the deployment are removed again. Running routes can be replaced without stopping their
+ * consumer, by starting the new definition before the old route is drained. Routes can also be
+ * created from route templates that have been added to the Camel context before.
+ */
+@Service
+public class RouteDeploymentService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteDeploymentService.class);
+
+    /**
+     * The Camel context.
+     */
+    private final DefaultCamelContext camelContext;
+
+    /**
+     * The maximum number of routes that are started concurrently.
+     */
+    private final int startupThreads;
+
+    /**
+     * The default time in milliseconds a replaced route may take to complete its in-flight
+     * exchanges.
+     */
+    private final long drainTimeoutMillis;
+
+    /**
+     * Constructor for the RouteDeploymentService.
+     *
+     * @param camelContext the CamelContext.
+     * @param startupThreads the maximum number of routes started concurrently, or a value
+     *                       smaller than 1 to use the number of available processors.
+     * @param drainTimeoutMillis the default drain timeout for replaced routes in milliseconds.
+     */
+    @Autowired
+    public RouteDeploymentService(final CamelContext camelContext,
+                                  @Value("${routes.deployment.startup-threads:0}")
+                                  final int startupThreads,
+                                  @Value("${routes.replace.drain-timeout-ms:30000}")
+                                  final long drainTimeoutMillis) {
+        this.camelContext = (DefaultCamelContext) camelContext;
+        this.startupThreads = startupThreads > 0
+                ? startupThreads : Runtime.getRuntime().availableProcessors();
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    /**
+     * Validates, adds and starts a set of routes. Either all routes are deployed or none.
+     *
+     * @param routes the route definitions.
+     * @return the startup results of the individual routes.
+     * @throws IllegalArgumentException if the routes are invalid, e.g. because of a missing or
+     *                                  duplicate route ID.
+     * @throws RouteDeploymentException if any route could not be started.
+     * @throws Exception if the routes could not be added to the Camel context.
+     */
+    public List<RouteStartup> deploy(final List<RouteDefinition> routes) throws Exception {
+        validate(routes);
+
+        final var routeIds = routes.stream().map(RouteDefinition::getId)
+                .collect(Collectors.toList());
+        final var results = addAndStart(routes);
+        if (results.stream().anyMatch(r -> r.getStatus() == RouteStartup.Status.FAILED)) {
+            removeRoutes(routeIds);
+            throw new RouteDeploymentException("Could not start all routes, rolled back "
+                    + routeIds.size() + " routes.", results.stream()
+                    .map(r -> r.getStatus() == RouteStartup.Status.FAILED
+                            ? r : r.withStatus(RouteStartup.Status.ROLLED_BACK))
+                    .collect(Collectors.toList()));
+        }
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Deployed {} routes to the Camel Context.", routes.size());
+        }
+
+        return results;
+    }
+
+    /**
+     * Adds and starts routes, e.g. when restoring them after a restart. As opposed to
+     * {@link #deploy(List)}, routes that fail to start do not affect the other routes; they are
+     * left in the Camel context in stopped state. Routes whose ID is already in use are skipped.
+     *
+     * @param routes the route definitions.
+     * @return the startup results of the added routes.
+     * @throws Exception if the routes could not be added to the Camel context.
+     */
+    public List<RouteStartup> restore(final List<RouteDefinition> routes) throws Exception {
+        final var newRoutes = routes.stream()
+                .filter(route -> route.getId() != null
+                        && camelContext.getRoute(route.getId()) == null)
+                .collect(Collectors.toList());
+        if (newRoutes.size() < routes.size() && LOGGER.isWarnEnabled()) {
+            LOGGER.warn("Skipped {} routes without ID or with an ID that is already in use.",
+                    routes.size() - newRoutes.size());
+        }
+
+        if (newRoutes.isEmpty()) {
+            return List.of();
+        }
+        return addAndStart(newRoutes);
+    }
+
+    /**
+     * Creates and starts routes from route templates. The templates are already parsed, so no
+     * XML has to be read. Either all routes are created or none.
+     *
+     * @param routes the routes to create, with template ID and parameter values.
+     * @return the startup results of the individual routes.
+     * @throws IllegalArgumentException if a route ID is missing, duplicate or already in use, a
+     *                                  template does not exist or a parameter without default
+     *                                  value is missing.
+     * @throws RouteDeploymentException if any route could not be created.
+     */
+    public List<RouteStartup> deployFromTemplates(final List<TemplatedRoute> routes)
+            throws RouteDeploymentException {
+        if (routes == null || routes.isEmpty()) {
+            throw new IllegalArgumentException("No routes found.");
+        }
+        validateIds(routes.stream().map(TemplatedRoute::getRouteId)
+                .collect(Collectors.toList()));
+        routes.forEach(this::validateParameters);
+
+        final var results = new ArrayList<RouteStartup>();
+        for (final var route : routes) {
+            final var result = createFromTemplate(route);
+            results.add(result);
+            if (result.getStatus() == RouteStartup.Status.FAILED) {
+                removeRoutes(results.stream().map(RouteStartup::getRouteId)
+                        .collect(Collectors.toList()));
+                throw new RouteDeploymentException("Could not create all routes, rolled back "
+                        + results.size() + " routes.", results.stream()
+                        .map(r -> r.getStatus() == RouteStartup.Status.FAILED
+                                ? r : r.withStatus(RouteStartup.Status.ROLLED_BACK))
+                        .collect(Collectors.toList()));
+            }
+        }
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Created {} routes from templates.", routes.size());
+        }
+
+        return results;
+    }
+
+    /**
+     * Creates and starts routes from route templates, e.g. when restoring them after a
+     * restart. Routes that fail do not affect the other routes. Routes whose ID is already in
+     * use are skipped.
+     *
+     * @param routes the routes to create, with template ID and parameter values.
+     * @return the startup results of the created routes.
+     */
+    public List<RouteStartup> restoreFromTemplates(final List<TemplatedRoute> routes) {
+        return routes.stream()
+                .filter(route -> route.getRouteId() != null
+                        && camelContext.getRoute(route.getRouteId()) == null)
+                .map(this::createFromTemplate)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replaces a running route without a gap in consumption. The new definition is first started
+     * under a shadow ID, then the old route is stopped gracefully so that its in-flight exchanges
+     * can complete. Afterwards, the new definition is started under the original ID and the shadow
+     * route is drained the same way. While both routes run, a message may be consumed by either
+     * of them, and polling consumers such as timer, SQL or file consumers poll in both routes
+     * until the old route's consumer is stopped at the beginning of its drain, so the same data
+     * may be processed twice.
+     *
+     * @param routeId the ID of the route to replace.
+     * @param shadow the new route definition, used for the shadow route.
+     * @param replacement a second instance of the new route definition, used for the final route.
+     * @param timeoutMillis the drain timeout in milliseconds, or null for the default timeout.
+     * @return the replacement report.
+     * @throws IllegalArgumentException if no route with the given ID exists.
+     * @throws Exception if the new route cannot be started. The old definition is then started
+     *                   again under its ID and the shadow route is removed, so that the running
+     *                   route matches the stored one.
+     */
+    public RouteReplacement replace(final String routeId, final RouteDefinition shadow,
+                                    final RouteDefinition replacement, final Long timeoutMillis)
+            throws Exception {
+        if (camelContext.getRoute(routeId) == null) {
+            throw new IllegalArgumentException("No route found with ID " + routeId + ".");
+        }
+
+        final var startTime = System.nanoTime();
+        final var timeout = timeoutMillis != null ? timeoutMillis : drainTimeoutMillis;
+        final var previous = camelContext.getRouteDefinition(routeId);
+        final var shadowId = routeId + "-shadow-" + System.currentTimeMillis();
+        shadow.setId(shadowId);
+        replacement.setId(routeId);
+
+        try {
+            camelContext.addRouteDefinition(shadow);
+        } catch (Exception e) {
+            removeRoutes(List.of(shadowId));
+            throw e;
+        }
+
+        final var inflight = camelContext.getInflightRepository().size(routeId);
+        final var drainStart = System.nanoTime();
+        final var aborted = drain(routeId, timeout);
+        final var drainTime = (System.nanoTime() - drainStart) / 1_000_000;
+
+        try {
+            camelContext.addRouteDefinition(replacement);
+        } catch (Exception e) {
+            rollBack(routeId, previous, shadowId, timeout);
+            throw e;
+        }
+        drain(shadowId, timeout);
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Replaced route with ID {}. Drained {} in-flight exchanges in {} ms.",
+                    routeId, inflight, drainTime);
+        }
+
+        return new RouteReplacement(routeId, shadowId, inflight, aborted, drainTime,
+                (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * Restores a replaced route after its new definition failed to start: the old definition is
+     * started again under its ID, then the shadow route is drained. If the old definition cannot
+     * be started either, the shadow route is left running.
+     *
+     * @param routeId the ID of the replaced route.
+     * @param previous the old route definition, may be null.
+     * @param shadowId the ID of the shadow route.
+     * @param timeoutMillis the drain timeout in milliseconds.
+     */
+    private void rollBack(final String routeId, final RouteDefinition previous,
+                          final String shadowId, final long timeoutMillis) {
+        removeRoutes(List.of(routeId));
+        try {
+            if (previous == null) {
+                throw new IllegalStateException("No definition found for route " + routeId
+                        + ".");
+            }
+            previous.setId(routeId);
+            camelContext.addRouteDefinition(previous);
+            drain(shadowId, timeoutMillis);
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not start new definition of route with ID {}, restored the "
+                        + "old definition.", routeId);
+            }
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not restore route with ID {}, route {} keeps running in "
+                        + "its place. [exception=({})]", routeId, shadowId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops and removes routes from the Camel context. Errors are logged, but do not stop the
+     * removal of the remaining routes.
+     *
+     * @param routeIds the IDs of the routes to remove.
+     */
+    public void removeRoutes(final Collection<String> routeIds) {
+        for (final var routeId : routeIds) {
+            try {
+                if (camelContext.getRoute(routeId) != null) {
+                    camelContext.getRouteController().stopRoute(routeId);
+                    camelContext.removeRoute(routeId);
+                }
+            } catch (Exception e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Could not remove route with ID {}. [exception=({})]",
+                            routeId, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gracefully stops a route, waiting for its in-flight exchanges up to the given timeout, and
+     * removes it from the Camel context.
+     *
+     * @param routeId the route ID.
+     * @param timeoutMillis the drain timeout in milliseconds.
+     * @return the number of exchanges that were still in flight after the timeout.
+     * @throws Exception if the route cannot be stopped or removed.
+     */
+    private int drain(final String routeId, final long timeoutMillis) throws Exception {
+        camelContext.getRouteController().stopRoute(routeId, timeoutMillis,
+                TimeUnit.MILLISECONDS);
+        final var remaining = camelContext.getInflightRepository().size(routeId);
+        if (!camelContext.removeRoute(routeId)) {
+            throw new IllegalStateException("Could not remove route with ID " + routeId
+                    + " because it was not stopped.");
+        }
+        return remaining;
+    }
+
+    /**
+     * Checks that every route has an ID that is unique within the deployment and not yet in use
+     * in the Camel context.
+     *
+     * @param routes the route definitions.
+     * @throws IllegalArgumentException if the routes are invalid.
+     */
+    private void validate(final List<RouteDefinition> routes) {
+        if (routes == null || routes.isEmpty()) {
+            throw new IllegalArgumentException("No routes found.");
+        }
+
+        validateIds(routes.stream().map(RouteDefinition::getId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Checks that every route ID is present, unique and not yet in use in the Camel context.
+     *
+     * @param ids the route IDs.
+     * @throws IllegalArgumentException if the IDs are invalid.
+     */
+    private void validateIds(final List<String> ids) {
+        final var routeIds = new HashSet<String>();
+        for (final var routeId : ids) {
+            if (routeId == null || routeId.isBlank()) {
+                throw new IllegalArgumentException("Every route must have an ID.");
+            }
+            if (!routeIds.add(routeId)) {
+                throw new IllegalArgumentException("Duplicate route ID " + routeId + ".");
+            }
+            if (camelContext.getRoute(routeId) != null) {
+                throw new IllegalArgumentException("A route with ID " + routeId
+                        + " already exists.");
+            }
+        }
+    }
+
+    /**
+     * Checks that the template of a route exists and that a value is given for every template
+     * parameter without default value.
+     *
+     * @param route the route to create.
+     * @throws IllegalArgumentException if the template or a parameter value is missing.
+     */
+    private void validateParameters(final TemplatedRoute route) {
+        final var template = camelContext.getRouteTemplateDefinition(route.getTemplateId());
+        if (template == null) {
+            throw new IllegalArgumentException("No route template found with ID "
+                    + route.getTemplateId() + ".");
+        }
+
+        final var parameters = route.getParameters() == null
+                ? Map.<String, Object>of() : route.getParameters();
+        for (final var parameter : template.getTemplateParameters()) {
+            if (parameter.getDefaultValue() == null
+                    && !parameters.containsKey(parameter.getName())) {
+                throw new IllegalArgumentException("Missing value for parameter "
+                        + parameter.getName() + " of route " + route.getRouteId() + ".");
+            }
+        }
+    }
+
+    /**
+     * Creates a route from its template and measures the time it takes. The route is started
+     * immediately, unless its template disables auto startup.
+     *
+     * @param route the route to create.
+     * @return the startup result.
+     */
+    private RouteStartup createFromTemplate(final TemplatedRoute route) {
+        final var startTime = System.nanoTime();
+        try {
+            camelContext.addRouteFromTemplate(route.getRouteId(), route.getTemplateId(),
+                    route.getParameters() == null ? Map.of() : route.getParameters());
+            return new RouteStartup(route.getRouteId(), RouteStartup.Status.STARTED,
+                    (System.nanoTime() - startTime) / 1_000_000, null);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not create route with ID {} from template {}. "
+                        + "[exception=({})]", route.getRouteId(), route.getTemplateId(),
+                        e.getMessage(), e);
+            }
+            return new RouteStartup(route.getRouteId(), RouteStartup.Status.FAILED,
+                    (System.nanoTime() - startTime) / 1_000_000, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds routes to the Camel context without starting them and then starts them concurrently.
+     * If the routes cannot be added, any route that has already been added is removed again.
+     *
+     * @param routes the route definitions.
+     * @return the startup results in the order of the routes.
+     * @throws Exception if the routes could not be added to the Camel context.
+     */
+    private List<RouteStartup> addAndStart(final List<RouteDefinition> routes) throws Exception {
+        final Map<String, String> autoStartup = new HashMap<>();
+        for (final var route : routes) {
+            autoStartup.put(route.getId(), route.getAutoStartup());
+            route.setAutoStartup("false");
+        }
+
+        try {
+            camelContext.addRouteDefinitions(routes);
+        } catch (Exception e) {
+            removeRoutes(routes.stream().map(RouteDefinition::getId)
+                    .collect(Collectors.toList()));
+            throw e;
+        } finally {
+            routes.forEach(route -> route.setAutoStartup(autoStartup.get(route.getId())));
+        }
+
+        return startRoutes(routes, autoStartup);
+    }
+
+    /**
+     * Starts the routes on a bounded executor and collects the startup results.
+     *
+     * @param routes the route definitions.
+     * @param autoStartup the original auto startup values of the routes.
+     * @return the startup results in the order of the routes.
+     * @throws InterruptedException if interrupted while waiting for the routes to start.
+     */
+    private List<RouteStartup> startRoutes(final List<RouteDefinition> routes,
+                                           final Map<String, String> autoStartup)
+            throws InterruptedException {
+        final var executorManager = camelContext.getExecutorServiceManager();
+        final var executor = executorManager.newFixedThreadPool(this, "RouteStartup",
+                Math.min(startupThreads, routes.size()));
+        try {
+            final var futures = new ArrayList<Future<RouteStartup>>();
+            for (final var route : routes) {
+                final var start = isAutoStartup(autoStartup.get(route.getId()));
+                futures.add(executor.submit(() -> startRoute(route.getId(), start)));
+            }
+
+            final var results = new ArrayList<RouteStartup>();
+            for (var i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new RouteStartup(routes.get(i).getId(),
+                            RouteStartup.Status.FAILED, 0, e.getCause().getMessage()));
+                }
+            }
+            return results;
+        } finally {
+            executorManager.shutdown(executor);
+        }
+    }
+
+    /**
+     * Starts a single route and measures the time it takes.
+     *
+     * @param routeId the route ID.
+     * @param start whether the route should be started at all.
+     * @return the startup result.
+     */
+    private RouteStartup startRoute(final String routeId, final boolean start) {
+        if (!start) {
+            return new RouteStartup(routeId, RouteStartup.Status.NOT_STARTED, 0, null);
+        }
+
+        final var startTime = System.nanoTime();
+        try {
+            camelContext.getRouteController().startRoute(routeId);
+            return new RouteStartup(routeId, RouteStartup.Status.STARTED,
+                    (System.nanoTime() - startTime) / 1_000_000, null);
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not start route with ID {}. [exception=({})]",
+                        routeId, e.getMessage(), e);
+            }
+            return new RouteStartup(routeId, RouteStartup.Status.FAILED,
+                    (System.nanoTime() - startTime) / 1_000_000, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether a route should be started based on its auto startup value.
+     *
+     * @param autoStartup the auto startup value of the route definition, may be null.
+     * @return true, if the route should be started.
+     */
+    private static boolean isAutoStartup(final String autoStartup) {
+        return autoStartup == null || !"false".equalsIgnoreCase(autoStartup.trim());
+    }
+
+}
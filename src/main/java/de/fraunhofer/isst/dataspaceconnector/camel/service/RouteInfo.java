@@ -0,0 +1,91 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.time.Instant;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A deployed route with its status and runtime statistics. The statistics are null if Camel's
+ * management is disabled.
+ */
+@Getter
+@Setter
+public class RouteInfo {
+
+    /**
+     * The route ID.
+     */
+    private String routeId;
+
+    /**
+     * The description of the route, if any.
+     */
+    private String description;
+
+    /**
+     * The URI of the consumer, with passwords masked.
+     */
+    private String endpointUri;
+
+    /**
+     * The status of the route, e.g. Started or Stopped.
+     */
+    private String status;
+
+    /**
+     * The time in milliseconds since the route was started, or 0 if it is not running.
+     */
+    private long uptimeMillis;
+
+    /**
+     * The number of exchanges processed since the route was started.
+     */
+    private Long exchangesTotal;
+
+    /**
+     * The number of exchanges completed successfully.
+     */
+    private Long exchangesCompleted;
+
+    /**
+     * The number of exchanges that failed.
+     */
+    private Long exchangesFailed;
+
+    /**
+     * The number of exchanges currently in flight.
+     */
+    private Long exchangesInflight;
+
+    /**
+     * The mean processing time in milliseconds.
+     */
+    private Long meanProcessingTime;
+
+    /**
+     * The maximum processing time in milliseconds.
+     */
+    private Long maxProcessingTime;
+
+    /**
+     * The processing time of the last exchange in milliseconds.
+     */
+    private Long lastProcessingTime;
+
+    /**
+     * The time the last exchange completed successfully.
+     */
+    private Instant lastCompleted;
+
+    /**
+     * The time the last exchange failed.
+     */
+    private Instant lastFailure;
+
+    /**
+     * The ID of the last failed exchange.
+     */
+    private String lastFailureExchangeId;
+
+}
@@ -0,0 +1,188 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.api.management.ManagedCamelContext;
+import org.apache.camel.api.management.mbean.ManagedRouteMBean;
+import org.apache.camel.util.URISupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Lists the routes deployed in the Camel context together with their status and the statistics
+ * collected by Camel's route MBeans. Statistics are only read for the routes of the requested
+ * page, so that listing large numbers of routes stays cheap.
+ */
+@Service
+public class RouteInventoryService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteInventoryService.class);
+
+    /**
+     * The Camel context.
+     */
+    private final CamelContext camelContext;
+
+    /**
+     * Constructor for the RouteInventoryService.
+     *
+     * @param camelContext the CamelContext.
+     */
+    @Autowired
+    public RouteInventoryService(final CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    /**
+     * Lists one page of the routes, ordered by route ID.
+     *
+     * @param page the index of the page, starting at 0.
+     * @param size the maximum number of routes per page.
+     * @param status the status the routes must have, e.g. Started, or null for all routes.
+     * @return the page.
+     * @throws IllegalArgumentException if the page or size is invalid.
+     */
+    public RoutePage list(final int page, final int size, final String status) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1.");
+        }
+
+        final var routes = camelContext.getRoutes().stream()
+                .filter(route -> status == null || status.equalsIgnoreCase(statusOf(route)))
+                .sorted(Comparator.comparing(Route::getRouteId))
+                .collect(Collectors.toList());
+        final var from = (int) Math.min((long) page * size, routes.size());
+        final var to = Math.min(from + size, routes.size());
+
+        final var infos = new ArrayList<RouteInfo>(to - from);
+        for (final var route : routes.subList(from, to)) {
+            infos.add(toInfo(route));
+        }
+        return new RoutePage(page, size, routes.size(),
+                (routes.size() + size - 1) / size, infos);
+    }
+
+    /**
+     * Returns a single route.
+     *
+     * @param routeId the route ID.
+     * @return the route, or null if there is no route with this ID.
+     */
+    public RouteInfo get(final String routeId) {
+        final var route = camelContext.getRoute(routeId);
+        return route == null ? null : toInfo(route);
+    }
+
+    /**
+     * Returns the status of a route.
+     *
+     * @param route the route.
+     * @return the status, e.g. Started.
+     */
+    private String statusOf(final Route route) {
+        final ServiceStatus status = camelContext.getRouteController()
+                .getRouteStatus(route.getRouteId());
+        return status == null ? "Unknown" : status.name();
+    }
+
+    /**
+     * Creates the representation of a route, including its statistics if Camel's management
+     * is enabled. If the statistics cannot be read, the route is returned without them.
+     *
+     * @param route the route.
+     * @return the route info.
+     */
+    private RouteInfo toInfo(final Route route) {
+        final var mbean = managedRoute(route.getRouteId());
+        final var info = describe(route);
+        if (mbean == null) {
+            return info;
+        }
+
+        try {
+            addStatistics(info, mbean);
+            return info;
+        } catch (Exception e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not read the statistics of route {}. [exception=({})]",
+                        route.getRouteId(), e.getMessage(), e);
+            }
+            return describe(route);
+        }
+    }
+
+    /**
+     * Creates the representation of a route without statistics.
+     *
+     * @param route the route.
+     * @return the route info.
+     */
+    private RouteInfo describe(final Route route) {
+        final var info = new RouteInfo();
+        info.setRouteId(route.getRouteId());
+        info.setDescription(route.getDescription());
+        info.setEndpointUri(URISupport.sanitizeUri(route.getEndpoint().getEndpointUri()));
+        info.setStatus(statusOf(route));
+        info.setUptimeMillis(ServiceStatus.Started.name().equals(info.getStatus())
+                ? route.getUptimeMillis() : 0);
+        return info;
+    }
+
+    /**
+     * Adds the statistics of a route's MBean to its representation.
+     *
+     * @param info the route info.
+     * @param mbean the MBean of the route.
+     * @throws Exception if the MBean cannot be read.
+     */
+    private static void addStatistics(final RouteInfo info, final ManagedRouteMBean mbean)
+            throws Exception {
+        info.setExchangesTotal(mbean.getExchangesTotal());
+        info.setExchangesCompleted(mbean.getExchangesCompleted());
+        info.setExchangesFailed(mbean.getExchangesFailed());
+        info.setExchangesInflight(mbean.getExchangesInflight());
+        info.setMeanProcessingTime(mbean.getMeanProcessingTime());
+        info.setMaxProcessingTime(mbean.getMaxProcessingTime());
+        info.setLastProcessingTime(mbean.getLastProcessingTime());
+        info.setLastCompleted(toInstant(mbean.getLastExchangeCompletedTimestamp()));
+        info.setLastFailure(toInstant(mbean.getLastExchangeFailureTimestamp()));
+        info.setLastFailureExchangeId(mbean.getLastExchangeFailureExchangeId());
+    }
+
+    /**
+     * Returns the MBean of a route.
+     *
+     * @param routeId the route ID.
+     * @return the MBean, or null if Camel's management is disabled.
+     */
+    private ManagedRouteMBean managedRoute(final String routeId) {
+        final var managed = camelContext.getExtension(ManagedCamelContext.class);
+        return managed == null ? null : managed.getManagedRoute(routeId);
+    }
+
+    /**
+     * Converts a timestamp of an MBean.
+     *
+     * @param date the timestamp, may be null.
+     * @return the instant, or null.
+     */
+    private static Instant toInstant(final Date date) {
+        return date == null ? null : date.toInstant();
+    }
+
+}
@@ -0,0 +1,40 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A page of the deployed routes, ordered by route ID.
+ */
+@Getter
+@AllArgsConstructor
+public class RoutePage {
+
+    /**
+     * The index of the page, starting at 0.
+     */
+    private final int page;
+
+    /**
+     * The maximum number of routes per page.
+     */
+    private final int size;
+
+    /**
+     * The number of routes on all pages.
+     */
+    private final int totalRoutes;
+
+    /**
+     * The number of pages.
+     */
+    private final int totalPages;
+
+    /**
+     * The routes on this page.
+     */
+    private final List<RouteInfo> routes;
+
+}
@@ -0,0 +1,43 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Reports the outcome of replacing a running route.
+ */
+@Getter
+@AllArgsConstructor
+public class RouteReplacement {
+
+    /**
+     * The ID of the replaced route.
+     */
+    private final String routeId;
+
+    /**
+     * The ID under which the new definition was running while the old route was drained.
+     */
+    private final String shadowRouteId;
+
+    /**
+     * The number of in-flight exchanges of the old route when its consumer was stopped.
+     */
+    private final int inflightExchanges;
+
+    /**
+     * The number of exchanges that were still in flight when the drain timeout elapsed.
+     */
+    private final int abortedExchanges;
+
+    /**
+     * The time it took to drain and stop the old route in milliseconds.
+     */
+    private final long drainTimeMillis;
+
+    /**
+     * The total time the replacement took in milliseconds.
+     */
+    private final long replacementTimeMillis;
+
+}
@@ -0,0 +1,74 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Reports the outcome of starting a single route as part of a deployment.
+ */
+@Getter
+@AllArgsConstructor
+public class RouteStartup {
+
+    /**
+     * Possible outcomes of starting a route.
+     */
+    public enum Status {
+        /**
+         * The route has been started.
+         */
+        STARTED,
+
+        /**
+         * The route has been added, but not started, because auto startup is disabled for it.
+         */
+        NOT_STARTED,
+
+        /**
+         * The route could not be started.
+         */
+        FAILED,
+
+        /**
+         * The route has been removed again, because another route of the deployment failed.
+         */
+        ROLLED_BACK,
+
+        /**
+         * The route has been stored, but is owned by another cluster member, which starts it
+         * within one heartbeat.
+         */
+        HANDED_OFF
+    }
+
+    /**
+     * The route ID.
+     */
+    private final String routeId;
+
+    /**
+     * The outcome of starting the route.
+     */
+    private final Status status;
+
+    /**
+     * The time it took to start the route in milliseconds.
+     */
+    private final long startupTimeMillis;
+
+    /**
+     * The error message, if the route could not be started.
+     */
+    private final String error;
+
+    /**
+     * Creates a copy of this result with a different status.
+     *
+     * @param newStatus the new status.
+     * @return the copy.
+     */
+    public RouteStartup withStatus(final Status newStatus) {
+        return new RouteStartup(routeId, newStatus, startupTimeMillis, error);
+    }
+
+}
@@ -0,0 +1,34 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A route created from a route template with a set of parameter values.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplatedRoute {
+
+    /**
+     * The ID of the created route.
+     */
+    private String routeId;
+
+    /**
+     * The ID of the route template.
+     */
+    private String templateId;
+
+    /**
+     * The values of the template parameters.
+     */
+    private Map<String, Object> parameters;
+
+}
@@ -0,0 +1,121 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.sql;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the keyset watermark of an incrementally polled table, i.e. the highest value of an
+ * ordered column (e.g. an ID or a modification timestamp) that has been transferred successfully.
+ * Routes select only rows above the watermark, so that each poll transfers only new or changed
+ * rows. If a file is configured, the watermark is persisted there and survives restarts.
+ */
+@NoArgsConstructor
+public class KeysetWatermark {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeysetWatermark.class);
+
+    /**
+     * Name of the column holding the watermark. Rows must be selected ordered by this column.
+     */
+    @Getter
+    @Setter
+    private String column;
+
+    /**
+     * The watermark used if none has been committed yet.
+     */
+    @Getter
+    @Setter
+    private String initialValue;
+
+    /**
+     * The file the watermark is persisted in, or null to keep it in memory only.
+     */
+    @Getter
+    @Setter
+    private String file;
+
+    /**
+     * The current watermark, once loaded.
+     */
+    private Object value;
+
+    /**
+     * Returns the current watermark. When loaded from the file or taken from the initial value,
+     * the watermark is a string, so queries should cast the parameter to the column's type.
+     *
+     * @return the current watermark.
+     */
+    public synchronized Object getValue() {
+        if (value == null) {
+            value = load();
+        }
+        return value;
+    }
+
+    /**
+     * Commits a new watermark after its rows have been transferred successfully.
+     *
+     * @param newValue the new watermark. Null values are ignored.
+     */
+    public synchronized void commit(final Object newValue) {
+        if (newValue == null) {
+            return;
+        }
+
+        value = newValue;
+        if (file != null) {
+            try {
+                final var path = Path.of(file);
+                final var tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+                Files.writeString(tempFile, String.valueOf(newValue), StandardCharsets.UTF_8);
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Failed to persist watermark. [file=({}), exception=({})]", file,
+                            e.getMessage(), e);
+                }
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Committed watermark. [column=({}), value=({})]", column, newValue);
+        }
+    }
+
+    /**
+     * Loads the watermark from the file, falling back to the initial value.
+     *
+     * @return the watermark.
+     */
+    private Object load() {
+        if (file != null) {
+            final var path = Path.of(file);
+            if (Files.exists(path)) {
+                try {
+                    return Files.readString(path, StandardCharsets.UTF_8).trim();
+                } catch (IOException e) {
+                    if (LOGGER.isWarnEnabled()) {
+                        LOGGER.warn("Failed to read watermark, using initial value. [file=({}), "
+                                + "exception=({})]", file, e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return initialValue;
+    }
+
+}
@@ -0,0 +1,158 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.sql;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replaces the rows in an exchange's body with an {@link NdjsonRowStream}, so that the rows are
+ * encoded while the body is being sent. Used together with the SQL component's
+ * {@code outputType=StreamList}, rows are fetched from the database cursor, encoded and uploaded
+ * one at a time and memory usage stays flat regardless of the table size.
+ *
+ * <p>If a {@link KeysetWatermark} is set, the watermark column's value of the last row is
+ * committed once the exchange has completed successfully, i.e. after the upload succeeded. If
+ * there are no rows, the route is stopped for the exchange, so that no empty upload is sent.</p>
+ */
+public class NdjsonRowEncoder {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(NdjsonRowEncoder.class);
+
+    /**
+     * Content type of the encoded body.
+     */
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    /**
+     * The JSON writer.
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * The watermark to advance, or null.
+     */
+    @Getter
+    @Setter
+    private KeysetWatermark watermark;
+
+    /**
+     * Constructor for the NdjsonRowEncoder.
+     */
+    public NdjsonRowEncoder() {
+        this.writer = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer();
+    }
+
+    /**
+     * Sets the exchange's body to a stream of NDJSON-encoded rows. The body has to be an iterator
+     * or iterable of rows, e.g. the result of an SQL query.
+     *
+     * @param exchange the exchange.
+     */
+    public void encode(final Exchange exchange) {
+        final var message = exchange.getMessage();
+        final var rows = toIterator(message.getBody());
+
+        if (!rows.hasNext()) {
+            closeQuietly(rows);
+            exchange.setRouteStop(true);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("No rows to upload, stopping route. [exchangeId=({})]",
+                        exchange.getExchangeId());
+            }
+            return;
+        }
+
+        final var lastKey = new AtomicReference<>();
+        final var column = watermark == null ? null : watermark.getColumn();
+        message.setBody(new NdjsonRowStream(rows, writer, row -> {
+            if (column != null && row instanceof Map) {
+                lastKey.set(getColumnValue((Map<?, ?>) row, column));
+            }
+        }));
+        message.setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE);
+        message.removeHeader(Exchange.CONTENT_LENGTH);
+
+        if (watermark != null) {
+            exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onComplete(final Exchange completed) {
+                    watermark.commit(lastKey.get());
+                }
+            });
+        }
+    }
+
+    /**
+     * Converts a body to an iterator of rows.
+     *
+     * @param body the body.
+     * @return the rows.
+     */
+    private static Iterator<?> toIterator(final Object body) {
+        if (body instanceof Iterator) {
+            return (Iterator<?>) body;
+        } else if (body instanceof Iterable) {
+            return ((Iterable<?>) body).iterator();
+        } else if (body == null) {
+            return Collections.emptyIterator();
+        }
+        return Collections.singletonList(body).iterator();
+    }
+
+    /**
+     * Returns a column's value of a row, matching the column name case-insensitively if needed.
+     *
+     * @param row the row.
+     * @param column the column name.
+     * @return the value, or null if the row has no such column.
+     */
+    private static Object getColumnValue(final Map<?, ?> row, final String column) {
+        if (row.containsKey(column)) {
+            return row.get(column);
+        }
+        for (final var entry : row.entrySet()) {
+            if (column.equalsIgnoreCase(String.valueOf(entry.getKey()))) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Closes the rows' iterator, if it holds resources like a database cursor.
+     *
+     * @param rows the rows.
+     */
+    private static void closeQuietly(final Iterator<?> rows) {
+        if (rows instanceof Closeable) {
+            try {
+                ((Closeable) rows).close();
+            } catch (IOException e) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Failed to close rows. [exception=({})]", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+}
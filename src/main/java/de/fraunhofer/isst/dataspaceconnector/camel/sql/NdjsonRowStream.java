@@ -0,0 +1,127 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.sql;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * An input stream that lazily encodes rows as newline-delimited JSON (NDJSON). Only the row that
+ * is currently being read is held in memory, so a result set of any size can be streamed, e.g.
+ * as a chunked HTTP request body.
+ */
+public class NdjsonRowStream extends InputStream {
+
+    /**
+     * The rows to encode.
+     */
+    private final Iterator<?> rows;
+
+    /**
+     * The JSON writer.
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * Notified of every row before it is encoded.
+     */
+    private final Consumer<Object> rowListener;
+
+    /**
+     * Buffer holding the encoded current row.
+     */
+    private final RowBuffer buffer = new RowBuffer();
+
+    /**
+     * Read position within the buffer.
+     */
+    private int position;
+
+    /**
+     * Constructor for the NdjsonRowStream.
+     *
+     * @param rows the rows to encode. If the iterator is closeable, it is closed with the stream.
+     * @param writer the JSON writer.
+     * @param rowListener notified of every row before it is encoded.
+     */
+    public NdjsonRowStream(final Iterator<?> rows, final ObjectWriter writer,
+                           final Consumer<Object> rowListener) {
+        super();
+        this.rows = rows;
+        this.writer = writer;
+        this.rowListener = rowListener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer.bytes()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+
+        final var count = Math.min(len, buffer.size() - position);
+        System.arraycopy(buffer.bytes(), position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rows instanceof Closeable) {
+            ((Closeable) rows).close();
+        }
+    }
+
+    /**
+     * Encodes the next row, if the current one has been read completely.
+     *
+     * @return false, if all rows have been read.
+     * @throws IOException if a row cannot be encoded.
+     */
+    private boolean fill() throws IOException {
+        while (position >= buffer.size()) {
+            if (!rows.hasNext()) {
+                return false;
+            }
+
+            final var row = rows.next();
+            rowListener.accept(row);
+            buffer.reset();
+            writer.writeValue(buffer, row);
+            buffer.write('\n');
+            position = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Byte array output stream exposing its internal buffer to avoid copying every row.
+     */
+    private static final class RowBuffer extends ByteArrayOutputStream {
+
+        /**
+         * Returns the internal buffer. Only the first {@link #size()} bytes are valid.
+         *
+         * @return the internal buffer.
+         */
+        private byte[] bytes() {
+            return buf;
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * File-based store for uploaded bean files. Bean definitions cannot be serialized individually,
+ * so every uploaded file is stored as is, named by its content hash, together with an index of
+ * the beans it defines that have not been removed since.
+ */
+@Component
+public class BeanStore {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanStore.class);
+
+    /**
+     * File extension of stored bean files.
+     */
+    private static final String XML_EXTENSION = ".xml";
+
+    /**
+     * File extension of the bean name indexes.
+     */
+    private static final String INDEX_EXTENSION = ".beans";
+
+    /**
+     * A stored bean file together with the names of its beans that are still deployed.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StoredBeans {
+
+        /**
+         * The content hash of the file.
+         */
+        private final String hash;
+
+        /**
+         * The stored bean file.
+         */
+        private final Path file;
+
+        /**
+         * The names of the beans that are still deployed.
+         */
+        private final Set<String> beanNames;
+
+    }
+
+    /**
+     * Whether the store is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The directory containing the stored bean files.
+     */
+    private final Path directory;
+
+    /**
+     * Constructor for the BeanStore.
+     *
+     * @param enabled whether the store is enabled.
+     * @param path the base directory of the store.
+     */
+    @Autowired
+    public BeanStore(@Value("${store.enabled:false}") final boolean enabled,
+                     @Value("${store.path:./store}") final String path) {
+        this.enabled = enabled;
+        this.directory = Path.of(path, "beans");
+    }
+
+    /**
+     * Returns whether the store is enabled. If it is not, all operations are no-ops.
+     *
+     * @return true, if the store is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores a bean file. The beans it defines are removed from the indexes of previously
+     * stored files, so that a bean replaced by a later upload is restored from the later file
+     * only.
+     *
+     * @param hash the content hash of the file.
+     * @param content the file content.
+     * @param beanNames the names of the beans registered by the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void save(final String hash, final InputStream content,
+                                  final Collection<String> beanNames) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        final var temp = Files.createTempFile(directory, ".", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, directory.resolve(hash + XML_EXTENSION),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        writeIndex(hash, new LinkedHashSet<>(beanNames));
+        removeFromIndexes(hash, beanNames);
+    }
+
+    /**
+     * Removes a bean from the store. If it was the last remaining bean of its file, the file is
+     * deleted.
+     *
+     * @param beanName the bean name.
+     * @throws IOException if the store cannot be updated.
+     */
+    public synchronized void delete(final String beanName) throws IOException {
+        removeFromIndexes(null, Set.of(beanName));
+    }
+
+    /**
+     * Returns all stored bean files.
+     *
+     * @return the stored bean files.
+     * @throws IOException if the store cannot be read.
+     */
+    public synchronized List<StoredBeans> loadAll() throws IOException {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        final List<Path> indexes;
+        try (var files = Files.list(directory)) {
+            indexes = files.filter(file -> file.getFileName().toString()
+                    .endsWith(INDEX_EXTENSION)).sorted().collect(Collectors.toList());
+        }
+
+        final var result = new ArrayList<StoredBeans>();
+        for (final var index : indexes) {
+            final var name = index.getFileName().toString();
+            final var hash = name.substring(0, name.length() - INDEX_EXTENSION.length());
+            final var file = directory.resolve(hash + XML_EXTENSION);
+            if (!Files.exists(file)) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Skipping stored beans {} because the file is missing.", hash);
+                }
+                continue;
+            }
+
+            final var beanNames = Files.readAllLines(index, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            result.add(new StoredBeans(hash, file, beanNames));
+        }
+        return result;
+    }
+
+    /**
+     * Removes bean names from the indexes of all stored files but one. Files without remaining
+     * beans are deleted.
+     *
+     * @param keepHash the content hash of the file to leave untouched, or null.
+     * @param beanNames the bean names to remove.
+     * @throws IOException if the store cannot be updated.
+     */
+    private void removeFromIndexes(final String keepHash, final Collection<String> beanNames)
+            throws IOException {
+        for (final var stored : loadAll()) {
+            if (stored.getHash().equals(keepHash)) {
+                continue;
+            }
+
+            final var names = new LinkedHashSet<>(stored.getBeanNames());
+            if (!names.removeAll(beanNames)) {
+                continue;
+            }
+
+            if (names.isEmpty()) {
+                Files.deleteIfExists(stored.getFile());
+                Files.deleteIfExists(directory.resolve(stored.getHash() + INDEX_EXTENSION));
+            } else {
+                writeIndex(stored.getHash(), names);
+            }
+        }
+    }
+
+    /**
+     * Writes the index of a stored bean file.
+     *
+     * @param hash the content hash of the file.
+     * @param beanNames the names of the beans that are still deployed.
+     * @throws IOException if the index cannot be written.
+     */
+    private void writeIndex(final String hash, final Set<String> beanNames) throws IOException {
+        StoreFiles.writeAtomically(directory.resolve(hash + INDEX_EXTENSION),
+                String.join("\n", beanNames).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,211 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.RoutesDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * File-based store for deployed route definitions. Every route is stored as a separate,
+ * GZIP-compressed file containing its canonical XML form as written by JAXB. Storing the
+ * definitions instead of the uploaded files allows routes to be removed individually.
+ */
+@Component
+public class RouteStore {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteStore.class);
+
+    /**
+     * File extension of stored routes.
+     */
+    private static final String EXTENSION = ".xml.gz";
+
+    /**
+     * Whether the store is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The directory containing the stored routes.
+     */
+    private final Path directory;
+
+    /**
+     * The JAXBContext for writing routes.
+     */
+    private final JAXBContext jaxbContext;
+
+    /**
+     * The parser for reading routes.
+     */
+    private final RouteDefinitionParser routeParser;
+
+    /**
+     * Constructor for the RouteStore.
+     *
+     * @param enabled whether the store is enabled.
+     * @param path the base directory of the store.
+     * @param jaxbContext the JAXBContext.
+     * @param routeParser the RouteDefinitionParser.
+     */
+    @Autowired
+    public RouteStore(@Value("${store.enabled:false}") final boolean enabled,
+                      @Value("${store.path:./store}") final String path,
+                      final JAXBContext jaxbContext,
+                      final RouteDefinitionParser routeParser) {
+        this.enabled = enabled;
+        this.directory = Path.of(path, "routes");
+        this.jaxbContext = jaxbContext;
+        this.routeParser = routeParser;
+    }
+
+    /**
+     * Returns whether the store is enabled. If it is not, all operations are no-ops.
+     *
+     * @return true, if the store is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores route definitions, replacing any stored definitions with the same IDs.
+     *
+     * @param routes the route definitions.
+     * @throws IOException if a route cannot be written.
+     */
+    public void save(final List<RouteDefinition> routes) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        for (final var route : routes) {
+            StoreFiles.writeAtomically(file(route.getId()), serialize(route));
+        }
+    }
+
+    /**
+     * Removes a stored route definition, if it exists.
+     *
+     * @param routeId the route ID.
+     * @throws IOException if the route cannot be deleted.
+     */
+    public void delete(final String routeId) throws IOException {
+        if (enabled) {
+            Files.deleteIfExists(file(routeId));
+        }
+    }
+
+    /**
+     * Returns the IDs of all stored routes.
+     *
+     * @return the route IDs.
+     * @throws IOException if the store cannot be read.
+     */
+    public List<String> listIds() throws IOException {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (var files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .map(name -> StoreFiles.decode(name.substring(0,
+                            name.length() - EXTENSION.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads a stored route definition.
+     *
+     * @param routeId the route ID.
+     * @return the route definition.
+     * @throws IOException if the route cannot be read.
+     */
+    public RouteDefinition load(final String routeId) throws IOException {
+        try (var inputStream = new GZIPInputStream(Files.newInputStream(file(routeId)))) {
+            final var routes = routeParser.parseRoutes(inputStream).getRoutes();
+            if (routes.size() != 1) {
+                throw new IOException("Stored file for route " + routeId
+                        + " does not contain exactly one route.");
+            }
+            return routes.get(0);
+        } catch (JAXBException e) {
+            throw new IOException("Could not read stored route " + routeId, e);
+        }
+    }
+
+    /**
+     * Reads all stored route definitions. Routes that cannot be read are skipped.
+     *
+     * @return the route definitions.
+     * @throws IOException if the store cannot be read.
+     */
+    public List<RouteDefinition> loadAll() throws IOException {
+        final var routes = new ArrayList<RouteDefinition>();
+        for (final var routeId : listIds()) {
+            try {
+                routes.add(load(routeId));
+            } catch (IOException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Skipping stored route {}. [exception=({})]",
+                            routeId, e.getMessage(), e);
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Writes a route definition as compressed XML.
+     *
+     * @param route the route definition.
+     * @return the serialized route.
+     * @throws IOException if the route cannot be serialized.
+     */
+    private byte[] serialize(final RouteDefinition route) throws IOException {
+        final var wrapper = new RoutesDefinition();
+        wrapper.setRoutes(List.of(route));
+
+        final var bytes = new ByteArrayOutputStream();
+        try (var outputStream = new GZIPOutputStream(bytes)) {
+            jaxbContext.createMarshaller().marshal(wrapper, outputStream);
+        } catch (JAXBException e) {
+            throw new IOException("Could not serialize route " + route.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the file of a stored route.
+     *
+     * @param routeId the route ID.
+     * @return the file.
+     */
+    private Path file(final String routeId) {
+        return directory.resolve(StoreFiles.encode(routeId) + EXTENSION);
+    }
+
+}
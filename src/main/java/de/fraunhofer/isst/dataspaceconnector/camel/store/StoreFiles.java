@@ -0,0 +1,61 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * File helpers shared by the stores.
+ */
+final class StoreFiles {
+
+    /**
+     * Utility class, not to be instantiated.
+     */
+    private StoreFiles() {
+    }
+
+    /**
+     * Writes a file by first writing a temporary file in the same directory and then moving it
+     * to the target atomically, so that a crash never leaves a partially written file behind.
+     *
+     * @param target the target file.
+     * @param content the file content.
+     * @throws IOException if the file cannot be written.
+     */
+    static void writeAtomically(final Path target, final byte[] content) throws IOException {
+        final var temp = Files.createTempFile(target.getParent(), ".", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Encodes an ID so that it can safely be used as a file name.
+     *
+     * @param id the ID.
+     * @return the file name.
+     */
+    static String encode(final String id) {
+        return URLEncoder.encode(id, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a file name created with {@link #encode(String)}.
+     *
+     * @param fileName the file name.
+     * @return the ID.
+     */
+    static String decode(final String fileName) {
+        return URLDecoder.decode(fileName, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,246 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.config.context.CachingDocumentLoader;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteStartup;
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ModelCamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the stored beans, routes and route templates once the application has started. Beans
+ * are restored first, as routes may reference them; the routes are then started concurrently.
+ * Finally, the routes created from templates are re-created. In cluster mode, the routes are
+ * not restored here, but started by the cluster coordinator on the members owning them.
+ */
+@Component
+public class StoreRestorer {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreRestorer.class);
+
+    /**
+     * The route store.
+     */
+    private final RouteStore routeStore;
+
+    /**
+     * The bean store.
+     */
+    private final BeanStore beanStore;
+
+    /**
+     * The template store.
+     */
+    private final TemplateStore templateStore;
+
+    /**
+     * The Camel context.
+     */
+    private final ModelCamelContext camelContext;
+
+    /**
+     * Service for deploying routes.
+     */
+    private final RouteDeploymentService deploymentService;
+
+    /**
+     * Reader for parsing beans from XML and adding them to the application context.
+     */
+    private final XmlBeanDefinitionReader xmlBeanReader;
+
+    /**
+     * Bean registry of the application context.
+     */
+    private final BeanDefinitionRegistry beanRegistry;
+
+    /**
+     * Registry the stored bean files are parsed into before their indexed beans are copied to
+     * the application context. Emptied after every file.
+     */
+    private final DefaultListableBeanFactory staging = new DefaultListableBeanFactory();
+
+    /**
+     * Reader for parsing stored bean files into the staging registry.
+     */
+    private final XmlBeanDefinitionReader stagingReader = new XmlBeanDefinitionReader(staging);
+
+    /**
+     * The content hash of the stored file each restored bean was loaded from, by bean name.
+     */
+    private final Map<String, String> restoredBeans = new HashMap<>();
+
+    /**
+     * Whether cluster mode is enabled.
+     */
+    private final boolean clustered;
+
+    /**
+     * Constructor for the StoreRestorer.
+     *
+     * @param routeStore the RouteStore.
+     * @param beanStore the BeanStore.
+     * @param templateStore the TemplateStore.
+     * @param camelContext the CamelContext.
+     * @param deploymentService the RouteDeploymentService.
+     * @param xmlBeanReader the XmlBeanDefinitionReader.
+     * @param beanRegistry the BeanDefinitionRegistry.
+     * @param clustered whether cluster mode is enabled.
+     */
+    @Autowired
+    public StoreRestorer(final RouteStore routeStore, final BeanStore beanStore,
+                         final TemplateStore templateStore, final CamelContext camelContext,
+                         final RouteDeploymentService deploymentService,
+                         final XmlBeanDefinitionReader xmlBeanReader,
+                         final BeanDefinitionRegistry beanRegistry,
+                         @Value("${cluster.enabled:false}") final boolean clustered) {
+        this.routeStore = routeStore;
+        this.beanStore = beanStore;
+        this.templateStore = templateStore;
+        this.camelContext = camelContext.adapt(ModelCamelContext.class);
+        this.deploymentService = deploymentService;
+        this.xmlBeanReader = xmlBeanReader;
+        this.beanRegistry = beanRegistry;
+        this.clustered = clustered;
+
+        stagingReader.setValidationMode(XmlBeanDefinitionReader.VALIDATION_XSD);
+        stagingReader.setDocumentLoader(new CachingDocumentLoader());
+    }
+
+    /**
+     * Restores all stored beans and routes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (clustered || (!routeStore.isEnabled() && !beanStore.isEnabled()
+                && !templateStore.isEnabled())) {
+            return;
+        }
+
+        final var startTime = System.nanoTime();
+        try {
+            restoreBeans(beanStore.loadAll());
+            final var results = new ArrayList<>(deploymentService.restore(routeStore.loadAll()));
+            camelContext.addRouteTemplateDefinitions(templateStore.loadTemplates());
+            results.addAll(deploymentService.restoreFromTemplates(templateStore.loadRoutes()));
+
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Restored {} routes ({} failed to start) in {} ms.", results.size(),
+                        countFailed(results), (System.nanoTime() - startTime) / 1_000_000);
+            }
+        } catch (Exception e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Could not restore stored beans and routes. [exception=({})]",
+                        e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reconciles the registered beans with the stored bean files. A file is loaded if one of its
+     * beans is not registered or was restored from another file, i.e. the bean was replaced by a
+     * later upload. Only the beans in the file's index are registered. Beans restored earlier
+     * that are no longer indexed by any file, because they or their file were deleted, are
+     * removed.
+     *
+     * @param storedBeans the stored bean files.
+     */
+    public synchronized void restoreBeans(final List<BeanStore.StoredBeans> storedBeans) {
+        final var indexed = new HashMap<String, String>();
+        for (final var stored : storedBeans) {
+            stored.getBeanNames().forEach(name -> indexed.put(name, stored.getHash()));
+        }
+
+        for (final var iterator = restoredBeans.entrySet().iterator(); iterator.hasNext();) {
+            final var name = iterator.next().getKey();
+            if (indexed.containsKey(name)) {
+                continue;
+            }
+
+            iterator.remove();
+            if (beanRegistry.containsBeanDefinition(name)) {
+                beanRegistry.removeBeanDefinition(name);
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Removed bean {}, as it was deleted from the store.", name);
+                }
+            }
+        }
+
+        for (final var stored : storedBeans) {
+            if (isRestored(stored)) {
+                continue;
+            }
+
+            try {
+                stagingReader.loadBeanDefinitions(new FileSystemResource(stored.getFile()));
+                for (final var name : stored.getBeanNames()) {
+                    if (staging.containsBeanDefinition(name)) {
+                        beanRegistry.registerBeanDefinition(name, staging.getBeanDefinition(name));
+                        restoredBeans.put(name, stored.getHash());
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Could not restore stored beans {}. [exception=({})]",
+                            stored.getHash(), e.getMessage(), e);
+                }
+            } finally {
+                for (final var name : staging.getBeanDefinitionNames()) {
+                    staging.removeBeanDefinition(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the beans of a stored file are all registered from that file. Registered
+     * beans that were not restored, but uploaded to this instance, are attributed to the file
+     * indexing them.
+     *
+     * @param stored the stored bean file.
+     * @return true, if the file does not have to be loaded.
+     */
+    private boolean isRestored(final BeanStore.StoredBeans stored) {
+        for (final var name : stored.getBeanNames()) {
+            if (!beanRegistry.containsBeanDefinition(name)) {
+                return false;
+            }
+
+            final var source = restoredBeans.putIfAbsent(name, stored.getHash());
+            if (source != null && !source.equals(stored.getHash())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the routes that failed to start.
+     *
+     * @param results the startup results.
+     * @return the number of failed routes.
+     */
+    private static long countFailed(final List<RouteStartup> results) {
+        return results.stream()
+                .filter(r -> r.getStatus() == RouteStartup.Status.FAILED)
+                .count();
+    }
+
+}
@@ -0,0 +1,271 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.TemplatedRoute;
+import org.apache.camel.model.RouteTemplateDefinition;
+import org.apache.camel.model.RouteTemplatesDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * File-based store for route templates and the routes created from them. Templates are stored
+ * like routes, as GZIP-compressed XML. Routes created from templates are stored as their
+ * template ID and parameter values only, so that they are re-created from the template on
+ * restore.
+ */
+@Component
+public class TemplateStore {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateStore.class);
+
+    /**
+     * File extension of stored templates.
+     */
+    private static final String TEMPLATE_EXTENSION = ".xml.gz";
+
+    /**
+     * File extension of stored templated routes.
+     */
+    private static final String ROUTE_EXTENSION = ".json";
+
+    /**
+     * Whether the store is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The directory containing the stored templates.
+     */
+    private final Path templateDirectory;
+
+    /**
+     * The directory containing the stored templated routes.
+     */
+    private final Path routeDirectory;
+
+    /**
+     * The JAXBContext for writing templates.
+     */
+    private final JAXBContext jaxbContext;
+
+    /**
+     * The parser for reading templates.
+     */
+    private final RouteDefinitionParser routeParser;
+
+    /**
+     * The JSON mapper for templated routes.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructor for the TemplateStore.
+     *
+     * @param enabled whether the store is enabled.
+     * @param path the base directory of the store.
+     * @param jaxbContext the JAXBContext.
+     * @param routeParser the RouteDefinitionParser.
+     */
+    @Autowired
+    public TemplateStore(@Value("${store.enabled:false}") final boolean enabled,
+                         @Value("${store.path:./store}") final String path,
+                         final JAXBContext jaxbContext,
+                         final RouteDefinitionParser routeParser) {
+        this.enabled = enabled;
+        this.templateDirectory = Path.of(path, "templates");
+        this.routeDirectory = Path.of(path, "templated-routes");
+        this.jaxbContext = jaxbContext;
+        this.routeParser = routeParser;
+    }
+
+    /**
+     * Returns whether the store is enabled. If it is not, all operations are no-ops.
+     *
+     * @return true, if the store is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores route templates, replacing any stored templates with the same IDs.
+     *
+     * @param templates the route templates.
+     * @throws IOException if a template cannot be written.
+     */
+    public void saveTemplates(final List<RouteTemplateDefinition> templates) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(templateDirectory);
+        for (final var template : templates) {
+            StoreFiles.writeAtomically(templateFile(template.getId()), serialize(template));
+        }
+    }
+
+    /**
+     * Removes a stored route template, if it exists.
+     *
+     * @param templateId the template ID.
+     * @throws IOException if the template cannot be deleted.
+     */
+    public void deleteTemplate(final String templateId) throws IOException {
+        if (enabled) {
+            Files.deleteIfExists(templateFile(templateId));
+        }
+    }
+
+    /**
+     * Reads all stored route templates. Templates that cannot be read are skipped.
+     *
+     * @return the route templates.
+     * @throws IOException if the store cannot be read.
+     */
+    public List<RouteTemplateDefinition> loadTemplates() throws IOException {
+        final var templates = new ArrayList<RouteTemplateDefinition>();
+        for (final var file : list(templateDirectory, TEMPLATE_EXTENSION)) {
+            try (var inputStream = new GZIPInputStream(Files.newInputStream(file))) {
+                templates.addAll(routeParser.parse(inputStream, RouteTemplatesDefinition.class)
+                        .getRouteTemplates());
+            } catch (IOException | JAXBException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Skipping stored template {}. [exception=({})]",
+                            file.getFileName(), e.getMessage(), e);
+                }
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * Stores routes created from templates, replacing any stored routes with the same IDs.
+     *
+     * @param routes the templated routes.
+     * @throws IOException if a route cannot be written.
+     */
+    public void saveRoutes(final List<TemplatedRoute> routes) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(routeDirectory);
+        for (final var route : routes) {
+            StoreFiles.writeAtomically(routeFile(route.getRouteId()),
+                    objectMapper.writeValueAsBytes(route));
+        }
+    }
+
+    /**
+     * Removes a stored templated route, if it exists.
+     *
+     * @param routeId the route ID.
+     * @throws IOException if the route cannot be deleted.
+     */
+    public void deleteRoute(final String routeId) throws IOException {
+        if (enabled) {
+            Files.deleteIfExists(routeFile(routeId));
+        }
+    }
+
+    /**
+     * Reads all stored templated routes. Routes that cannot be read are skipped.
+     *
+     * @return the templated routes.
+     * @throws IOException if the store cannot be read.
+     */
+    public List<TemplatedRoute> loadRoutes() throws IOException {
+        final var routes = new ArrayList<TemplatedRoute>();
+        for (final var file : list(routeDirectory, ROUTE_EXTENSION)) {
+            try {
+                routes.add(objectMapper.readValue(file.toFile(), TemplatedRoute.class));
+            } catch (IOException e) {
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Skipping stored templated route {}. [exception=({})]",
+                            file.getFileName(), e.getMessage(), e);
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Lists the files with an extension in a directory, sorted by name.
+     *
+     * @param directory the directory.
+     * @param extension the file extension.
+     * @return the files.
+     * @throws IOException if the directory cannot be read.
+     */
+    private List<Path> list(final Path directory, final String extension) throws IOException {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(extension))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Writes a route template as compressed XML.
+     *
+     * @param template the route template.
+     * @return the serialized template.
+     * @throws IOException if the template cannot be serialized.
+     */
+    private byte[] serialize(final RouteTemplateDefinition template) throws IOException {
+        final var wrapper = new RouteTemplatesDefinition();
+        wrapper.setRouteTemplates(List.of(template));
+
+        final var bytes = new ByteArrayOutputStream();
+        try (var outputStream = new GZIPOutputStream(bytes)) {
+            jaxbContext.createMarshaller().marshal(wrapper, outputStream);
+        } catch (JAXBException e) {
+            throw new IOException("Could not serialize template " + template.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the file of a stored template.
+     *
+     * @param templateId the template ID.
+     * @return the file.
+     */
+    private Path templateFile(final String templateId) {
+        return templateDirectory.resolve(StoreFiles.encode(templateId) + TEMPLATE_EXTENSION);
+    }
+
+    /**
+     * Returns the file of a stored templated route.
+     *
+     * @param routeId the route ID.
+     * @return the file.
+     */
+    private Path routeFile(final String routeId) {
+        return routeDirectory.resolve(StoreFiles.encode(routeId) + ROUTE_EXTENSION);
+    }
+
+}
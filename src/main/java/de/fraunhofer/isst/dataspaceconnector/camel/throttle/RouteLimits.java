@@ -0,0 +1,64 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.throttle;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Limits of the exchanges a route may start, as set via the admin API or read from the
+ * application properties. Limits that are not set do not apply.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteLimits {
+
+    /**
+     * The number of exchanges the route may start per second on average.
+     */
+    private Double ratePerSecond;
+
+    /**
+     * The number of exchanges the route may start at once after being idle. Defaults to the
+     * rate per second, but at least 1.
+     */
+    private Integer burst;
+
+    /**
+     * The maximum number of exchanges of the route in flight at the same time.
+     */
+    private Integer maxInflight;
+
+    /**
+     * Checks whether the limits are valid.
+     *
+     * @return null, if the limits are valid, or the reason why not.
+     */
+    public String validate() {
+        if (ratePerSecond != null && !(ratePerSecond > 0)) {
+            return "ratePerSecond must be positive.";
+        }
+        if (burst != null && burst < 1) {
+            return "burst must be at least 1.";
+        }
+        if (burst != null && ratePerSecond == null) {
+            return "burst requires ratePerSecond.";
+        }
+        if (maxInflight != null && maxInflight < 1) {
+            return "maxInflight must be at least 1.";
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether any limit is set.
+     *
+     * @return true, if the rate or the number of exchanges in flight is limited.
+     */
+    public boolean isLimited() {
+        return ratePerSecond != null || maxInflight != null;
+    }
+
+}
@@ -0,0 +1,217 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.throttle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import lombok.Getter;
+
+/**
+ * Throttles the exchanges of a route with a token bucket for the rate and a limit of exchanges
+ * in flight. An exchange that may not start yet waits on the thread of the consumer, so that the
+ * consumer stops taking messages from its source until the exchange may start. The limits can be
+ * changed at any time and apply to waiting exchanges right away.
+ */
+public class RouteThrottle {
+
+    /**
+     * The maximum time in nanoseconds an exchange waits before checking the limits again.
+     */
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The number of nanoseconds per second.
+     */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The ID of the route.
+     */
+    @Getter
+    private final String routeId;
+
+    /**
+     * The limits, or null if the route is not throttled.
+     */
+    private volatile RouteLimits limits;
+
+    /**
+     * The tokens currently in the bucket.
+     */
+    private double tokens;
+
+    /**
+     * The time the bucket was last refilled.
+     */
+    private long refilledNanos = System.nanoTime();
+
+    /**
+     * The number of exchanges started with a permit and not done yet.
+     */
+    private int permits;
+
+    /**
+     * The number of exchanges currently waiting.
+     */
+    private int waiting;
+
+    /**
+     * The number of exchanges that had to wait since the limits were last changed.
+     */
+    private long throttled;
+
+    /**
+     * The total time in nanoseconds exchanges waited since the limits were last changed.
+     */
+    private long waitedNanos;
+
+    /**
+     * Constructor for the RouteThrottle.
+     *
+     * @param routeId the ID of the route.
+     */
+    public RouteThrottle(final String routeId) {
+        this.routeId = routeId;
+    }
+
+    /**
+     * Returns the limits.
+     *
+     * @return the limits, or null if the route is not throttled.
+     */
+    public RouteLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Changes the limits and wakes up waiting exchanges, so that the new limits apply to them.
+     * The bucket is filled up to the new burst size.
+     *
+     * @param newLimits the limits, or null to stop throttling the route.
+     */
+    public synchronized void setLimits(final RouteLimits newLimits) {
+        if (newLimits == null || !newLimits.isLimited()) {
+            limits = null;
+        } else {
+            limits = new RouteLimits(newLimits.getRatePerSecond(), newLimits.getBurst(),
+                    newLimits.getMaxInflight());
+            tokens = burstOf(limits);
+        }
+        refilledNanos = System.nanoTime();
+        throttled = 0;
+        waitedNanos = 0;
+        notifyAll();
+    }
+
+    /**
+     * Waits until an exchange may start. An exchange that got a permit must be completed with
+     * {@link #release()}.
+     *
+     * @param stopping checked while waiting, so that exchanges start right away once the route
+     *                 is being stopped and the stop does not wait for the limits.
+     * @return true, if the exchange got a permit, or false if the route is not throttled.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public boolean acquire(final BooleanSupplier stopping) throws InterruptedException {
+        if (limits == null) {
+            return false;
+        }
+
+        synchronized (this) {
+            final var start = System.nanoTime();
+            var waited = false;
+            try {
+                while (true) {
+                    final var current = limits;
+                    if (current == null || stopping.getAsBoolean()) {
+                        return false;
+                    }
+
+                    var waitNanos = MAX_WAIT_NANOS;
+                    if (current.getMaxInflight() == null || permits < current.getMaxInflight()) {
+                        if (current.getRatePerSecond() == null) {
+                            permits++;
+                            return true;
+                        }
+                        refill(current);
+                        if (tokens >= 1) {
+                            tokens--;
+                            permits++;
+                            return true;
+                        }
+                        waitNanos = Math.min(waitNanos, (long) Math.ceil((1 - tokens)
+                                / current.getRatePerSecond() * NANOS_PER_SECOND));
+                    }
+
+                    if (!waited) {
+                        waited = true;
+                        throttled++;
+                    }
+                    waiting++;
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, Math.max(waitNanos, 1));
+                    } finally {
+                        waiting--;
+                    }
+                }
+            } finally {
+                if (waited) {
+                    waitedNanos += System.nanoTime() - start;
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes an exchange that got a permit.
+     */
+    public synchronized void release() {
+        if (permits > 0) {
+            permits--;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Returns the current throttling state.
+     *
+     * @param inflight the number of exchanges of the route in flight.
+     * @return the state.
+     */
+    public synchronized RouteThrottleStatus getStatus(final int inflight) {
+        final var current = limits;
+        Double available = null;
+        if (current != null && current.getRatePerSecond() != null) {
+            refill(current);
+            available = tokens;
+        }
+        return new RouteThrottleStatus(routeId, current, inflight, waiting, available, throttled,
+                TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+    }
+
+    /**
+     * Adds the tokens accumulated since the last refill, up to the burst size.
+     *
+     * @param current the limits.
+     */
+    private void refill(final RouteLimits current) {
+        final var now = System.nanoTime();
+        tokens = Math.min(burstOf(current), tokens + (now - refilledNanos)
+                / NANOS_PER_SECOND * current.getRatePerSecond());
+        refilledNanos = now;
+    }
+
+    /**
+     * Returns the burst size of limits.
+     *
+     * @param current the limits.
+     * @return the burst size.
+     */
+    private static double burstOf(final RouteLimits current) {
+        if (current.getBurst() != null) {
+            return current.getBurst();
+        }
+        return current.getRatePerSecond() != null
+                ? Math.max(1, current.getRatePerSecond()) : 0;
+    }
+
+}
@@ -0,0 +1,104 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.throttle;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Route;
+import org.apache.camel.StatefulService;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.RoutePolicySupport;
+
+/**
+ * Creates route policies that make every exchange of a route wait for its {@link RouteThrottle}
+ * before it starts, so that routes deployed at runtime can be throttled as well.
+ */
+public class RouteThrottlePolicyFactory implements RoutePolicyFactory {
+
+    /**
+     * Prefix of the exchange property marking exchanges that got a permit of the throttle of a
+     * route, followed by the route ID, so that routes called by other routes keep their permits
+     * apart.
+     */
+    private static final String PERMIT_PROPERTY = "DscThrottlePermit.";
+
+    /**
+     * The throttles of all routes.
+     */
+    private final RouteThrottles throttles;
+
+    /**
+     * Constructor for the RouteThrottlePolicyFactory.
+     *
+     * @param throttles the throttles of all routes.
+     */
+    public RouteThrottlePolicyFactory(final RouteThrottles throttles) {
+        this.throttles = throttles;
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(final CamelContext camelContext, final String routeId,
+                                         final NamedNode route) {
+        return new ThrottlePolicy(throttles.get(routeId));
+    }
+
+    /**
+     * Route policy passing the exchanges of a single route through its throttle.
+     */
+    private static final class ThrottlePolicy extends RoutePolicySupport {
+
+        /**
+         * The throttle of the route.
+         */
+        private final RouteThrottle throttle;
+
+        /**
+         * The exchange property marking exchanges that got a permit.
+         */
+        private final String permitProperty;
+
+        /**
+         * Constructor for the ThrottlePolicy.
+         *
+         * @param throttle the throttle of the route.
+         */
+        private ThrottlePolicy(final RouteThrottle throttle) {
+            super();
+            this.throttle = throttle;
+            this.permitProperty = PERMIT_PROPERTY + throttle.getRouteId();
+        }
+
+        @Override
+        public void onExchangeBegin(final Route route, final Exchange exchange) {
+            try {
+                if (throttle.getLimits() != null && throttle.acquire(() -> isStopping(route))) {
+                    exchange.setProperty(permitProperty, Boolean.TRUE);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.setException(e);
+            }
+        }
+
+        @Override
+        public void onExchangeDone(final Route route, final Exchange exchange) {
+            if (exchange.removeProperty(permitProperty) != null) {
+                throttle.release();
+            }
+        }
+
+        /**
+         * Checks whether the consumer of a route is being stopped or suspended.
+         *
+         * @param route the route.
+         * @return true, if the consumer should not take further messages.
+         */
+        private static boolean isStopping(final Route route) {
+            final var consumer = route.getConsumer();
+            return consumer instanceof StatefulService
+                    && !((StatefulService) consumer).isRunAllowed();
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.throttle;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The current throttling state of a route.
+ */
+@Getter
+@AllArgsConstructor
+public class RouteThrottleStatus {
+
+    /**
+     * The ID of the route.
+     */
+    private final String routeId;
+
+    /**
+     * The limits, or null if the route is not throttled.
+     */
+    private final RouteLimits limits;
+
+    /**
+     * The number of exchanges of the route in flight.
+     */
+    private final int inflight;
+
+    /**
+     * The number of exchanges currently waiting to start.
+     */
+    private final int waiting;
+
+    /**
+     * The number of exchanges that can start right away under the rate limit, or null if the
+     * rate is not limited.
+     */
+    private final Double availableTokens;
+
+    /**
+     * The number of exchanges that had to wait since the limits were last changed.
+     */
+    private final long throttled;
+
+    /**
+     * The total time in milliseconds exchanges waited since the limits were last changed.
+     */
+    private final long waitedMs;
+
+}
@@ -0,0 +1,52 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NoArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the throttles of all routes by route ID. Throttles are kept when their route is removed,
+ * so that the limits of a route still apply after it has been replaced or deployed again.
+ */
+@Component
+@NoArgsConstructor
+public class RouteThrottles {
+
+    /**
+     * The throttles by route ID.
+     */
+    private final Map<String, RouteThrottle> throttles = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the throttle of a route, creating it if necessary.
+     *
+     * @param routeId the ID of the route.
+     * @return the throttle.
+     */
+    public RouteThrottle get(final String routeId) {
+        return throttles.computeIfAbsent(routeId, RouteThrottle::new);
+    }
+
+    /**
+     * Returns the throttle of a route, if one exists.
+     *
+     * @param routeId the ID of the route.
+     * @return the throttle, or null if the route has never been created or throttled.
+     */
+    public RouteThrottle find(final String routeId) {
+        return throttles.get(routeId);
+    }
+
+    /**
+     * Changes the limits of a route.
+     *
+     * @param routeId the ID of the route.
+     * @param limits the limits, or null to stop throttling the route.
+     */
+    public void setLimits(final String routeId, final RouteLimits limits) {
+        get(routeId).setLimits(limits);
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports spans to a file with one JSON object per line, for setups without a trace collector.
+ * Besides the IDs, names and timestamps of the OpenTelemetry data model, every line contains the
+ * duration in milliseconds, so that the slowest hops can be found with tools like jq.
+ */
+public class JsonFileSpanExporter implements SpanExporter {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonFileSpanExporter.class);
+
+    /**
+     * Serializes the spans.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The file the spans are appended to.
+     */
+    private final Path file;
+
+    /**
+     * The writer, once the file is opened.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Constructor for the JsonFileSpanExporter.
+     *
+     * @param file the file the spans are appended to. It is created with its directory if it
+     *             does not exist.
+     */
+    public JsonFileSpanExporter(final Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(final Collection<SpanData> spans) {
+        try {
+            if (writer == null) {
+                final var directory = file.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (final var span : spans) {
+                writer.write(MAPPER.writeValueAsString(toJson(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Failed to write {} spans to {}. [exception=({})]", spans.size(),
+                        file, e.getMessage());
+            }
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            } finally {
+                writer = null;
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Converts a span to the fields of its JSON line.
+     *
+     * @param span the span.
+     * @return the fields.
+     */
+    private static LinkedHashMap<String, Object> toJson(final SpanData span) {
+        final var json = new LinkedHashMap<String, Object>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        json.put("parentSpanId", span.getParentSpanContext().isValid()
+                ? span.getParentSpanId() : null);
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("startEpochNanos", span.getStartEpochNanos());
+        json.put("endEpochNanos", span.getEndEpochNanos());
+        json.put("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos())
+                / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        json.put("status", span.getStatus().getStatusCode().name());
+
+        final var attributes = new LinkedHashMap<String, Object>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        json.put("attributes", attributes);
+        return json;
+    }
+
+}
@@ -0,0 +1,395 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import lombok.Getter;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Route;
+import org.apache.camel.util.URISupport;
+
+/**
+ * Records OpenTelemetry spans for the exchanges of routes: one span per route an exchange passes
+ * and, as its children, one span per endpoint the route sends to, e.g. each {@code to}. Calls to
+ * HTTP endpoints carry the span in a W3C {@code traceparent} header, so that the backend, app
+ * or connector can continue the trace. While a processor of a route processes a sampled exchange,
+ * the {@link TracingMdcInterceptStrategy} puts the trace and span ID into the logging MDC, so
+ * that log lines, e.g. of the {@code route-logger} and {@code body-logger}, can be linked to the
+ * trace.
+ *
+ * <p>Tracing can be switched on and off per route at any time. It applies to the exchanges
+ * starting after the switch.</p>
+ */
+public class RouteTracing {
+
+    /**
+     * MDC key of the trace ID.
+     */
+    public static final String TRACE_ID_KEY = "traceId";
+
+    /**
+     * MDC key of the span ID.
+     */
+    public static final String SPAN_ID_KEY = "spanId";
+
+    /**
+     * Prefix of the exchange property holding the span of a route, followed by the route ID.
+     */
+    private static final String ROUTE_SPAN_PROPERTY = "DscTraceRoute.";
+
+    /**
+     * Prefix of the exchange property holding the span of a call to an endpoint, followed by
+     * the endpoint key.
+     */
+    private static final String HOP_SPAN_PROPERTY = "DscTraceHop.";
+
+    /**
+     * Exchange property holding the innermost span of the exchange.
+     */
+    private static final String CURRENT_SPAN_PROPERTY = "DscTraceSpan";
+
+    /**
+     * Attribute key of the route ID.
+     */
+    private static final AttributeKey<String> ROUTE_ID = AttributeKey.stringKey("camel.route.id");
+
+    /**
+     * Attribute key of the exchange ID.
+     */
+    private static final AttributeKey<String> EXCHANGE_ID =
+            AttributeKey.stringKey("camel.exchange.id");
+
+    /**
+     * Attribute key of an endpoint URI.
+     */
+    private static final AttributeKey<String> URI = AttributeKey.stringKey("camel.uri");
+
+    /**
+     * Attribute key of the HTTP method.
+     */
+    private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
+
+    /**
+     * Attribute key of the HTTP status code.
+     */
+    private static final AttributeKey<Long> HTTP_STATUS =
+            AttributeKey.longKey("http.status_code");
+
+    /**
+     * Reads propagation headers from a message.
+     */
+    private static final TextMapGetter<Message> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(final Message carrier) {
+            return carrier.getHeaders().keySet();
+        }
+
+        @Override
+        public String get(final Message carrier, final String key) {
+            return carrier == null ? null : carrier.getHeader(key, String.class);
+        }
+    };
+
+    /**
+     * Writes propagation headers to a message.
+     */
+    private static final TextMapSetter<Message> SETTER = (carrier, key, value) -> {
+        if (carrier != null) {
+            carrier.setHeader(key, value);
+        }
+    };
+
+    /**
+     * The tracer.
+     */
+    private final Tracer tracer;
+
+    /**
+     * The propagator writing and reading trace headers.
+     */
+    private final TextMapPropagator propagator;
+
+    /**
+     * Whether routes without a setting of their own are traced.
+     */
+    @Getter
+    private final boolean enabledByDefault;
+
+    /**
+     * The ratio of traces that are recorded and exported.
+     */
+    @Getter
+    private final double sampleRatio;
+
+    /**
+     * The name of the exporter the spans are sent to.
+     */
+    @Getter
+    private final String exporter;
+
+    /**
+     * The settings of individual routes by route ID.
+     */
+    private final Map<String, Boolean> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the RouteTracing.
+     *
+     * @param tracer the tracer.
+     * @param propagator the propagator writing and reading trace headers.
+     * @param enabledByDefault whether routes without a setting of their own are traced.
+     * @param sampleRatio the ratio of traces that are recorded and exported.
+     * @param exporter the name of the exporter the spans are sent to.
+     */
+    public RouteTracing(final Tracer tracer, final TextMapPropagator propagator,
+                        final boolean enabledByDefault, final double sampleRatio,
+                        final String exporter) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+        this.enabledByDefault = enabledByDefault;
+        this.sampleRatio = sampleRatio;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Checks whether the exchanges of a route are traced.
+     *
+     * @param routeId the route ID.
+     * @return true, if the route is traced.
+     */
+    public boolean isEnabled(final String routeId) {
+        return routes.getOrDefault(routeId, enabledByDefault);
+    }
+
+    /**
+     * Switches tracing on or off for a route.
+     *
+     * @param routeId the route ID.
+     * @param enabled whether the route is traced, or null to apply the default.
+     */
+    public void setEnabled(final String routeId, final Boolean enabled) {
+        if (enabled == null) {
+            routes.remove(routeId);
+        } else {
+            routes.put(routeId, enabled);
+        }
+    }
+
+    /**
+     * Returns the tracing state of a route.
+     *
+     * @param routeId the route ID.
+     * @return the state.
+     */
+    public TracingStatus getStatus(final String routeId) {
+        return new TracingStatus(routeId, isEnabled(routeId), !routes.containsKey(routeId),
+                sampleRatio, exporter);
+    }
+
+    /**
+     * Starts the span of a route for an exchange, if the route is traced. An exchange entering
+     * its first route continues a trace passed in its headers, e.g. by an HTTP client.
+     *
+     * @param route the route.
+     * @param exchange the exchange.
+     */
+    void startRoute(final Route route, final Exchange exchange) {
+        if (!isEnabled(route.getRouteId())) {
+            return;
+        }
+
+        final var parent = exchange.getProperty(CURRENT_SPAN_PROPERTY, ActiveSpan.class);
+        final Context context;
+        if (parent != null) {
+            context = Context.root().with(parent.span);
+        } else if (exchange.getMessage().hasHeaders()
+                && exchange.getMessage().getHeader("traceparent") != null) {
+            context = propagator.extract(Context.root(), exchange.getMessage(), GETTER);
+        } else {
+            context = Context.root();
+        }
+
+        final var span = tracer.spanBuilder(route.getRouteId())
+                .setParent(context)
+                .setSpanKind(parent != null ? SpanKind.INTERNAL : SpanKind.CONSUMER)
+                .setAttribute(ROUTE_ID, route.getRouteId())
+                .setAttribute(EXCHANGE_ID, exchange.getExchangeId())
+                .setAttribute(URI, URISupport.sanitizeUri(route.getEndpoint().getEndpointUri()))
+                .startSpan();
+        final var active = new ActiveSpan(span, parent);
+        exchange.setProperty(ROUTE_SPAN_PROPERTY + route.getRouteId(), active);
+        exchange.setProperty(CURRENT_SPAN_PROPERTY, active);
+    }
+
+    /**
+     * Ends the span of a route for an exchange, if one was started.
+     *
+     * @param route the route.
+     * @param exchange the exchange.
+     */
+    void endRoute(final Route route, final Exchange exchange) {
+        final var active = (ActiveSpan) exchange.removeProperty(ROUTE_SPAN_PROPERTY
+                + route.getRouteId());
+        if (active == null) {
+            return;
+        }
+
+        if (exchange.getException() != null) {
+            active.span.recordException(exchange.getException());
+            active.span.setStatus(StatusCode.ERROR, exchange.getException().getMessage());
+        }
+        active.span.end();
+        active.restore(exchange);
+    }
+
+    /**
+     * Starts the span of a call to an endpoint, if the exchange is traced. Calls to HTTP
+     * endpoints get the trace headers.
+     *
+     * @param exchange the exchange.
+     * @param endpoint the endpoint.
+     */
+    void startHop(final Exchange exchange, final Endpoint endpoint) {
+        final var parent = exchange.getProperty(CURRENT_SPAN_PROPERTY, ActiveSpan.class);
+        if (parent == null) {
+            return;
+        }
+
+        final var uri = URISupport.sanitizeUri(endpoint.getEndpointBaseUri());
+        final var builder = tracer.spanBuilder(uri)
+                .setParent(Context.root().with(parent.span))
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(URI, uri)
+                .setAttribute(EXCHANGE_ID, exchange.getExchangeId());
+        final var http = isHttp(uri);
+        if (http) {
+            final var method = exchange.getMessage().getHeader(Exchange.HTTP_METHOD,
+                    String.class);
+            if (method != null) {
+                builder.setAttribute(HTTP_METHOD, method);
+            }
+        }
+
+        final var span = builder.startSpan();
+        final var active = new ActiveSpan(span, parent);
+        exchange.setProperty(HOP_SPAN_PROPERTY + endpoint.getEndpointKey(), active);
+        exchange.setProperty(CURRENT_SPAN_PROPERTY, active);
+        if (http) {
+            propagator.inject(Context.root().with(span), exchange.getMessage(), SETTER);
+        }
+    }
+
+    /**
+     * Ends the span of a call to an endpoint, if one was started, and removes the trace headers.
+     *
+     * @param exchange the exchange.
+     * @param endpoint the endpoint.
+     */
+    void endHop(final Exchange exchange, final Endpoint endpoint) {
+        final var active = (ActiveSpan) exchange.removeProperty(HOP_SPAN_PROPERTY
+                + endpoint.getEndpointKey());
+        if (active == null) {
+            return;
+        }
+
+        final var message = exchange.getMessage();
+        final var status = message.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (status != null) {
+            active.span.setAttribute(HTTP_STATUS, status.longValue());
+        }
+        if (exchange.getException() != null) {
+            active.span.recordException(exchange.getException());
+            active.span.setStatus(StatusCode.ERROR, exchange.getException().getMessage());
+        } else if (status != null && status >= 500) {
+            active.span.setStatus(StatusCode.ERROR);
+        }
+        active.span.end();
+        for (final var field : propagator.fields()) {
+            message.removeHeader(field);
+        }
+        if (active.parent != null) {
+            exchange.setProperty(CURRENT_SPAN_PROPERTY, active.parent);
+        } else {
+            exchange.removeProperty(CURRENT_SPAN_PROPERTY);
+        }
+    }
+
+    /**
+     * Returns the context of the innermost span of an exchange, if it is sampled.
+     *
+     * @param exchange the exchange.
+     * @return the span context, or null if the exchange is not traced or not sampled.
+     */
+    SpanContext sampledSpanContext(final Exchange exchange) {
+        final var active = exchange.getProperty(CURRENT_SPAN_PROPERTY, ActiveSpan.class);
+        if (active == null) {
+            return null;
+        }
+        final var context = active.span.getSpanContext();
+        return context.isSampled() ? context : null;
+    }
+
+    /**
+     * Checks whether an endpoint URI is an HTTP URI.
+     *
+     * @param uri the endpoint URI.
+     * @return true, if the URI starts with http or https.
+     */
+    private static boolean isHttp(final String uri) {
+        return uri.startsWith("http:") || uri.startsWith("https:");
+    }
+
+    /**
+     * A started span and the span that was current before.
+     */
+    private static final class ActiveSpan {
+
+        /**
+         * The span.
+         */
+        private final Span span;
+
+        /**
+         * The span that was current before, or null.
+         */
+        private final ActiveSpan parent;
+
+        /**
+         * Constructor for the ActiveSpan.
+         *
+         * @param span the span.
+         * @param parent the span that was current before, or null.
+         */
+        private ActiveSpan(final Span span, final ActiveSpan parent) {
+            this.span = span;
+            this.parent = parent;
+        }
+
+        /**
+         * Makes the previous span current again.
+         *
+         * @param exchange the exchange.
+         */
+        private void restore(final Exchange exchange) {
+            if (parent != null) {
+                exchange.setProperty(CURRENT_SPAN_PROPERTY, parent);
+            } else {
+                exchange.removeProperty(CURRENT_SPAN_PROPERTY);
+            }
+        }
+
+    }
+
+}
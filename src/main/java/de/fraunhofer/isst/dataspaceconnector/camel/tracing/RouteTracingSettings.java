@@ -0,0 +1,22 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Tracing settings of a route, as set via the admin API.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteTracingSettings {
+
+    /**
+     * Whether the exchanges of the route are traced.
+     */
+    private Boolean enabled;
+
+}
@@ -0,0 +1,51 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.support.EventNotifierSupport;
+
+/**
+ * Records a span for every call of a traced exchange to an endpoint, from the event sent before
+ * the call to the event sent after it.
+ */
+public class TracingEventNotifier extends EventNotifierSupport {
+
+    /**
+     * The route tracing.
+     */
+    private final RouteTracing tracing;
+
+    /**
+     * Constructor for the TracingEventNotifier.
+     *
+     * @param tracing the route tracing.
+     */
+    public TracingEventNotifier(final RouteTracing tracing) {
+        super();
+        this.tracing = tracing;
+        setIgnoreCamelContextEvents(true);
+        setIgnoreRouteEvents(true);
+        setIgnoreServiceEvents(true);
+        setIgnoreExchangeCreatedEvent(true);
+        setIgnoreExchangeCompletedEvent(true);
+        setIgnoreExchangeFailedEvents(true);
+        setIgnoreExchangeRedeliveryEvents(true);
+    }
+
+    @Override
+    public boolean isEnabled(final CamelEvent event) {
+        return event instanceof CamelEvent.ExchangeSendingEvent
+                || event instanceof CamelEvent.ExchangeSentEvent;
+    }
+
+    @Override
+    public void notify(final CamelEvent event) {
+        if (event instanceof CamelEvent.ExchangeSendingEvent) {
+            final var sending = (CamelEvent.ExchangeSendingEvent) event;
+            tracing.startHop(sending.getExchange(), sending.getEndpoint());
+        } else if (event instanceof CamelEvent.ExchangeSentEvent) {
+            final var sent = (CamelEvent.ExchangeSentEvent) event;
+            tracing.endHop(sent.getExchange(), sent.getEndpoint());
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.slf4j.MDC;
+
+/**
+ * Puts the trace and span ID of a sampled exchange into the logging MDC while a processor of a
+ * route processes it, and restores the previous values once the processor returns. The MDC is
+ * thereby set and cleared on the same thread, even if the exchange continues on another thread,
+ * e.g. after a {@code threads} EIP or an asynchronous call. A continuation on another thread is
+ * processed by the next wrapped processor, which sets the MDC of that thread.
+ */
+public class TracingMdcInterceptStrategy implements InterceptStrategy {
+
+    /**
+     * The route tracing.
+     */
+    private final RouteTracing tracing;
+
+    /**
+     * Constructor for the TracingMdcInterceptStrategy.
+     *
+     * @param tracing the route tracing.
+     */
+    public TracingMdcInterceptStrategy(final RouteTracing tracing) {
+        this.tracing = tracing;
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(final CamelContext context,
+                                                 final NamedNode definition,
+                                                 final Processor target,
+                                                 final Processor nextTarget) {
+        return new MdcProcessor(target, tracing);
+    }
+
+    /**
+     * Processor setting the MDC around a single processor.
+     */
+    private static final class MdcProcessor extends DelegateAsyncProcessor {
+
+        /**
+         * The route tracing.
+         */
+        private final RouteTracing tracing;
+
+        /**
+         * Constructor for the MdcProcessor.
+         *
+         * @param target the wrapped processor.
+         * @param tracing the route tracing.
+         */
+        private MdcProcessor(final Processor target, final RouteTracing tracing) {
+            super(target);
+            this.tracing = tracing;
+        }
+
+        @Override
+        public boolean process(final Exchange exchange, final AsyncCallback callback) {
+            final var spanContext = tracing.sampledSpanContext(exchange);
+            if (spanContext == null) {
+                return super.process(exchange, callback);
+            }
+
+            final var previousTraceId = MDC.get(RouteTracing.TRACE_ID_KEY);
+            final var previousSpanId = MDC.get(RouteTracing.SPAN_ID_KEY);
+            MDC.put(RouteTracing.TRACE_ID_KEY, spanContext.getTraceId());
+            MDC.put(RouteTracing.SPAN_ID_KEY, spanContext.getSpanId());
+            try {
+                return super.process(exchange, callback);
+            } finally {
+                restore(RouteTracing.TRACE_ID_KEY, previousTraceId);
+                restore(RouteTracing.SPAN_ID_KEY, previousSpanId);
+            }
+        }
+
+        /**
+         * Restores a value of the MDC.
+         *
+         * @param key the key.
+         * @param value the previous value, or null to remove the key.
+         */
+        private static void restore(final String key, final String value) {
+            if (value != null) {
+                MDC.put(key, value);
+            } else {
+                MDC.remove(key);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "TracingMdc(" + processor + ")";
+        }
+
+    }
+
+}
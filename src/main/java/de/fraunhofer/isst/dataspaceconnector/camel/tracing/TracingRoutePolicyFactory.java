@@ -0,0 +1,69 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Route;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.RoutePolicySupport;
+
+/**
+ * Creates route policies that record a span for every exchange of a traced route, so that
+ * routes deployed at runtime are covered as well.
+ */
+public class TracingRoutePolicyFactory implements RoutePolicyFactory {
+
+    /**
+     * The route tracing.
+     */
+    private final RouteTracing tracing;
+
+    /**
+     * Constructor for the TracingRoutePolicyFactory.
+     *
+     * @param tracing the route tracing.
+     */
+    public TracingRoutePolicyFactory(final RouteTracing tracing) {
+        this.tracing = tracing;
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(final CamelContext camelContext, final String routeId,
+                                         final NamedNode route) {
+        return new TracingPolicy(tracing);
+    }
+
+    /**
+     * Route policy starting and ending the spans of a single route.
+     */
+    private static final class TracingPolicy extends RoutePolicySupport {
+
+        /**
+         * The route tracing.
+         */
+        private final RouteTracing tracing;
+
+        /**
+         * Constructor for the TracingPolicy.
+         *
+         * @param tracing the route tracing.
+         */
+        private TracingPolicy(final RouteTracing tracing) {
+            super();
+            this.tracing = tracing;
+        }
+
+        @Override
+        public void onExchangeBegin(final Route route, final Exchange exchange) {
+            tracing.startRoute(route, exchange);
+        }
+
+        @Override
+        public void onExchangeDone(final Route route, final Exchange exchange) {
+            tracing.endRoute(route, exchange);
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The tracing state of a route.
+ */
+@Getter
+@AllArgsConstructor
+public class TracingStatus {
+
+    /**
+     * The ID of the route.
+     */
+    private final String routeId;
+
+    /**
+     * Whether the exchanges of the route are traced.
+     */
+    private final boolean enabled;
+
+    /**
+     * Whether the route uses the default instead of a setting of its own.
+     */
+    private final boolean inherited;
+
+    /**
+     * The ratio of traces that are recorded and exported.
+     */
+    private final double sampleRatio;
+
+    /**
+     * The exporter the spans are sent to.
+     */
+    private final String exporter;
+
+}
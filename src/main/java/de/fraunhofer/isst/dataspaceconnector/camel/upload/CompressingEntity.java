@@ -0,0 +1,99 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+/**
+ * A request entity that compresses its content while it is written to the connection. The
+ * length of the compressed content is not known in advance, so the entity is sent with chunked
+ * transfer encoding and never held in memory as a whole.
+ */
+public class CompressingEntity extends AbstractHttpEntity {
+
+    /**
+     * The uncompressed content.
+     */
+    private final InputStream source;
+
+    /**
+     * The content coding.
+     */
+    private final ContentEncoding encoding;
+
+    /**
+     * The compression level, or null for the default of the encoding.
+     */
+    private final Integer level;
+
+    /**
+     * The size of the buffer used for copying the content.
+     */
+    private final int bufferSize;
+
+    /**
+     * Whether the content has been written.
+     */
+    private boolean consumed;
+
+    /**
+     * Constructor for the CompressingEntity.
+     *
+     * @param source the uncompressed content, closed once it has been written.
+     * @param contentType the content type of the uncompressed content, may be null.
+     * @param encoding the content coding.
+     * @param level the compression level, or null for the default of the encoding.
+     * @param bufferSize the size of the buffer used for copying the content.
+     */
+    public CompressingEntity(final InputStream source, final String contentType,
+                             final ContentEncoding encoding, final Integer level,
+                             final int bufferSize) {
+        this.source = source;
+        this.encoding = encoding;
+        this.level = level;
+        this.bufferSize = bufferSize;
+        setContentType(contentType);
+        if (encoding != ContentEncoding.IDENTITY) {
+            setContentEncoding(encoding.getToken());
+        }
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() {
+        throw new UnsupportedOperationException("The content can only be written.");
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        if (consumed) {
+            throw new IllegalStateException("The content has already been written.");
+        }
+        consumed = true;
+
+        try (source; var compressed = encoding.wrap(out, level)) {
+            final var buffer = new byte[bufferSize];
+            for (var read = source.read(buffer); read != -1; read = source.read(buffer)) {
+                compressed.write(buffer, 0, read);
+            }
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return !consumed;
+    }
+
+}
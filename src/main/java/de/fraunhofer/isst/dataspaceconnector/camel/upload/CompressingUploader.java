@@ -0,0 +1,405 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.upload;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.resilience.ResilienceInterceptStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.StreamCache;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends message bodies to HTTP endpoints, e.g. the artifact data endpoint of the connector, as
+ * compressed request bodies with chunked transfer encoding, so that large payloads take less
+ * bandwidth and are never held in memory completely for the upload.
+ *
+ * <p>The encoding is negotiated per target (scheme, host and port): a target is sent its
+ * configured encoding until it answers 415 (Unsupported Media Type). The uploader then switches
+ * to an encoding listed in the response's Accept-Encoding header, or to uncompressed uploads,
+ * and retries the message once if its body can be read again. The preferred encoding is tried
+ * again after the renegotiation interval.</p>
+ *
+ * <p>Uploads are sent with a producer template, which the route resilience settings do not
+ * intercept, so they pass the guard of their target host themselves.</p>
+ */
+public class CompressingUploader implements Closeable {
+
+    /**
+     * Header holding the URI the message is sent to.
+     */
+    public static final String URI_HEADER = "DscUploadUri";
+
+    /**
+     * Header set on the response to the content coding the message was sent with.
+     */
+    public static final String ENCODING_HEADER = "DscUploadEncoding";
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompressingUploader.class);
+
+    /**
+     * Status code of a response rejecting the content coding.
+     */
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+
+    /**
+     * The encoding used for targets without an encoding of their own. Uncompressed by default,
+     * as a target that ignores the Content-Encoding header would store the compressed bytes.
+     */
+    @Getter
+    @Setter
+    private ContentEncoding encoding = ContentEncoding.IDENTITY;
+
+    /**
+     * The encodings of individual targets, by host and port, e.g. "dataspace-connector:8080".
+     */
+    @Getter
+    private final Map<String, ContentEncoding> targetEncodings = new ConcurrentHashMap<>();
+
+    /**
+     * The compression level, or null for the default of the encoding.
+     */
+    @Getter
+    @Setter
+    private Integer level;
+
+    /**
+     * Bodies of known size smaller than this many bytes (characters for strings) are sent
+     * uncompressed.
+     */
+    @Getter
+    @Setter
+    private long minBytes = 1_024;
+
+    /**
+     * The size of the buffer used for compressing bodies.
+     */
+    @Getter
+    @Setter
+    private int bufferSize = 65_536;
+
+    /**
+     * The time in milliseconds after which a target that rejected an encoding is sent its
+     * preferred encoding again.
+     */
+    @Getter
+    @Setter
+    private long renegotiateMillis = 3_600_000;
+
+    /**
+     * The negotiated encodings of targets that rejected their preferred encoding.
+     */
+    private final Map<String, Negotiation> negotiations = new ConcurrentHashMap<>();
+
+    /**
+     * The producer template, once created.
+     */
+    private volatile ProducerTemplate producerTemplate;
+
+    /**
+     * Sends the message to the URI in the {@link #URI_HEADER} header with the encoding
+     * negotiated for the target. Afterwards, the exchange holds the response.
+     *
+     * @param exchange the exchange.
+     * @throws IllegalArgumentException if the header is missing.
+     * @throws NoTypeConversionAvailableException if the body cannot be read as a stream.
+     */
+    public void send(final Exchange exchange) throws NoTypeConversionAvailableException {
+        final var message = exchange.getMessage();
+        final var uri = message.getHeader(URI_HEADER, String.class);
+        if (uri == null || uri.isBlank()) {
+            throw new IllegalArgumentException("Header " + URI_HEADER + " must be set.");
+        }
+        message.removeHeader(URI_HEADER);
+
+        final var target = targetOf(uri);
+        final var body = message.getBody();
+        final var encoding = selectEncoding(target, body);
+        send(exchange, uri, body, encoding);
+
+        final var rejected = getUnsupportedEncodingFailure(exchange, encoding);
+        if (rejected == null) {
+            return;
+        }
+
+        final var fallback = negotiate(target, encoding, rejected);
+        if (!isRepeatable(body)) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("{} rejected {} uploads, using {} for the next upload. The body "
+                        + "cannot be sent again. [uri=({})]", target, encoding.getToken(),
+                        fallback.getToken(), uri);
+            }
+            return;
+        }
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("{} rejected {} uploads, retrying with {}. [uri=({})]", target,
+                    encoding.getToken(), fallback.getToken(), uri);
+        }
+        exchange.setException(null);
+        if (body instanceof StreamCache) {
+            ((StreamCache) body).reset();
+        }
+        send(exchange, uri, body, fallback);
+    }
+
+    /**
+     * Returns the encoding currently used for a target.
+     *
+     * @param target the target, i.e. host and port.
+     * @return the encoding.
+     */
+    public ContentEncoding getEncoding(final String target) {
+        final var negotiation = negotiations.get(target);
+        if (negotiation != null
+                && System.currentTimeMillis() - negotiation.getTimestamp() < renegotiateMillis) {
+            return negotiation.getEncoding();
+        }
+        return targetEncodings.getOrDefault(target, encoding);
+    }
+
+    /**
+     * Sets the encodings of individual targets.
+     *
+     * @param encodings the encodings by host and port.
+     */
+    public void setTargetEncodings(final Map<String, ContentEncoding> encodings) {
+        targetEncodings.clear();
+        targetEncodings.putAll(encodings);
+    }
+
+    /**
+     * Stops the producer template.
+     */
+    @Override
+    public synchronized void close() {
+        if (producerTemplate == null) {
+            return;
+        }
+
+        try {
+            producerTemplate.stop();
+        } catch (Exception e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Failed to stop producer template. [exception=({})]",
+                        e.getMessage(), e);
+            }
+        }
+        producerTemplate = null;
+    }
+
+    /**
+     * Sends the body with an encoding.
+     *
+     * @param exchange the exchange.
+     * @param uri the URI.
+     * @param body the uncompressed body.
+     * @param encoding the encoding.
+     * @throws NoTypeConversionAvailableException if the body cannot be read as a stream.
+     */
+    private void send(final Exchange exchange, final String uri, final Object body,
+                      final ContentEncoding encoding) throws NoTypeConversionAvailableException {
+        final var message = exchange.getMessage();
+        if (encoding == ContentEncoding.IDENTITY) {
+            message.setBody(body);
+        } else {
+            final var source = exchange.getContext().getTypeConverter()
+                    .mandatoryConvertTo(InputStream.class, exchange, body);
+            message.setBody(new CompressingEntity(source,
+                    message.getHeader(Exchange.CONTENT_TYPE, String.class), encoding, level,
+                    bufferSize));
+            message.removeHeader(Exchange.CONTENT_LENGTH);
+        }
+        ResilienceInterceptStrategy.send(producerTemplate(exchange.getContext()), uri, exchange);
+        exchange.getMessage().setHeader(ENCODING_HEADER, encoding.getToken());
+    }
+
+    /**
+     * Selects the encoding of an upload.
+     *
+     * @param target the target.
+     * @param body the body.
+     * @return the encoding.
+     */
+    private ContentEncoding selectEncoding(final String target, final Object body) {
+        final var selected = getEncoding(target);
+        if (selected == ContentEncoding.IDENTITY || body == null) {
+            return ContentEncoding.IDENTITY;
+        }
+        final var size = sizeOf(body);
+        return size >= 0 && size < minBytes ? ContentEncoding.IDENTITY : selected;
+    }
+
+    /**
+     * Records that a target rejected an encoding and selects the next encoding to use.
+     *
+     * @param target the target.
+     * @param rejected the rejected encoding.
+     * @param failure the 415 response.
+     * @return the encoding used for the target from now on.
+     */
+    private ContentEncoding negotiate(final String target, final ContentEncoding rejected,
+                                      final HttpOperationFailedException failure) {
+        final var accepted = parseAcceptEncoding(failure.getResponseHeaders());
+        accepted.remove(rejected);
+        var next = ContentEncoding.IDENTITY;
+        for (final var candidate : ContentEncoding.values()) {
+            if (candidate != ContentEncoding.IDENTITY && accepted.contains(candidate)
+                    && candidate.isAvailable()) {
+                next = candidate;
+                break;
+            }
+        }
+        negotiations.put(target, new Negotiation(next, System.currentTimeMillis()));
+        return next;
+    }
+
+    /**
+     * Returns the failure of an upload, if the target rejected its encoding.
+     *
+     * @param exchange the exchange.
+     * @param encoding the encoding of the upload.
+     * @return the failure, or null if the upload succeeded, was not compressed or failed for
+     * another reason.
+     */
+    private static HttpOperationFailedException getUnsupportedEncodingFailure(
+            final Exchange exchange, final ContentEncoding encoding) {
+        final var exception = exchange.getException();
+        if (encoding != ContentEncoding.IDENTITY
+                && exception instanceof HttpOperationFailedException
+                && ((HttpOperationFailedException) exception).getStatusCode()
+                == UNSUPPORTED_MEDIA_TYPE) {
+            return (HttpOperationFailedException) exception;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the encodings listed in the Accept-Encoding header of a response.
+     *
+     * @param headers the response headers, may be null.
+     * @return the known encodings listed without a quality of 0.
+     */
+    static Set<ContentEncoding> parseAcceptEncoding(final Map<String, String> headers) {
+        final var accepted = EnumSet.noneOf(ContentEncoding.class);
+        if (headers == null) {
+            return accepted;
+        }
+
+        final var normalized = new HashMap<String, String>();
+        headers.forEach((name, value) -> normalized.put(name.toLowerCase(Locale.ROOT), value));
+        final var value = normalized.get("accept-encoding");
+        if (value == null) {
+            return accepted;
+        }
+
+        for (final var element : value.split(",")) {
+            final var parts = element.split(";");
+            if (parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            try {
+                accepted.add(ContentEncoding.fromToken(parts[0]));
+            } catch (IllegalArgumentException e) {
+                // Encodings this uploader cannot send are ignored.
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Returns the target of a URI, i.e. its host and port, which the encoding is negotiated for.
+     *
+     * @param uri the URI.
+     * @return the target.
+     */
+    static String targetOf(final String uri) {
+        final var endpoint = uri.replaceFirst("^https?:(//)?", "http://").split("\\?", 2)[0];
+        final var parsed = URI.create(endpoint.trim());
+        return parsed.getPort() == -1 ? parsed.getHost() : parsed.getHost() + ":" + parsed.getPort();
+    }
+
+    /**
+     * Returns the size of a body, if it is known without reading it.
+     *
+     * @param body the body.
+     * @return the size in bytes, or -1 if unknown.
+     */
+    private static long sizeOf(final Object body) {
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        } else if (body instanceof String) {
+            return ((String) body).length();
+        } else if (body instanceof File) {
+            return ((File) body).length();
+        } else if (body instanceof StreamCache) {
+            return ((StreamCache) body).length();
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a body can be sent again after it has been sent once.
+     *
+     * @param body the body.
+     * @return true, if the body can be read again.
+     */
+    private static boolean isRepeatable(final Object body) {
+        return body == null || body instanceof byte[] || body instanceof String
+                || body instanceof File || body instanceof StreamCache;
+    }
+
+    /**
+     * Returns the producer template, creating it on first use.
+     *
+     * @param camelContext the Camel context.
+     * @return the producer template.
+     */
+    private ProducerTemplate producerTemplate(final CamelContext camelContext) {
+        if (producerTemplate == null) {
+            synchronized (this) {
+                if (producerTemplate == null) {
+                    producerTemplate = camelContext.createProducerTemplate();
+                }
+            }
+        }
+        return producerTemplate;
+    }
+
+    /**
+     * The encoding negotiated with a target after it rejected its preferred encoding.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class Negotiation {
+
+        /**
+         * The negotiated encoding.
+         */
+        private final ContentEncoding encoding;
+
+        /**
+         * The time of the negotiation in milliseconds since the epoch.
+         */
+        private final long timestamp;
+    }
+
+}
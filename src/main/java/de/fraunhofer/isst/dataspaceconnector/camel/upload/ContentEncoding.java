@@ -0,0 +1,205 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.upload;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The content codings of request bodies sent by the {@link CompressingUploader}. Zstandard is
+ * only available if zstd-jni is on the classpath.
+ */
+public enum ContentEncoding {
+
+    /**
+     * No compression.
+     */
+    IDENTITY("identity", 0),
+
+    /**
+     * The gzip format (RFC 1952).
+     */
+    GZIP("gzip", Deflater.DEFAULT_COMPRESSION),
+
+    /**
+     * The zlib format (RFC 1950), which is what HTTP calls "deflate".
+     */
+    DEFLATE("deflate", Deflater.DEFAULT_COMPRESSION),
+
+    /**
+     * Zstandard (RFC 8878).
+     */
+    ZSTD("zstd", 3);
+
+    /**
+     * Class name of the Zstandard output stream of zstd-jni.
+     */
+    private static final String ZSTD_STREAM = "com.github.luben.zstd.ZstdOutputStream";
+
+    /**
+     * The constructor of the Zstandard output stream, or null if zstd-jni is not available.
+     */
+    private static final Constructor<?> ZSTD_CONSTRUCTOR = findZstdConstructor();
+
+    /**
+     * The token used in the Content-Encoding and Accept-Encoding headers.
+     */
+    private final String token;
+
+    /**
+     * The compression level used if none is configured.
+     */
+    private final int defaultLevel;
+
+    /**
+     * Constructor for a ContentEncoding.
+     *
+     * @param token the header token.
+     * @param defaultLevel the default compression level.
+     */
+    ContentEncoding(final String token, final int defaultLevel) {
+        this.token = token;
+        this.defaultLevel = defaultLevel;
+    }
+
+    /**
+     * Returns the token used in the Content-Encoding and Accept-Encoding headers.
+     *
+     * @return the token.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Checks whether the encoding can be used.
+     *
+     * @return false for Zstandard if zstd-jni is not on the classpath, otherwise true.
+     */
+    public boolean isAvailable() {
+        return this != ZSTD || ZSTD_CONSTRUCTOR != null;
+    }
+
+    /**
+     * Wraps an output stream, so that data written to it is compressed. Closing the returned
+     * stream finishes the compressed data, but does not close the wrapped stream.
+     *
+     * @param out the output stream.
+     * @param level the compression level, or null for the default of the encoding.
+     * @return the compressing output stream.
+     * @throws IOException if the stream cannot be created.
+     */
+    public OutputStream wrap(final OutputStream out, final Integer level) throws IOException {
+        final var target = new NonClosingOutputStream(out);
+        final var effectiveLevel = level == null ? defaultLevel : level;
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(target, true) {
+                    {
+                        def.setLevel(effectiveLevel);
+                    }
+                };
+            case DEFLATE:
+                final var deflater = new Deflater(effectiveLevel);
+                return new DeflaterOutputStream(target, deflater, true) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            deflater.end();
+                        }
+                    }
+                };
+            case ZSTD:
+                return newZstdStream(target, effectiveLevel);
+            default:
+                return target;
+        }
+    }
+
+    /**
+     * Returns the encoding of a header token.
+     *
+     * @param token the token, case-insensitive.
+     * @return the encoding.
+     * @throws IllegalArgumentException if the encoding is unknown.
+     */
+    public static ContentEncoding fromToken(final String token) {
+        final var normalized = token.trim().toLowerCase(Locale.ROOT);
+        for (final var encoding : values()) {
+            if (encoding.token.equals(normalized)) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unknown content encoding " + token
+                + ", expected identity, gzip, deflate or zstd.");
+    }
+
+    /**
+     * Creates a Zstandard output stream via zstd-jni.
+     *
+     * @param out the output stream.
+     * @param level the compression level.
+     * @return the compressing output stream.
+     * @throws IOException if zstd-jni is not available or the stream cannot be created.
+     */
+    private static OutputStream newZstdStream(final OutputStream out, final int level)
+            throws IOException {
+        if (ZSTD_CONSTRUCTOR == null) {
+            throw new IOException("zstd requires com.github.luben:zstd-jni on the classpath.");
+        }
+        try {
+            return (OutputStream) ZSTD_CONSTRUCTOR.newInstance(out, level);
+        } catch (InvocationTargetException e) {
+            throw new IOException("Failed to create zstd stream.", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Failed to create zstd stream.", e);
+        }
+    }
+
+    /**
+     * Looks up the constructor of the Zstandard output stream.
+     *
+     * @return the constructor, or null if zstd-jni is not on the classpath.
+     */
+    private static Constructor<?> findZstdConstructor() {
+        try {
+            return Class.forName(ZSTD_STREAM).getConstructor(OutputStream.class, int.class);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * An output stream that flushes instead of closing the wrapped stream, which belongs to the
+     * HTTP connection.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        /**
+         * Constructor for the NonClosingOutputStream.
+         *
+         * @param out the wrapped stream.
+         */
+        private NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes SHA-256 content hashes, e.g. for detecting identical uploads.
+ */
+public final class ContentHash {
+
+    /**
+     * Size of the buffer used when reading streams.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Utility class, not to be instantiated.
+     */
+    private ContentHash() {
+    }
+
+    /**
+     * Creates a new SHA-256 message digest.
+     *
+     * @return the message digest.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes the hash of a byte array.
+     *
+     * @param content the content.
+     * @return the hash as a lowercase hex string.
+     */
+    public static String of(final byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * Computes the hash of a stream by reading it to the end. The stream is not closed.
+     *
+     * @param inputStream the stream.
+     * @return the hash as a lowercase hex string.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static String of(final InputStream inputStream) throws IOException {
+        final var digest = newDigest();
+        final var buffer = new byte[BUFFER_SIZE];
+        for (var read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Converts a digest to a lowercase hex string.
+     *
+     * @param digest the digest.
+     * @return the hex string.
+     */
+    public static String toHex(final byte[] digest) {
+        final var hex = new StringBuilder(digest.length * 2);
+        for (final var b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+}
@@ -3,28 +3,43 @@ package de.fraunhofer.isst.dataspaceconnector.camel.util;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.apache.camel.component.http.HttpClientConfigurer;
+import org.apache.http.HttpResponse;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.IdleConnectionEvictor;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanNameAware;
 
 /**
  * An HttpClientConfigurer that can be used in routes when an HTTP endpoint that uses a self-signed
  * certificate is called. This should only be used in test environments as it disables the hostname
  * verification!
+ *
+ * <p>All endpoints that reference the same configurer bean share one connection pool and SSL
+ * context, which are created on first use. The pool can be tuned using the bean's properties and
+ * its statistics are published as metrics tagged with the bean name.</p>
  */
 @NoArgsConstructor
-public class SelfSignedHttpClientConfigurer implements HttpClientConfigurer {
+public class SelfSignedHttpClientConfigurer implements HttpClientConfigurer, BeanNameAware,
+        AutoCloseable {
 
     /**
      * The logger.
@@ -32,24 +47,91 @@ public class SelfSignedHttpClientConfigurer implements HttpClientConfigurer {
     private static final Logger LOGGER = LoggerFactory
             .getLogger(SelfSignedHttpClientConfigurer.class);
 
+    /**
+     * The maximum number of connections in the pool.
+     */
+    @Getter
+    @Setter
+    private int maxTotal = 200;
+
+    /**
+     * The maximum number of connections per target host.
+     */
+    @Getter
+    @Setter
+    private int defaultMaxPerRoute = 50;
+
+    /**
+     * The time in milliseconds after which idle connections are closed, or a value smaller than 1
+     * to disable idle connection eviction.
+     */
+    @Getter
+    @Setter
+    private long maxIdleTime = 30_000;
+
+    /**
+     * The maximum lifetime of a connection in milliseconds, or a value smaller than 1 for no
+     * limit.
+     */
+    @Getter
+    @Setter
+    private long timeToLive = -1;
+
+    /**
+     * The time in milliseconds a connection is kept alive, if the server does not send a
+     * Keep-Alive header, or a value smaller than 1 to keep it alive indefinitely.
+     */
+    @Getter
+    @Setter
+    private long keepAlive = 30_000;
+
+    /**
+     * The time in milliseconds of inactivity after which a pooled connection is validated before
+     * it is reused.
+     */
+    @Getter
+    @Setter
+    private int validateAfterInactivity = 2_000;
+
+    /**
+     * The name of the bean, used for tagging the pool metrics.
+     */
+    private String beanName = "self-signed-http-client-configurer";
+
+    /**
+     * The shared SSL context, once created.
+     */
+    private SSLContext sslContext;
+
+    /**
+     * The shared connection pool, once created.
+     */
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * The background thread evicting idle connections, if enabled.
+     */
+    private IdleConnectionEvictor idleConnectionEvictor;
+
+    @Override
+    public void setBeanName(final String name) {
+        this.beanName = name;
+    }
+
     /**
      * Configures the HTTP client to be able to work with self-signed certificates by disabling
-     * the hostname verification.
+     * the hostname verification, and to use the shared connection pool.
      *
      * @param httpClientBuilder the HttpClientBuilder.
      */
     @Override
     public void configureHttpClient(final HttpClientBuilder httpClientBuilder) {
         try {
-            final SSLContext sslContext = new SSLContextBuilder()
-                    .loadTrustMaterial(null, (x509CertChain, authType) -> true).build();
+            final var manager = getConnectionManager();
             httpClientBuilder.setSSLContext(sslContext)
-                    .setConnectionManager(new PoolingHttpClientConnectionManager(RegistryBuilder
-                            .<ConnectionSocketFactory>create()
-                            .register("http", PlainConnectionSocketFactory.INSTANCE)
-                            .register("https", new SSLConnectionSocketFactory(sslContext,
-                                    NoopHostnameVerifier.INSTANCE))
-                            .build()));
+                    .setConnectionManager(manager)
+                    .setConnectionManagerShared(true)
+                    .setKeepAliveStrategy(this::getKeepAliveDuration);
         } catch (KeyManagementException | NoSuchAlgorithmException | KeyStoreException e) {
             if (LOGGER.isWarnEnabled()) {
                 LOGGER.warn("Unable to create HttpClientConfigurer for self-signed certificates. "
@@ -58,4 +140,78 @@ public class SelfSignedHttpClientConfigurer implements HttpClientConfigurer {
         }
     }
 
+    /**
+     * Closes the connection pool and stops the idle connection eviction.
+     */
+    @Override
+    public synchronized void close() {
+        if (idleConnectionEvictor != null) {
+            idleConnectionEvictor.shutdown();
+            idleConnectionEvictor = null;
+        }
+        if (connectionManager != null) {
+            connectionManager.close();
+            connectionManager = null;
+        }
+    }
+
+    /**
+     * Returns the shared connection pool, creating it and the SSL context on first use.
+     *
+     * @return the connection pool.
+     * @throws KeyManagementException if the SSL context cannot be initialized.
+     * @throws NoSuchAlgorithmException if the SSL context cannot be initialized.
+     * @throws KeyStoreException if the SSL context cannot be initialized.
+     */
+    private synchronized PoolingHttpClientConnectionManager getConnectionManager()
+            throws KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
+        if (connectionManager != null) {
+            return connectionManager;
+        }
+
+        if (sslContext == null) {
+            sslContext = new SSLContextBuilder()
+                    .loadTrustMaterial(null, (x509CertChain, authType) -> true).build();
+        }
+
+        final var manager = new PoolingHttpClientConnectionManager(RegistryBuilder
+                .<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.INSTANCE)
+                .register("https", new SSLConnectionSocketFactory(sslContext,
+                        NoopHostnameVerifier.INSTANCE))
+                .build(), null, null, null, timeToLive, TimeUnit.MILLISECONDS);
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+        manager.setValidateAfterInactivity(validateAfterInactivity);
+
+        if (maxIdleTime > 0) {
+            idleConnectionEvictor = new IdleConnectionEvictor(manager, maxIdleTime,
+                    TimeUnit.MILLISECONDS);
+            idleConnectionEvictor.start();
+        }
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, beanName)
+                .bindTo(Metrics.globalRegistry);
+
+        connectionManager = manager;
+        return manager;
+    }
+
+    /**
+     * Determines how long a connection may be kept alive: as long as the server's Keep-Alive
+     * header allows or, if there is none, for the configured default time.
+     *
+     * @param response the HTTP response.
+     * @param context the HTTP context.
+     * @return the keep-alive duration in milliseconds, or -1 for an indefinite duration.
+     */
+    private long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
+        final var duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                .getKeepAliveDuration(response, context);
+        if (duration > 0) {
+            return duration;
+        }
+        return keepAlive > 0 ? keepAlive : -1;
+    }
+
 }
@@ -0,0 +1,79 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.batch;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NdjsonBatchAggregationStrategyTest {
+
+    private CamelContext camelContext;
+
+    private NdjsonBatchAggregationStrategy strategy;
+
+    @BeforeEach
+    public void setUp() {
+        camelContext = new DefaultCamelContext();
+        strategy = new NdjsonBatchAggregationStrategy();
+    }
+
+    @Test
+    public void aggregate_multipleMessages_returnOneLinePerMessage() {
+        /* ARRANGE */
+        var aggregated = strategy.aggregate(null, exchange("{\"value\":1}\n"));
+
+        /* ACT */
+        aggregated = strategy.aggregate(aggregated, exchange("{\"value\":2}"));
+        strategy.onCompletion(aggregated);
+
+        /* ASSERT */
+        assertEquals("{\"value\":1}\n{\"value\":2}\n",
+                new String(aggregated.getMessage().getBody(byte[].class), StandardCharsets.UTF_8));
+        assertEquals("application/x-ndjson",
+                aggregated.getMessage().getHeader(Exchange.CONTENT_TYPE));
+    }
+
+    @Test
+    public void aggregate_compactEnabled_removeLineBreaks() {
+        /* ARRANGE */
+        strategy.setCompact(true);
+
+        /* ACT */
+        final var aggregated = strategy.aggregate(null, exchange("{\n  \"value\": 1\n}"));
+        strategy.onCompletion(aggregated);
+
+        /* ASSERT */
+        assertEquals("{\"value\":1}\n",
+                new String(aggregated.getMessage().getBody(byte[].class), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void preComplete_maxBytesExceeded_returnTrue() {
+        /* ARRANGE */
+        strategy.setMaxBytes(20);
+        final var aggregated = strategy.aggregate(null, exchange("{\"value\":1}"));
+
+        /* ACT */
+        final var fits = strategy.preComplete(aggregated, exchange("{}"));
+        final var exceeds = strategy.preComplete(aggregated, exchange("{\"value\":2}"));
+
+        /* ASSERT */
+        assertFalse(fits);
+        assertTrue(exceeds);
+    }
+
+    private Exchange exchange(final String body) {
+        final var exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody(body.getBytes(StandardCharsets.UTF_8));
+        return exchange;
+    }
+
+}
@@ -0,0 +1,147 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingLookupTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private DefaultCamelContext camelContext;
+
+    private CachingLookup lookup;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        camelContext = new DefaultCamelContext();
+        lookup = new CachingLookup();
+        lookup.setTarget("direct:backend");
+        lookup.setKeyExpression("${header.id}");
+        lookup.setTtl(1_000);
+        lookup.setTicker(nanos::get);
+        lookup.setCamelContext(camelContext);
+        lookup.setBeanName("backend-cache");
+        camelContext.getRegistry().bind("backend-cache", lookup);
+
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:backend").routeId("backend").process(exchange -> {
+                    final var id = exchange.getMessage().getHeader("id", String.class);
+                    if ("broken".equals(id)) {
+                        calls.incrementAndGet();
+                        throw new IllegalStateException("Backend failed.");
+                    }
+                    exchange.getMessage().setBody("data-" + id + "-" + calls.incrementAndGet());
+                    exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "text/plain");
+                    exchange.getMessage().setHeader("Backend-Only", "value");
+                });
+                from("direct:start").routeId("start")
+                        .enrich("bean:backend-cache")
+                        .convertBodyTo(String.class);
+            }
+        });
+        camelContext.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lookup.close();
+        camelContext.stop();
+    }
+
+    @Test
+    public void process_sameKeyTwice_callTargetOnce() {
+        /* ACT */
+        final var first = lookup("a");
+        final var second = lookup("a");
+
+        /* ASSERT */
+        assertEquals("data-a-1", first);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void process_differentKeys_callTargetPerKey() {
+        /* ACT */
+        lookup("a");
+        lookup("b");
+
+        /* ASSERT */
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void process_entryExpired_callTargetAgain() {
+        /* ARRANGE */
+        lookup("a");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        /* ACT */
+        final var result = lookup("a");
+
+        /* ASSERT */
+        assertEquals("data-a-2", result);
+    }
+
+    @Test
+    public void process_targetFails_doNotCacheFailure() {
+        /* ACT */
+        final var first = camelContext.createProducerTemplate().request("direct:start",
+                exchange -> exchange.getIn().setHeader("id", "broken"));
+        camelContext.createProducerTemplate().request("direct:start",
+                exchange -> exchange.getIn().setHeader("id", "broken"));
+
+        /* ASSERT */
+        assertNotNull(first.getException());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void process_hit_setHitHeader() {
+        /* ARRANGE */
+        lookup("a");
+
+        /* ACT */
+        final var result = camelContext.createProducerTemplate().request("direct:start",
+                exchange -> exchange.getIn().setHeader("id", "a"));
+
+        /* ASSERT */
+        assertTrue(result.getMessage().getHeader(CachingLookup.HIT_HEADER, Boolean.class));
+    }
+
+    @Test
+    public void process_miss_setOnlyCachedHeaders() {
+        /* ACT */
+        final var result = camelContext.createProducerTemplate().request("direct:start",
+                exchange -> exchange.getIn().setHeader("id", "a"));
+
+        /* ASSERT */
+        final var message = result.getMessage();
+        assertEquals(false, message.getHeader(CachingLookup.HIT_HEADER, Boolean.class));
+        assertEquals("text/plain", message.getHeader(Exchange.CONTENT_TYPE));
+        assertNull(message.getHeader("Backend-Only"));
+    }
+
+    private String lookup(final String id) {
+        return camelContext.createProducerTemplate()
+                .requestBodyAndHeader("direct:start", null, "id", id, String.class);
+    }
+
+}
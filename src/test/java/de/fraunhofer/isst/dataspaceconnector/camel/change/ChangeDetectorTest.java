@@ -0,0 +1,97 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.change;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeDetectorTest {
+
+    private ChangeDetector changeDetector;
+
+    @BeforeEach
+    public void setUp() {
+        changeDetector = new ChangeDetector();
+    }
+
+    @Test
+    public void prepare_previousResponseWithEtag_setIfNoneMatch() throws Exception {
+        /* ARRANGE */
+        final var first = exchange(200, "data");
+        first.getMessage().setHeader("ETag", "\"v1\"");
+        changeDetector.detect(first);
+        complete(first);
+
+        /* ACT */
+        final var next = exchange(null, null);
+        changeDetector.prepare(next);
+
+        /* ASSERT */
+        assertEquals("\"v1\"", next.getMessage().getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void detect_notModified_stopRoute() throws Exception {
+        /* ARRANGE */
+        final var exchange = exchange(304, null);
+
+        /* ACT */
+        changeDetector.detect(exchange);
+
+        /* ASSERT */
+        assertTrue(exchange.isRouteStop());
+        assertEquals(true, exchange.getMessage().getHeader(ChangeDetector.UNCHANGED_HEADER));
+    }
+
+    @Test
+    public void detect_sameBodyAfterCompletion_stopRoute() throws Exception {
+        /* ARRANGE */
+        final var first = exchange(200, "data");
+        changeDetector.detect(first);
+        complete(first);
+
+        /* ACT */
+        final var second = exchange(200, "data");
+        changeDetector.detect(second);
+
+        /* ASSERT */
+        assertTrue(second.isRouteStop());
+    }
+
+    @Test
+    public void detect_sameBodyWithoutCompletion_continueRoute() throws Exception {
+        /* ARRANGE */
+        changeDetector.detect(exchange(200, "data"));
+
+        /* ACT */
+        final var second = exchange(200, "data");
+        changeDetector.detect(second);
+
+        /* ASSERT */
+        assertFalse(second.isRouteStop());
+        assertNull(second.getMessage().getHeader("If-None-Match"));
+    }
+
+    private Exchange exchange(final Integer status, final String body) {
+        final var exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.adapt(ExtendedExchange.class).setFromRouteId("route");
+        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, status);
+        exchange.getMessage().setBody(body);
+        return exchange;
+    }
+
+    private void complete(final Exchange exchange) {
+        for (final var synchronization
+                : exchange.adapt(ExtendedExchange.class).handoverCompletions()) {
+            synchronization.onComplete(exchange);
+        }
+    }
+
+}
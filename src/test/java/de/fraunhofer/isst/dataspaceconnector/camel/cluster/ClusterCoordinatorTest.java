@@ -0,0 +1,124 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.BeanStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.RouteStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.StoreRestorer;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.TemplateStore;
+import org.apache.camel.Route;
+import org.apache.camel.model.ModelCamelContext;
+import org.apache.camel.model.RouteDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClusterCoordinatorTest {
+
+    private static final Map<String, String> MEMBERS = Map.of("node-a", "https://a:9090",
+            "node-b", "https://b:9090");
+
+    private LeaseStore leaseStore;
+
+    private ModelCamelContext camelContext;
+
+    private RouteStore routeStore;
+
+    private RouteDeploymentService deploymentService;
+
+    private ClusterCoordinator coordinator;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        leaseStore = mock(LeaseStore.class);
+        camelContext = mock(ModelCamelContext.class);
+        routeStore = mock(RouteStore.class);
+        deploymentService = mock(RouteDeploymentService.class);
+        final var beanStore = mock(BeanStore.class);
+        final var templateStore = mock(TemplateStore.class);
+
+        when(camelContext.adapt(ModelCamelContext.class)).thenReturn(camelContext);
+        when(leaseStore.liveNodes()).thenReturn(MEMBERS);
+        when(routeStore.isEnabled()).thenReturn(true);
+        when(beanStore.loadAll()).thenReturn(List.of());
+        when(templateStore.loadTemplates()).thenReturn(List.of());
+        when(templateStore.loadRoutes()).thenReturn(List.of());
+
+        coordinator = new ClusterCoordinator(true, "node-a", "https://a:9090", 1000, 3000,
+                9090, true, leaseStore, camelContext, routeStore, beanStore, templateStore,
+                deploymentService, mock(StoreRestorer.class));
+    }
+
+    @Test
+    public void isRemote_routesOfBothMembers_onlyRoutesOfOtherMemberRemote() throws Exception {
+        /* ARRANGE */
+        final var local = routeOwnedBy("node-a");
+        final var remote = routeOwnedBy("node-b");
+
+        /* ACT */
+        coordinator.heartbeat();
+
+        /* ASSERT */
+        assertFalse(coordinator.isRemote(local));
+        assertTrue(coordinator.isRemote(remote));
+        assertEquals("https://b:9090", coordinator.ownerUrl(remote));
+    }
+
+    @Test
+    public void heartbeat_routeOwnedByOtherMember_releaseRoute() throws Exception {
+        /* ARRANGE */
+        final var remote = routeOwnedBy("node-b");
+        when(routeStore.listIds()).thenReturn(List.of(remote));
+        when(camelContext.getRoute(remote)).thenReturn(mock(Route.class));
+
+        /* ACT */
+        coordinator.heartbeat();
+
+        /* ASSERT */
+        verify(deploymentService).removeRoutes(List.of(remote));
+    }
+
+    @Test
+    public void heartbeat_membersStable_startOwnedRoute() throws Exception {
+        /* ARRANGE */
+        final var local = routeOwnedBy("node-a");
+        final var route = new RouteDefinition();
+        route.setId(local);
+        when(routeStore.listIds()).thenReturn(List.of(local));
+        when(routeStore.load(local)).thenReturn(route);
+
+        /* ACT */
+        coordinator.heartbeat();
+
+        /* ASSERT */
+        verify(deploymentService, never()).restore(anyList());
+
+        /* ACT */
+        coordinator.heartbeat();
+
+        /* ASSERT */
+        verify(deploymentService).restore(List.of(route));
+    }
+
+    private static String routeOwnedBy(final String nodeId) {
+        return IntStream.range(0, 100)
+                .mapToObj(i -> "route-" + i)
+                .filter(routeId -> nodeId.equals(RendezvousHash.owner(Set.of("node-a",
+                        "node-b"), routeId)))
+                .findFirst()
+                .orElseThrow();
+    }
+
+}
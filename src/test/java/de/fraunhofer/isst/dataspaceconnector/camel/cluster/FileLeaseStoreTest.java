@@ -0,0 +1,56 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.cluster;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FileLeaseStoreTest {
+
+    @TempDir
+    Path leaseDirectory;
+
+    @Test
+    public void heartbeat_twoMembers_bothLive() throws Exception {
+        /* ARRANGE */
+        final var leaseStore = new FileLeaseStore(leaseDirectory.resolve("nodes"));
+
+        /* ACT */
+        leaseStore.heartbeat("node-a", "https://a:9090", 10_000);
+        leaseStore.heartbeat("node/b", "https://b:9090", 10_000);
+
+        /* ASSERT */
+        assertEquals(Map.of("node-a", "https://a:9090", "node/b", "https://b:9090"),
+                leaseStore.liveNodes());
+    }
+
+    @Test
+    public void heartbeat_leaseExpired_memberNotLive() throws Exception {
+        /* ARRANGE */
+        final var leaseStore = new FileLeaseStore(leaseDirectory);
+        leaseStore.heartbeat("node-a", "https://a:9090", 10_000);
+
+        /* ACT */
+        leaseStore.heartbeat("node-b", "https://b:9090", -1);
+
+        /* ASSERT */
+        assertEquals(Map.of("node-a", "https://a:9090"), leaseStore.liveNodes());
+    }
+
+    @Test
+    public void leave_liveMember_memberNotLive() throws Exception {
+        /* ARRANGE */
+        final var leaseStore = new FileLeaseStore(leaseDirectory);
+        leaseStore.heartbeat("node-a", "https://a:9090", 10_000);
+
+        /* ACT */
+        leaseStore.leave("node-a");
+
+        /* ASSERT */
+        assertEquals(Map.of(), leaseStore.liveNodes());
+    }
+
+}
@@ -0,0 +1,77 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.context;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.xml.sax.InputSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingDocumentLoaderTest {
+
+    private static final String BEANS_HEADER =
+            "<beans xmlns=\"http://www.springframework.org/schema/beans\"\n"
+            + "       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+            + "       xsi:schemaLocation=\"http://www.springframework.org/schema/beans "
+            + "http://www.springframework.org/schema/beans/spring-beans.xsd\">\n";
+
+    @Test
+    public void loadBeanDefinitions_validFilesSharingSchema_registerAllBeans() {
+        /* ARRANGE */
+        final var beanFactory = new DefaultListableBeanFactory();
+        final var reader = newReader(beanFactory);
+
+        /* ACT */
+        final var first = reader.loadBeanDefinitions(source(BEANS_HEADER
+                + "    <bean id=\"first\" class=\"java.lang.String\"/>\n</beans>"));
+        final var second = reader.loadBeanDefinitions(source(BEANS_HEADER
+                + "    <bean id=\"second\" class=\"java.lang.String\"/>\n</beans>"));
+
+        /* ASSERT */
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertTrue(beanFactory.containsBeanDefinition("first"));
+        assertTrue(beanFactory.containsBeanDefinition("second"));
+    }
+
+    @Test
+    public void loadBeanDefinitions_invalidElement_throwBeanDefinitionStoreException() {
+        /* ARRANGE */
+        final var reader = newReader(new DefaultListableBeanFactory());
+
+        /* ACT && ASSERT */
+        assertThrows(BeanDefinitionStoreException.class, () -> reader.loadBeanDefinitions(
+                source(BEANS_HEADER + "    <unknown/>\n</beans>")));
+    }
+
+    @Test
+    public void loadBeanDefinitions_unresolvableSchema_throwBeanDefinitionStoreException() {
+        /* ARRANGE */
+        final var reader = newReader(new DefaultListableBeanFactory());
+
+        /* ACT && ASSERT */
+        assertThrows(BeanDefinitionStoreException.class, () -> reader.loadBeanDefinitions(
+                source("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n"
+                        + "       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+                        + "       xsi:schemaLocation=\"http://www.springframework.org/schema/beans "
+                        + "http://localhost:1/unknown.xsd\">\n</beans>")));
+    }
+
+    private XmlBeanDefinitionReader newReader(final DefaultListableBeanFactory beanFactory) {
+        final var reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.setValidationMode(XmlBeanDefinitionReader.VALIDATION_XSD);
+        reader.setDocumentLoader(new CachingDocumentLoader());
+        return reader;
+    }
+
+    private InputSource source(final String xml) {
+        return new InputSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,87 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+
+    private String encoded;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = spy(new BCryptPasswordEncoder(4));
+        encoded = delegate.encode("password");
+    }
+
+    @Test
+    public void matches_repeatedValidPassword_delegateCalledOnce() {
+        /* ARRANGE */
+        final var encoder = new CachingPasswordEncoder(delegate, 10, 60_000);
+
+        /* ACT */
+        final var first = encoder.matches("password", encoded);
+        final var second = encoder.matches("password", encoded);
+
+        /* ASSERT */
+        assertTrue(first);
+        assertTrue(second);
+        verify(delegate, times(1)).matches(any(), any());
+    }
+
+    @Test
+    public void matches_repeatedInvalidPassword_delegateCalledEveryTime() {
+        /* ARRANGE */
+        final var encoder = new CachingPasswordEncoder(delegate, 10, 60_000);
+
+        /* ACT */
+        final var first = encoder.matches("wrong", encoded);
+        final var second = encoder.matches("wrong", encoded);
+
+        /* ASSERT */
+        assertFalse(first);
+        assertFalse(second);
+        verify(delegate, times(2)).matches(any(), any());
+    }
+
+    @Test
+    public void matches_cachedPasswordExpired_delegateCalledAgain() throws Exception {
+        /* ARRANGE */
+        final var encoder = new CachingPasswordEncoder(delegate, 10, 1);
+        encoder.matches("password", encoded);
+        Thread.sleep(5);
+
+        /* ACT */
+        final var result = encoder.matches("password", encoded);
+
+        /* ASSERT */
+        assertTrue(result);
+        verify(delegate, times(2)).matches(any(), any());
+    }
+
+    @Test
+    public void matches_cachedPasswordWithChangedHash_delegateCalledAgain() {
+        /* ARRANGE */
+        final var encoder = new CachingPasswordEncoder(delegate, 10, 60_000);
+        encoder.matches("password", encoded);
+        final var changed = delegate.encode("other");
+
+        /* ACT */
+        final var result = encoder.matches("password", changed);
+
+        /* ASSERT */
+        assertFalse(result);
+        verify(delegate, times(2)).matches(any(), any());
+    }
+
+}
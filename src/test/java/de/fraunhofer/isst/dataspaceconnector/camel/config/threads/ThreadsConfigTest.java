@@ -0,0 +1,37 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.config.threads;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ThreadsConfigTest {
+
+    @Test
+    public void beforeApplicationStart_profileProperties_registerProfiles() {
+        /* ARRANGE */
+        final var environment = new MockEnvironment()
+                .withProperty("routes.thread-pools.slow-backend.pool-size", "50")
+                .withProperty("routes.thread-pools.slow-backend.max-pool-size", "200")
+                .withProperty("routes.thread-pools.slow-backend.rejected-policy", "CallerRuns")
+                .withProperty("routes.thread-pools.default.max-queue-size", "10");
+        final var camelContext = new DefaultCamelContext();
+
+        /* ACT */
+        new ThreadsConfig().threadsContextConfiguration(environment, false)
+                .beforeApplicationStart(camelContext);
+
+        /* ASSERT */
+        final var manager = camelContext.getExecutorServiceManager();
+        final var profile = manager.getThreadPoolProfile("slow-backend");
+        assertEquals(50, profile.getPoolSize());
+        assertEquals(200, profile.getMaxPoolSize());
+        assertEquals(ThreadPoolRejectedPolicy.CallerRuns, profile.getRejectedPolicy());
+        assertEquals(10, manager.getDefaultThreadPoolProfile().getMaxQueueSize());
+        assertFalse(manager.getThreadPoolFactory() instanceof VirtualThreadPoolFactory);
+    }
+
+}
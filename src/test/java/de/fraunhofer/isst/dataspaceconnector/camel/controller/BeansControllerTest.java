@@ -2,12 +2,15 @@ package de.fraunhofer.isst.dataspaceconnector.camel.controller;
 
 import java.nio.charset.StandardCharsets;
 
+import de.fraunhofer.isst.dataspaceconnector.camel.store.BeanStore;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -19,6 +22,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {BeansController.class})
@@ -30,10 +35,18 @@ public class BeansControllerTest {
     @MockBean
     private BeanDefinitionRegistry beanDefinitionRegistry;
 
+    @MockBean
+    private BeanStore beanStore;
+
     @Autowired
     @InjectMocks
     private BeansController beansController;
 
+    @BeforeEach
+    public void init() {
+        when(beanDefinitionRegistry.getBeanDefinitionNames()).thenReturn(new String[0]);
+    }
+
     @Test
     public void addBeans_fileNull_returnStatusCode400() {
         /* ACT */
@@ -59,6 +72,31 @@ public class BeansControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    public void addBeans_sameFileTwice_parseOnce() {
+        /* ARRANGE */
+        final var definition = new GenericBeanDefinition();
+        when(xmlBeanDefinitionReader.loadBeanDefinitions(any(InputSource.class))).thenReturn(1);
+        when(beanDefinitionRegistry.getBeanDefinitionNames())
+                .thenReturn(new String[0], new String[]{"other-bean-id"});
+        when(beanDefinitionRegistry.containsBeanDefinition("other-bean-id")).thenReturn(true);
+        when(beanDefinitionRegistry.getBeanDefinition("other-bean-id")).thenReturn(definition);
+
+        final var content = ("<bean id=\"other-bean-id\" class=\"bean-class\"></bean>")
+                .getBytes(StandardCharsets.UTF_8);
+
+        /* ACT */
+        final var first = beansController.addBeans(
+                new MockMultipartFile("file", "beans.xml", "application/xml", content));
+        final var second = beansController.addBeans(
+                new MockMultipartFile("file", "beans.xml", "application/xml", content));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        verify(xmlBeanDefinitionReader, times(1)).loadBeanDefinitions(any(InputSource.class));
+    }
+
     @Test
     public void addBeans_invalidBeanFile_returnStatusCode400() {
         /* ARRANGE */
@@ -0,0 +1,82 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteLimits;
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteThrottle;
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteThrottleStatus;
+import de.fraunhofer.isst.dataspaceconnector.camel.throttle.RouteThrottles;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.apache.camel.spi.InflightRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {RouteLimitsController.class})
+public class RouteLimitsControllerTest {
+
+    @MockBean
+    private CamelContext camelContext;
+
+    @MockBean
+    private RouteThrottles throttles;
+
+    @Autowired
+    private RouteLimitsController routeLimitsController;
+
+    @Test
+    public void setLimits_routeNotFound_returnStatusCode404() {
+        /* ACT */
+        final var response = routeLimitsController.setLimits("unknown",
+                new RouteLimits(10.0, null, null));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(throttles, never()).setLimits(any(), any());
+    }
+
+    @Test
+    public void setLimits_invalidLimits_returnStatusCode400() {
+        /* ARRANGE */
+        when(camelContext.getRoute("route")).thenReturn(Mockito.mock(Route.class));
+
+        /* ACT */
+        final var response = routeLimitsController.setLimits("route",
+                new RouteLimits(-1.0, null, null));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(throttles, never()).setLimits(any(), any());
+    }
+
+    @Test
+    public void setLimits_validLimits_returnStatusCode200() {
+        /* ARRANGE */
+        final var limits = new RouteLimits(10.0, 5, 2);
+        final var throttle = Mockito.mock(RouteThrottle.class);
+        final var status = new RouteThrottleStatus("route", limits, 0, 0, 5.0, 0, 0);
+        when(camelContext.getRoute("route")).thenReturn(Mockito.mock(Route.class));
+        when(camelContext.getInflightRepository())
+                .thenReturn(Mockito.mock(InflightRepository.class));
+        when(throttles.get("route")).thenReturn(throttle);
+        when(throttle.getStatus(0)).thenReturn(status);
+
+        /* ACT */
+        final var response = routeLimitsController.setLimits("route", limits);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(status, response.getBody());
+        verify(throttles).setLimits(eq("route"), eq(limits));
+    }
+
+}
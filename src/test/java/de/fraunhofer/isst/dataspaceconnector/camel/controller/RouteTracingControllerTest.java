@@ -0,0 +1,75 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.RouteTracing;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.RouteTracingSettings;
+import de.fraunhofer.isst.dataspaceconnector.camel.tracing.TracingStatus;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {RouteTracingController.class})
+public class RouteTracingControllerTest {
+
+    @MockBean
+    private CamelContext camelContext;
+
+    @MockBean
+    private RouteTracing tracing;
+
+    @Autowired
+    private RouteTracingController routeTracingController;
+
+    @Test
+    public void setTracing_routeNotFound_returnStatusCode404() {
+        /* ACT */
+        final var response = routeTracingController.setTracing("unknown",
+                new RouteTracingSettings(true));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(tracing, never()).setEnabled(any(), any());
+    }
+
+    @Test
+    public void setTracing_enabledMissing_returnStatusCode400() {
+        /* ARRANGE */
+        when(camelContext.getRoute("route")).thenReturn(Mockito.mock(Route.class));
+
+        /* ACT */
+        final var response = routeTracingController.setTracing("route",
+                new RouteTracingSettings(null));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(tracing, never()).setEnabled(any(), any());
+    }
+
+    @Test
+    public void setTracing_enabled_switchOnAndReturnStatusCode200() {
+        /* ARRANGE */
+        final var status = new TracingStatus("route", true, false, 1.0, "otlp");
+        when(camelContext.getRoute("route")).thenReturn(Mockito.mock(Route.class));
+        when(tracing.getStatus("route")).thenReturn(status);
+
+        /* ACT */
+        final var response = routeTracingController.setTracing("route",
+                new RouteTracingSettings(true));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(status, response.getBody());
+        verify(tracing).setEnabled("route", true);
+    }
+
+}
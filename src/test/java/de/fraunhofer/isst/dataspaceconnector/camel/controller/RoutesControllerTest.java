@@ -2,11 +2,24 @@ package de.fraunhofer.isst.dataspaceconnector.camel.controller;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterCoordinator;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentException;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteInfo;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteInventoryService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RoutePage;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteReplacement;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteStartup;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.RouteStore;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.TemplateStore;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.RoutesDefinition;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -18,9 +31,16 @@ import org.springframework.mock.web.MockMultipartFile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {RoutesController.class})
@@ -30,12 +50,84 @@ public class RoutesControllerTest {
     private DefaultCamelContext camelContext;
 
     @MockBean
-    private Unmarshaller unmarshaller;
+    private RouteDefinitionParser routeDefinitionParser;
+
+    @MockBean
+    private RouteDeploymentService routeDeploymentService;
+
+    @MockBean
+    private RouteStore routeStore;
+
+    @MockBean
+    private TemplateStore templateStore;
+
+    @MockBean
+    private ClusterCoordinator clusterCoordinator;
+
+    @MockBean
+    private RouteInventoryService routeInventoryService;
 
     @Autowired
     @InjectMocks
     private RoutesController routesController;
 
+    @Test
+    public void getRoutes_validPage_returnStatusCode200() {
+        /* ARRANGE */
+        when(routeInventoryService.list(0, 100, null))
+                .thenReturn(new RoutePage(0, 100, 0, 0, List.of()));
+
+        /* ACT */
+        final var response = routesController.getRoutes(0, 100, null);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void getRoutes_sizeTooLarge_returnStatusCode400() {
+        /* ACT */
+        final var response = routesController.getRoutes(0, 5000, null);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(routeInventoryService, never()).list(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void getRoutes_negativePage_returnStatusCode400() {
+        /* ARRANGE */
+        when(routeInventoryService.list(-1, 100, null))
+                .thenThrow(new IllegalArgumentException("Page must not be negative."));
+
+        /* ACT */
+        final var response = routesController.getRoutes(-1, 100, null);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void getRoute_existingRoute_returnStatusCode200() {
+        /* ARRANGE */
+        when(routeInventoryService.get("route-id")).thenReturn(new RouteInfo());
+
+        /* ACT */
+        final var response = routesController.getRoute("route-id");
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void getRoute_unknownRoute_returnStatusCode404() {
+        /* ACT */
+        final var response = routesController.getRoute("unknown");
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
     @Test
     public void addRoutes_fileNull_returnStatusCode400() {
         /* ACT */
@@ -43,12 +135,31 @@ public class RoutesControllerTest {
 
         /* ASSERT */
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("File must not be null.", response.getBody());
+    }
+
+    @Test
+    public void addRoutes_invalidRoutes_returnValidationMessage() throws Exception {
+        /* ARRANGE */
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("Every route must have an ID."));
+
+        final var file = new MockMultipartFile("file", "routes.xml",
+                "application/xml",
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8));
+
+        /* ACT */
+        final var response = routesController.addRoutes(file);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Every route must have an ID.", response.getBody());
     }
 
     @Test
     public void addRoutes_validRouteFile_returnStatusCode200() throws Exception {
         /* ARRANGE */
-        when(unmarshaller.unmarshal(any(InputStream.class))).thenReturn(new RoutesDefinition());
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class))).thenReturn(new RoutesDefinition());
         doNothing().when(camelContext).addRouteDefinitions(any());
 
         final var file = new MockMultipartFile("file", "routes.xml",
@@ -65,7 +176,7 @@ public class RoutesControllerTest {
     @Test
     public void addRoutes_invalidRouteFile_returnStatusCode400() throws Exception {
         /* ARRANGE */
-        when(unmarshaller.unmarshal(any(InputStream.class))).thenThrow(JAXBException.class);
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class))).thenThrow(JAXBException.class);
 
         final var file = new MockMultipartFile("file", "routes.xml",
                 "application/xml",
@@ -81,7 +192,7 @@ public class RoutesControllerTest {
     @Test
     public void addRoutes_errorAddingRoutesToContext_returnStatusCode500() throws Exception {
         /* ARRANGE */
-        when(unmarshaller.unmarshal(any(InputStream.class))).thenReturn(new RoutesDefinition());
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class))).thenReturn(new RoutesDefinition());
         doThrow(Exception.class).when(camelContext).addRouteDefinitions(any());
 
         final var file = new MockMultipartFile("file", "routes.xml",
@@ -95,6 +206,113 @@ public class RoutesControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    @Test
+    public void addRoutesBatch_validRouteFiles_returnStatusCode200() throws Exception {
+        /* ARRANGE */
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class)))
+                .thenReturn(new RoutesDefinition());
+        when(routeDeploymentService.deploy(anyList())).thenReturn(List.of(new RouteStartup(
+                "route-id", RouteStartup.Status.STARTED, 1, null)));
+
+        /* ACT */
+        final var response = routesController.addRoutesBatch(List.of(getRouteFile(),
+                getRouteFile()));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void addRoutesBatch_invalidRouteFile_returnStatusCode400() throws Exception {
+        /* ARRANGE */
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class)))
+                .thenThrow(JAXBException.class);
+
+        /* ACT */
+        final var response = routesController.addRoutesBatch(List.of(getRouteFile()));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void addRoutesBatch_routeFailsToStart_returnStatusCode500() throws Exception {
+        /* ARRANGE */
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class)))
+                .thenReturn(new RoutesDefinition());
+        when(routeDeploymentService.deploy(anyList()))
+                .thenThrow(new RouteDeploymentException("failed", List.of()));
+
+        /* ACT */
+        final var response = routesController.addRoutesBatch(List.of(getRouteFile()));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    public void addRoutesBatch_routeOwnedByOtherMember_storeWithoutDeploying() throws Exception {
+        /* ARRANGE */
+        final var route = new RouteDefinition();
+        route.setId("remote-route");
+        final var routes = new RoutesDefinition();
+        routes.setRoutes(new ArrayList<>(List.of(route)));
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class))).thenReturn(routes);
+        when(clusterCoordinator.isRemote("remote-route")).thenReturn(true);
+
+        /* ACT */
+        final var response = routesController.addRoutesBatch(List.of(getRouteFile()));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(RouteStartup.Status.HANDED_OFF,
+                response.getBody().getRoutes().get(0).getStatus());
+        assertEquals("Successfully added 0 routes to Camel Context. Handed off 1 routes to "
+                + "other cluster members.", response.getBody().getMessage());
+        verify(routeDeploymentService, never()).deploy(anyList());
+        verify(routeStore).save(List.of(route));
+    }
+
+    @Test
+    public void replaceRoute_validRouteFile_returnStatusCode200() throws Exception {
+        /* ARRANGE */
+        final var routes = new RoutesDefinition();
+        routes.setRoutes(List.of(new RouteDefinition()));
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class))).thenReturn(routes);
+        when(routeDefinitionParser.copy(any(), eq(RouteDefinition.class)))
+                .thenReturn(new RouteDefinition());
+        when(routeDeploymentService.replace(eq("route-id"), any(), any(), isNull()))
+                .thenReturn(new RouteReplacement("route-id", "route-id-shadow", 2, 0, 10, 20));
+
+        final var file = new MockMultipartFile("file", "routes.xml",
+                "application/xml",
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8));
+
+        /* ACT */
+        final var response = routesController.replaceRoute("route-id", file, null);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(routeDefinitionParser, times(1)).parseRoutes(any(InputStream.class));
+    }
+
+    @Test
+    public void replaceRoute_fileWithoutRoute_returnStatusCode400() throws Exception {
+        /* ARRANGE */
+        when(routeDefinitionParser.parseRoutes(any(InputStream.class)))
+                .thenReturn(new RoutesDefinition());
+
+        final var file = new MockMultipartFile("file", "routes.xml",
+                "application/xml",
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8));
+
+        /* ACT */
+        final var response = routesController.replaceRoute("route-id", file, null);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     public void removeRoute_validRouteId_returnStatusCode200() throws Exception {
         /* ARRANGE */
@@ -133,6 +351,12 @@ public class RoutesControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    private MockMultipartFile getRouteFile() {
+        return new MockMultipartFile("files", "routes.xml",
+                "application/xml",
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8));
+    }
+
     private String getRouteFileContent() {
         return "<routes xmlns=\"http://camel.apache.org/schema/spring\">\n"
         + "    <route id=\"route-id\">\n"
@@ -0,0 +1,147 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.controller;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.cluster.ClusterCoordinator;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDeploymentService;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteStartup;
+import de.fraunhofer.isst.dataspaceconnector.camel.service.TemplatedRoute;
+import de.fraunhofer.isst.dataspaceconnector.camel.store.TemplateStore;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RouteTemplateDefinition;
+import org.apache.camel.model.RouteTemplatesDefinition;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {TemplatesController.class})
+public class TemplatesControllerTest {
+
+    @MockBean
+    private DefaultCamelContext camelContext;
+
+    @MockBean
+    private RouteDefinitionParser routeDefinitionParser;
+
+    @MockBean
+    private RouteDeploymentService routeDeploymentService;
+
+    @MockBean
+    private TemplateStore templateStore;
+
+    @MockBean
+    private ClusterCoordinator clusterCoordinator;
+
+    @Autowired
+    @InjectMocks
+    private TemplatesController templatesController;
+
+    @Test
+    public void addTemplates_fileNull_returnStatusCode400() {
+        /* ACT */
+        final var response = templatesController.addTemplates(null);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void addTemplates_validTemplateFile_returnStatusCode200() throws Exception {
+        /* ARRANGE */
+        final var template = new RouteTemplateDefinition();
+        template.setId("http-to-dsc");
+        final var templates = new RouteTemplatesDefinition();
+        templates.setRouteTemplates(List.of(template));
+        when(routeDefinitionParser.parse(any(InputStream.class),
+                eq(RouteTemplatesDefinition.class))).thenReturn(templates);
+
+        /* ACT */
+        final var response = templatesController.addTemplates(getTemplateFile());
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void addTemplates_templateWithoutId_returnStatusCode400() throws Exception {
+        /* ARRANGE */
+        final var templates = new RouteTemplatesDefinition();
+        templates.setRouteTemplates(List.of(new RouteTemplateDefinition()));
+        when(routeDefinitionParser.parse(any(InputStream.class),
+                eq(RouteTemplatesDefinition.class))).thenReturn(templates);
+
+        /* ACT */
+        final var response = templatesController.addTemplates(getTemplateFile());
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void addRoutes_validParameters_returnStatusCode200() throws Exception {
+        /* ARRANGE */
+        when(routeDeploymentService.deployFromTemplates(anyList())).thenReturn(List.of(
+                new RouteStartup("tenant-1", RouteStartup.Status.STARTED, 1, null)));
+
+        /* ACT */
+        final var response = templatesController.addRoutes("http-to-dsc", List.of(
+                new TemplatedRoute("tenant-1", null, Map.of("artifactId", "1234"))));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getRoutes().size());
+    }
+
+    @Test
+    public void addRoutes_missingParameter_returnStatusCode400() throws Exception {
+        /* ARRANGE */
+        when(routeDeploymentService.deployFromTemplates(anyList()))
+                .thenThrow(new IllegalArgumentException("Missing value for parameter."));
+
+        /* ACT */
+        final var response = templatesController.addRoutes("http-to-dsc", List.of(
+                new TemplatedRoute("tenant-1", null, Map.of())));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void removeTemplate_unknownTemplate_returnStatusCode404() {
+        /* ARRANGE */
+        when(camelContext.getRouteTemplateDefinition("unknown")).thenReturn(null);
+
+        /* ACT */
+        final var response = templatesController.removeTemplate("unknown");
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private MockMultipartFile getTemplateFile() {
+        return new MockMultipartFile("file", "templates.xml", "application/xml",
+                ("<routeTemplates xmlns=\"http://camel.apache.org/schema/spring\">\n"
+                        + "    <routeTemplate id=\"http-to-dsc\">\n"
+                        + "        <route>\n"
+                        + "            <from uri=\"timer:tick\"/>\n"
+                        + "            <to uri=\"log:info\"/>\n"
+                        + "        </route>\n"
+                        + "    </routeTemplate>\n"
+                        + "</routeTemplates>").getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,99 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeyedDispatcherTest {
+
+    private DefaultCamelContext camelContext;
+
+    private final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        camelContext = new DefaultCamelContext();
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:target").process(exchange -> received
+                        .computeIfAbsent(exchange.getMessage().getHeader("key", String.class),
+                                k -> new ArrayList<>())
+                        .add(exchange.getMessage().getBody(Integer.class)));
+            }
+        });
+        camelContext.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    public void process_keyedOrdering_keepOrderPerKey() throws Exception {
+        /* ARRANGE */
+        final var dispatcher = new KeyedDispatcher();
+        dispatcher.setCamelContext(camelContext);
+        dispatcher.setTarget("direct:target");
+        dispatcher.setLanes(4);
+        dispatcher.setQueueSize(10);
+        dispatcher.setOrdering(KeyedDispatcher.Ordering.KEYED);
+        dispatcher.setKeyExpression("${header.key}");
+
+        final var done = new CountDownLatch(200);
+
+        /* ACT */
+        for (var i = 0; i < 200; i++) {
+            final var exchange = new DefaultExchange(camelContext);
+            exchange.getMessage().setHeader("key", "key-" + (i % 8));
+            exchange.getMessage().setBody(i);
+            assertFalse(dispatcher.process(exchange, doneSync -> done.countDown()));
+        }
+
+        /* ASSERT */
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        dispatcher.close();
+        assertEquals(8, received.size());
+        for (final var entry : received.entrySet()) {
+            final var values = entry.getValue();
+            assertEquals(25, values.size());
+            for (var i = 1; i < values.size(); i++) {
+                assertEquals(values.get(i - 1) + 8, values.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void process_targetFails_failOriginalExchange() throws Exception {
+        /* ARRANGE */
+        final var dispatcher = new KeyedDispatcher();
+        dispatcher.setCamelContext(camelContext);
+        dispatcher.setTarget("direct:missing");
+        dispatcher.setLanes(2);
+        dispatcher.setOrdering(KeyedDispatcher.Ordering.UNORDERED);
+        final var exchange = new DefaultExchange(camelContext);
+
+        /* ACT */
+        dispatcher.process(exchange);
+        dispatcher.close();
+
+        /* ASSERT */
+        assertTrue(exchange.isFailed());
+    }
+
+}
@@ -0,0 +1,94 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.file;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StreamingFileSinkTest {
+
+    @TempDir
+    Path directory;
+
+    private StreamingFileSink sink;
+
+    @BeforeEach
+    public void setUp() {
+        sink = new StreamingFileSink();
+        sink.setDirectory(directory.toString());
+        sink.setFileName("data.txt");
+    }
+
+    @Test
+    public void process_streamBody_writeFileWithoutTempFile() throws Exception {
+        /* ACT */
+        sink.process(exchange("content"));
+
+        /* ASSERT */
+        assertEquals("content", Files.readString(directory.resolve("data.txt")));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void process_skipUnchangedAndSameContent_leaveFileUntouched() throws Exception {
+        /* ARRANGE */
+        sink.setSkipUnchanged(true);
+        sink.process(exchange("content"));
+        final var file = directory.resolve("data.txt");
+        final var modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(file, modified);
+
+        /* ACT */
+        final var exchange = exchange("content");
+        sink.process(exchange);
+
+        /* ASSERT */
+        assertEquals(modified, Files.getLastModifiedTime(file));
+        assertEquals(true, exchange.getMessage().getHeader(StreamingFileSink.UNCHANGED_HEADER));
+    }
+
+    @Test
+    public void process_skipUnchangedAndNewContent_replaceFile() throws Exception {
+        /* ARRANGE */
+        sink.setSkipUnchanged(true);
+        sink.process(exchange("content"));
+
+        /* ACT */
+        final var exchange = exchange("new content");
+        sink.process(exchange);
+
+        /* ASSERT */
+        assertEquals("new content", Files.readString(directory.resolve("data.txt")));
+        assertEquals(false, exchange.getMessage().getHeader(StreamingFileSink.UNCHANGED_HEADER));
+    }
+
+    @Test
+    public void process_fileNameOutsideDirectory_throwIllegalArgumentException() {
+        /* ARRANGE */
+        sink.setFileName("../data.txt");
+
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> sink.process(exchange("content")));
+    }
+
+    private Exchange exchange(final String body) {
+        final var exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getMessage().setBody(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        return exchange;
+    }
+
+}
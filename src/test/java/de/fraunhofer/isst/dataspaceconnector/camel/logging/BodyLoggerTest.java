@@ -0,0 +1,69 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.logging;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.converter.stream.InputStreamCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BodyLoggerTest {
+
+    @Test
+    public void preview_bytesAboveMaxBytes_truncate() {
+        /* ARRANGE */
+        final var bodyLogger = new BodyLogger();
+        bodyLogger.setMaxBytes(4);
+
+        /* ACT */
+        final var preview = bodyLogger.preview("abcdefgh".getBytes(StandardCharsets.UTF_8));
+
+        /* ASSERT */
+        assertEquals("abcd...", preview);
+    }
+
+    @Test
+    public void preview_stringBelowMaxBytes_returnString() {
+        /* ARRANGE */
+        final var bodyLogger = new BodyLogger();
+        bodyLogger.setMaxBytes(4);
+
+        /* ACT */
+        final var preview = bodyLogger.preview("abc");
+
+        /* ASSERT */
+        assertEquals("abc", preview);
+    }
+
+    @Test
+    public void preview_streamCache_resetStream() throws Exception {
+        /* ARRANGE */
+        final var bodyLogger = new BodyLogger();
+        bodyLogger.setMaxBytes(4);
+        final var cache = new InputStreamCache("abcdefgh".getBytes(StandardCharsets.UTF_8));
+
+        /* ACT */
+        final var preview = bodyLogger.preview(cache);
+
+        /* ASSERT */
+        assertEquals("abcd...", preview);
+        assertEquals("abcdefgh", new String(cache.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void preview_nonResettableStream_doNotRead() {
+        /* ARRANGE */
+        final var bodyLogger = new BodyLogger();
+        final var stream = new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8));
+
+        /* ACT */
+        final var preview = bodyLogger.preview(stream);
+
+        /* ASSERT */
+        assertTrue(preview.startsWith("[ByteArrayInputStream not logged"));
+        assertEquals(3, stream.available());
+    }
+
+}
@@ -0,0 +1,106 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.outbox;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void read_recordsAcrossSegments_returnInOrder() throws IOException {
+        /* ARRANGE */
+        try (var log = new SegmentLog(directory, 64, 1024, false)) {
+            for (var i = 0; i < 10; i++) {
+                log.append(bytes("record-" + i));
+            }
+
+            /* ACT */
+            final var entries = log.read(0, 100);
+
+            /* ASSERT */
+            assertEquals(10, entries.size());
+            for (var i = 0; i < 10; i++) {
+                assertArrayEquals(bytes("record-" + i), entries.get(i).getData());
+            }
+            assertEquals(log.getEndOffset(), entries.get(9).getNextOffset());
+        }
+    }
+
+    @Test
+    public void commit_segmentsConsumed_deleteSegmentsAndResumeAfterReopen() throws IOException {
+        /* ARRANGE */
+        try (var log = new SegmentLog(directory, 64, 1024, false)) {
+            for (var i = 0; i < 10; i++) {
+                log.append(bytes("record-" + i));
+            }
+
+            /* ACT */
+            log.commit(log.read(0, 6).get(5).getNextOffset());
+        }
+
+        /* ASSERT */
+        try (var log = new SegmentLog(directory, 64, 1024, false)) {
+            final var entries = log.read(log.getCommittedOffset(), 100);
+            assertEquals(4, entries.size());
+            assertArrayEquals(bytes("record-6"), entries.get(0).getData());
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.filter(file -> file.toString().endsWith(".seg")).count());
+        }
+    }
+
+    @Test
+    public void open_tornRecord_dropRecordAndAppendAfterLastValidOne() throws IOException {
+        /* ARRANGE */
+        long torn;
+        try (var log = new SegmentLog(directory, 1024, 4096, true)) {
+            log.append(bytes("first"));
+            torn = log.append(bytes("second"));
+        }
+        try (var file = new RandomAccessFile(directory.resolve(
+                String.format("%020d.seg", 0)).toFile(), "rw")) {
+            file.seek(torn + 8);
+            file.write('X');
+        }
+
+        /* ACT */
+        try (var log = new SegmentLog(directory, 1024, 4096, false)) {
+            final var offset = log.append(bytes("third"));
+
+            /* ASSERT */
+            assertEquals(torn, offset);
+            final var entries = log.read(0, 100);
+            assertEquals(2, entries.size());
+            assertArrayEquals(bytes("third"), entries.get(1).getData());
+        }
+    }
+
+    @Test
+    public void append_maxBytesReached_throwIOException() throws IOException {
+        /* ARRANGE */
+        try (var log = new SegmentLog(directory, 32, 64, false)) {
+            log.append(new byte[24]);
+            log.append(new byte[24]);
+
+            /* ACT && ASSERT */
+            assertThrows(IOException.class, () -> log.append(new byte[24]));
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,87 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    public void tryAcquire_limitReached_rejectCall() {
+        /* ARRANGE */
+        final var limit = new AdaptiveConcurrencyLimit(settings(2, 10));
+
+        /* ACT */
+        final var first = limit.tryAcquire();
+        final var second = limit.tryAcquire();
+        final var third = limit.tryAcquire();
+
+        /* ASSERT */
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, limit.getInflight());
+    }
+
+    @Test
+    public void onComplete_stableLatencyAtLimit_growLimitUpToMax() {
+        /* ARRANGE */
+        final var limit = new AdaptiveConcurrencyLimit(settings(4, 10));
+
+        /* ACT */
+        for (var i = 0; i < 100; i++) {
+            while (limit.tryAcquire()) {
+                // Use the whole limit.
+            }
+            limit.onComplete(10_000_000, true);
+            while (limit.getInflight() > 0) {
+                limit.cancel();
+            }
+        }
+
+        /* ASSERT */
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void onComplete_latencyRises_shrinkLimit() {
+        /* ARRANGE */
+        final var limit = new AdaptiveConcurrencyLimit(settings(10, 10));
+        for (var i = 0; i < 20; i++) {
+            limit.tryAcquire();
+        }
+        limit.onComplete(10_000_000, true);
+
+        /* ACT */
+        for (var i = 0; i < 9; i++) {
+            limit.onComplete(100_000_000, true);
+        }
+
+        /* ASSERT */
+        assertTrue(limit.getLimit() < 10);
+    }
+
+    @Test
+    public void onComplete_failedCall_backOff() {
+        /* ARRANGE */
+        final var limit = new AdaptiveConcurrencyLimit(settings(10, 10));
+        limit.tryAcquire();
+
+        /* ACT */
+        limit.onComplete(10_000_000, false);
+
+        /* ASSERT */
+        assertEquals(9, limit.getLimit());
+    }
+
+    private static ResilienceSettings settings(final int initialLimit, final int maxLimit) {
+        final var settings = new ResilienceSettings();
+        settings.setInitialLimit(initialLimit);
+        settings.setMinLimit(1);
+        settings.setMaxLimit(maxLimit);
+        return settings.orElse(ResilienceSettings.defaults());
+    }
+
+}
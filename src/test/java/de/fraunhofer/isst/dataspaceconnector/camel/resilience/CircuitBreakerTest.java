@@ -0,0 +1,72 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void onComplete_failureRateReached_rejectCalls() {
+        /* ARRANGE */
+        final var breaker = new CircuitBreaker(settings(60_000));
+
+        /* ACT */
+        for (var i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.onComplete(1_000_000, i % 2 == 0);
+        }
+
+        /* ASSERT */
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void onComplete_slowCalls_countAsFailed() {
+        /* ARRANGE */
+        final var breaker = new CircuitBreaker(settings(60_000));
+
+        /* ACT */
+        for (var i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.onComplete(2_000_000_000L, true);
+        }
+
+        /* ASSERT */
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void tryAcquire_openDurationPassed_permitSingleTrialAndClose() {
+        /* ARRANGE */
+        final var breaker = new CircuitBreaker(settings(0));
+        for (var i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.onComplete(1_000_000, false);
+        }
+
+        /* ACT */
+        final var trial = breaker.tryAcquire();
+        final var second = breaker.tryAcquire();
+        breaker.onComplete(1_000_000, true);
+
+        /* ASSERT */
+        assertTrue(trial);
+        assertFalse(second);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static ResilienceSettings settings(final long openMs) {
+        final var settings = new ResilienceSettings();
+        settings.setFailureRateThreshold(50);
+        settings.setMinimumCalls(4);
+        settings.setWindowSize(10);
+        settings.setSlowCallMs(1000L);
+        settings.setOpenMs(openMs);
+        return settings.orElse(ResilienceSettings.defaults());
+    }
+
+}
@@ -0,0 +1,64 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.resilience;
+
+import java.util.Map;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResilienceInterceptStrategyTest {
+
+    private static final String URI = "http://localhost:1/api/artifacts/id/data";
+
+    private DefaultCamelContext camelContext;
+
+    private ResilienceInterceptStrategy strategy;
+
+    @BeforeEach
+    public void setUp() {
+        final var settings = new ResilienceSettings();
+        settings.setMinimumCalls(2);
+        settings.setWindowSize(2);
+        settings.setOpenMs(60_000L);
+
+        camelContext = new DefaultCamelContext();
+        strategy = new ResilienceInterceptStrategy(new SimpleMeterRegistry(),
+                ResilienceSettings.defaults(), Map.of("localhost:1", settings), Map.of());
+        camelContext.adapt(ExtendedCamelContext.class).addInterceptStrategy(strategy);
+        camelContext.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    public void send_circuitOpen_rejectWithoutSending() {
+        /* ARRANGE */
+        final var template = camelContext.createProducerTemplate();
+        for (var i = 0; i < 2; i++) {
+            final var failed = ResilienceInterceptStrategy.send(template, URI,
+                    new DefaultExchange(camelContext));
+            assertFalse(failed.getException() instanceof CallNotPermittedException);
+        }
+
+        /* ACT */
+        final var result = ResilienceInterceptStrategy.send(template, URI,
+                new DefaultExchange(camelContext));
+
+        /* ASSERT */
+        assertTrue(result.getException() instanceof CallNotPermittedException);
+        assertEquals(CircuitBreaker.State.OPEN,
+                strategy.getGuards().get("localhost:1").getCircuitBreaker().getState());
+    }
+
+}
@@ -0,0 +1,130 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.apache.camel.model.Constants;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.RoutesDefinition;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RouteDefinitionParserTest {
+
+    private static final int PARSES_PER_THREAD = 200;
+
+    private static JAXBContext jaxbContext;
+
+    private static List<byte[]> routeFiles;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        jaxbContext = JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
+
+        routeFiles = new ArrayList<>();
+        final var resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:routes/dsc-v5/*.xml");
+        for (final var resource : resources) {
+            try (var inputStream = resource.getInputStream()) {
+                routeFiles.add(inputStream.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void parseRoutes_validRouteFile_returnRoutes() throws Exception {
+        /* ARRANGE */
+        final var parser = new RouteDefinitionParser(jaxbContext, 1);
+
+        /* ACT */
+        final var routes = parser.parseRoutes(new ByteArrayInputStream(routeFiles.get(0)));
+
+        /* ASSERT */
+        assertEquals(1, routes.getRoutes().size());
+    }
+
+    @Test
+    public void copy_routeDefinition_returnEqualCopy() throws Exception {
+        /* ARRANGE */
+        final var parser = new RouteDefinitionParser(jaxbContext, 1);
+        final var route = parser.parseRoutes(new ByteArrayInputStream(routeFiles.get(0)))
+                .getRoutes().get(0);
+
+        /* ACT */
+        final var copy = parser.copy(route, RouteDefinition.class);
+        copy.setId("copy");
+
+        /* ASSERT */
+        assertNotSame(route, copy);
+        assertNotSame(route.getInput(), copy.getInput());
+        assertEquals(route.getInput().getUri(), copy.getInput().getUri());
+        assertEquals(route.getOutputs().size(), copy.getOutputs().size());
+        assertFalse("copy".equals(route.getId()));
+    }
+
+    @Test
+    public void parseRoutes_invalidRootElement_throwJAXBException() {
+        /* ARRANGE */
+        final var parser = new RouteDefinitionParser(jaxbContext, 1);
+        final var xml = "<route xmlns=\"http://camel.apache.org/schema/spring\" id=\"id\"/>";
+
+        /* ACT && ASSERT */
+        assertThrows(JAXBException.class, () -> parser.parseRoutes(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void parseRoutes_parallelUploads_noErrors() throws Exception {
+        /* ARRANGE */
+        final var threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final var parser = new RouteDefinitionParser(jaxbContext, threads);
+
+        /* ACT && ASSERT */
+        runParses(parser, threads);
+    }
+
+    private void runParses(final RouteDefinitionParser parser, final int threads)
+            throws Exception {
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var tasks = new ArrayList<Callable<Integer>>();
+            for (var t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    var parsedFiles = 0;
+                    for (var i = 0; i < PARSES_PER_THREAD; i++) {
+                        final var file = routeFiles.get(i % routeFiles.size());
+                        final RoutesDefinition routes = parser
+                                .parseRoutes(new ByteArrayInputStream(file));
+                        assertFalse(routes.getRoutes().isEmpty());
+                        parsedFiles++;
+                    }
+                    return parsedFiles;
+                });
+            }
+
+            final List<Future<Integer>> results = executor.invokeAll(tasks);
+            for (final var result : results) {
+                // Future.get rethrows any parsing error that occurred in a worker thread.
+                assertEquals(PARSES_PER_THREAD, result.get());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+}
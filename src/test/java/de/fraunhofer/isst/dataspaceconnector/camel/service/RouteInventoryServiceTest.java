@@ -0,0 +1,120 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.service;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.controller.RoutesController;
+import org.apache.camel.api.management.ManagedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RouteInventoryServiceTest {
+
+    private DefaultCamelContext camelContext;
+
+    private RouteInventoryService inventoryService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        camelContext = new DefaultCamelContext();
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:c").routeId("route-c").setBody(constant("done"));
+                from("direct:a").routeId("route-a").throwException(new IllegalStateException());
+                from("direct:b").routeId("route-b").autoStartup(false).log("b");
+            }
+        });
+        camelContext.start();
+        inventoryService = new RouteInventoryService(camelContext);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    public void list_secondPage_returnRoutesOrderedById() {
+        /* ACT */
+        final var page = inventoryService.list(1, 2, null);
+
+        /* ASSERT */
+        assertEquals(3, page.getTotalRoutes());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(1, page.getRoutes().size());
+        assertEquals("route-c", page.getRoutes().get(0).getRouteId());
+    }
+
+    @Test
+    public void list_statusFilter_returnOnlyMatchingRoutes() {
+        /* ACT */
+        final var page = inventoryService.list(0, 10, "stopped");
+
+        /* ASSERT */
+        assertEquals(1, page.getTotalRoutes());
+        assertEquals("route-b", page.getRoutes().get(0).getRouteId());
+        assertEquals(0, page.getRoutes().get(0).getUptimeMillis());
+    }
+
+    @Test
+    public void list_invalidSize_throwIllegalArgumentException() {
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.list(0, 0, null));
+    }
+
+    @Test
+    public void get_routeAfterExchanges_returnStatistics() {
+        /* ARRANGE */
+        final var template = camelContext.createProducerTemplate();
+        template.sendBody("direct:c", "data");
+        template.send("direct:a", exchange -> exchange.getIn().setBody("data"));
+
+        /* ACT */
+        final var completed = inventoryService.get("route-c");
+        final var failed = inventoryService.get("route-a");
+
+        /* ASSERT */
+        assertEquals("Started", completed.getStatus());
+        assertEquals("direct://c", completed.getEndpointUri());
+        assertEquals(1L, completed.getExchangesCompleted());
+        assertNotNull(completed.getLastCompleted());
+        assertEquals(1L, failed.getExchangesFailed());
+        assertNotNull(failed.getLastFailure());
+        assertNotNull(failed.getLastFailureExchangeId());
+    }
+
+    @Test
+    public void getRoute_routeWithManagedMBean_returnStatistics() {
+        /* ARRANGE */
+        final var controller = new RoutesController(camelContext, null, null, null, null, null,
+                inventoryService);
+        camelContext.createProducerTemplate().sendBody("direct:c", "data");
+        assertNotNull(camelContext.getExtension(ManagedCamelContext.class)
+                .getManagedRoute("route-c"));
+
+        /* ACT */
+        final var response = controller.getRoute("route-c");
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final var route = (RouteInfo) response.getBody();
+        assertEquals("route-c", route.getRouteId());
+        assertEquals(1L, route.getExchangesTotal());
+        assertEquals(0L, route.getExchangesInflight());
+        assertNotNull(route.getMeanProcessingTime());
+    }
+
+    @Test
+    public void get_unknownRoute_returnNull() {
+        /* ACT && ASSERT */
+        assertNull(inventoryService.get("unknown"));
+    }
+
+}
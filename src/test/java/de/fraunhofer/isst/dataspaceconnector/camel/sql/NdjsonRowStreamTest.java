@@ -0,0 +1,55 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.sql;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NdjsonRowStreamTest {
+
+    @Test
+    public void read_multipleRows_returnOneJsonLinePerRow() throws Exception {
+        /* ARRANGE */
+        final var rows = List.of(row(1, "Germany"), row(2, "France"));
+        final var seen = new ArrayList<>();
+
+        /* ACT */
+        final byte[] result;
+        try (var stream = new NdjsonRowStream(rows.iterator(), new ObjectMapper().writer(),
+                seen::add)) {
+            result = stream.readAllBytes();
+        }
+
+        /* ASSERT */
+        assertEquals("{\"id\":1,\"name\":\"Germany\"}\n{\"id\":2,\"name\":\"France\"}\n",
+                new String(result, StandardCharsets.UTF_8));
+        assertEquals(rows, seen);
+    }
+
+    @Test
+    public void read_noRows_returnEndOfStream() throws Exception {
+        /* ARRANGE */
+        final var stream = new NdjsonRowStream(List.of().iterator(), new ObjectMapper().writer(),
+                row -> { });
+
+        /* ACT */
+        final var result = stream.read();
+
+        /* ASSERT */
+        assertEquals(-1, result);
+    }
+
+    private Map<String, Object> row(final int id, final String name) {
+        final var row = new LinkedHashMap<String, Object>();
+        row.put("id", id);
+        row.put("name", name);
+        return row;
+    }
+
+}
@@ -0,0 +1,76 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BeanStoreTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    private BeanStore beanStore;
+
+    @BeforeEach
+    public void setUp() {
+        beanStore = new BeanStore(true, storeDirectory.toString());
+    }
+
+    @Test
+    public void save_replacedBean_removeBeanFromOlderFile() throws Exception {
+        /* ARRANGE */
+        beanStore.save("first", content("<beans/>"), List.of("a", "b"));
+
+        /* ACT */
+        beanStore.save("second", content("<beans/>"), List.of("b", "c"));
+        final var stored = beanStore.loadAll();
+
+        /* ASSERT */
+        assertEquals(2, stored.size());
+        assertEquals(Set.of("a"), stored.get(0).getBeanNames());
+        assertEquals(Set.of("b", "c"), stored.get(1).getBeanNames());
+    }
+
+    @Test
+    public void save_allBeansReplaced_deleteOlderFile() throws Exception {
+        /* ARRANGE */
+        beanStore.save("first", content("<beans/>"), List.of("a"));
+
+        /* ACT */
+        beanStore.save("second", content("<beans/>"), List.of("a"));
+        final var stored = beanStore.loadAll();
+
+        /* ASSERT */
+        assertEquals(1, stored.size());
+        assertEquals("second", stored.get(0).getHash());
+        assertFalse(Files.exists(storeDirectory.resolve("beans").resolve("first.xml")));
+    }
+
+    @Test
+    public void delete_lastBeanOfFile_deleteFile() throws Exception {
+        /* ARRANGE */
+        beanStore.save("first", content("<beans/>"), List.of("a"));
+
+        /* ACT */
+        beanStore.delete("a");
+
+        /* ASSERT */
+        assertTrue(beanStore.loadAll().isEmpty());
+    }
+
+    private ByteArrayInputStream content(final String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,91 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.store;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import javax.xml.bind.JAXBContext;
+
+import de.fraunhofer.isst.dataspaceconnector.camel.service.RouteDefinitionParser;
+import org.apache.camel.model.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteStoreTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    private RouteDefinitionParser parser;
+
+    private RouteStore routeStore;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        final var jaxbContext = JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES);
+        parser = new RouteDefinitionParser(jaxbContext, 1);
+        routeStore = new RouteStore(true, storeDirectory.toString(), jaxbContext, parser);
+    }
+
+    @Test
+    public void save_validRoutes_restoreSameRoutes() throws Exception {
+        /* ARRANGE */
+        final var routes = parser.parseRoutes(new ByteArrayInputStream(
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8))).getRoutes();
+
+        /* ACT */
+        routeStore.save(routes);
+        final var restored = routeStore.loadAll();
+
+        /* ASSERT */
+        assertEquals(List.of("route-2", "route/1"), routeStore.listIds());
+        assertEquals(2, restored.size());
+        assertEquals("route-2", restored.get(0).getId());
+        assertEquals("timer:tock?period=3000", restored.get(0).getInput().getUri());
+    }
+
+    @Test
+    public void delete_storedRoute_routeNotRestored() throws Exception {
+        /* ARRANGE */
+        routeStore.save(parser.parseRoutes(new ByteArrayInputStream(
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8))).getRoutes());
+
+        /* ACT */
+        routeStore.delete("route/1");
+
+        /* ASSERT */
+        assertEquals(List.of("route-2"), routeStore.listIds());
+    }
+
+    @Test
+    public void save_storeDisabled_nothingStored() throws Exception {
+        /* ARRANGE */
+        final var disabledStore = new RouteStore(false, storeDirectory.toString(),
+                JAXBContext.newInstance(Constants.JAXB_CONTEXT_PACKAGES), parser);
+
+        /* ACT */
+        disabledStore.save(parser.parseRoutes(new ByteArrayInputStream(
+                getRouteFileContent().getBytes(StandardCharsets.UTF_8))).getRoutes());
+
+        /* ASSERT */
+        assertTrue(routeStore.listIds().isEmpty());
+    }
+
+    private String getRouteFileContent() {
+        return "<routes xmlns=\"http://camel.apache.org/schema/spring\">\n"
+        + "    <route id=\"route/1\">\n"
+        + "        <from uri=\"timer:tick?period=3000\"/>\n"
+        + "        <to uri=\"log:info\"/>\n"
+        + "    </route>\n"
+        + "    <route id=\"route-2\">\n"
+        + "        <from uri=\"timer:tock?period=3000\"/>\n"
+        + "        <to uri=\"log:info\"/>\n"
+        + "    </route>\n"
+        + "</routes>";
+    }
+
+}
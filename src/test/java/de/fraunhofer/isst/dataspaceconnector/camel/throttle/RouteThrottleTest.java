@@ -0,0 +1,103 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.throttle;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteThrottleTest {
+
+    @Test
+    public void acquire_noLimits_startWithoutPermit() throws InterruptedException {
+        /* ARRANGE */
+        final var throttle = new RouteThrottle("route");
+
+        /* ACT */
+        final var permit = throttle.acquire(() -> false);
+
+        /* ASSERT */
+        assertFalse(permit);
+    }
+
+    @Test
+    public void acquire_rateLimited_waitForTokens() throws InterruptedException {
+        /* ARRANGE */
+        final var throttle = new RouteThrottle("route");
+        throttle.setLimits(new RouteLimits(20.0, 2, null));
+
+        /* ACT */
+        final var start = System.nanoTime();
+        for (var i = 0; i < 6; i++) {
+            throttle.acquire(() -> false);
+            throttle.release();
+        }
+        final var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        /* ASSERT */
+        assertTrue(elapsed >= 150, "Elapsed " + elapsed + " ms");
+        assertTrue(throttle.getStatus(0).getThrottled() > 0);
+    }
+
+    @Test
+    public void acquire_maxInflightReached_waitForRelease() throws Exception {
+        /* ARRANGE */
+        final var throttle = new RouteThrottle("route");
+        throttle.setLimits(new RouteLimits(null, null, 1));
+        throttle.acquire(() -> false);
+
+        /* ACT */
+        final var second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return throttle.acquire(() -> false);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        final var waiting = throttle.getStatus(1).getWaiting();
+        throttle.release();
+
+        /* ASSERT */
+        assertEquals(1, waiting);
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void setLimits_limitsRemoved_releaseWaitingExchanges() throws Exception {
+        /* ARRANGE */
+        final var throttle = new RouteThrottle("route");
+        throttle.setLimits(new RouteLimits(null, null, 1));
+        throttle.acquire(() -> false);
+        final var second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return throttle.acquire(() -> false);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+
+        /* ACT */
+        throttle.setLimits(null);
+
+        /* ASSERT */
+        assertFalse(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void validate_burstWithoutRate_returnReason() {
+        /* ARRANGE */
+        final var limits = new RouteLimits(null, 5, null);
+
+        /* ACT */
+        final var reason = limits.validate();
+
+        /* ASSERT */
+        assertEquals("burst requires ratePerSecond.", reason);
+    }
+
+}
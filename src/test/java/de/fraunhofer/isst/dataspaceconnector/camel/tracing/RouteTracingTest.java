@@ -0,0 +1,119 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.tracing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteTracingTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    private RouteTracing tracing;
+
+    private DefaultCamelContext camelContext;
+
+    private final List<String> loggedTraceIds = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        final var tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        tracing = new RouteTracing(tracerProvider.get("test"),
+                W3CTraceContextPropagator.getInstance(), false, 1.0, "none");
+
+        camelContext = new DefaultCamelContext();
+        camelContext.addRoutePolicyFactory(new TracingRoutePolicyFactory(tracing));
+        camelContext.getManagementStrategy().addEventNotifier(new TracingEventNotifier(tracing));
+        camelContext.adapt(ExtendedCamelContext.class)
+                .addInterceptStrategy(new TracingMdcInterceptStrategy(tracing));
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:outer").routeId("outer").to("direct:inner");
+                from("direct:inner").routeId("inner")
+                        .process(exchange -> loggedTraceIds.add(
+                                MDC.get(RouteTracing.TRACE_ID_KEY)))
+                        .setBody(constant("done"));
+            }
+        });
+        camelContext.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    public void startRoute_routesEnabled_recordRouteAndHopSpansAsOneTrace() {
+        /* ARRANGE */
+        tracing.setEnabled("outer", true);
+        tracing.setEnabled("inner", true);
+
+        /* ACT */
+        camelContext.createProducerTemplate().sendBody("direct:outer", "data");
+
+        /* ASSERT */
+        final var spans = exporter.getFinishedSpanItems().stream()
+                .collect(Collectors.toMap(SpanData::getName, span -> span));
+        assertEquals(3, spans.size());
+        final var outer = spans.get("outer");
+        final var hop = spans.get("direct://inner");
+        final var inner = spans.get("inner");
+        assertEquals(outer.getSpanId(), hop.getParentSpanId());
+        assertEquals(hop.getSpanId(), inner.getParentSpanId());
+        assertEquals(outer.getTraceId(), inner.getTraceId());
+    }
+
+    @Test
+    public void startRoute_routeDisabledAtRuntime_recordNoSpans() {
+        /* ARRANGE */
+        tracing.setEnabled("outer", true);
+        camelContext.createProducerTemplate().sendBody("direct:outer", "data");
+        exporter.reset();
+
+        /* ACT */
+        tracing.setEnabled("outer", false);
+        camelContext.createProducerTemplate().sendBody("direct:outer", "data");
+
+        /* ASSERT */
+        assertTrue(exporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    public void process_routeEnabled_setTraceIdOnlyWhileProcessing() {
+        /* ARRANGE */
+        tracing.setEnabled("outer", true);
+        tracing.setEnabled("inner", true);
+
+        /* ACT */
+        camelContext.createProducerTemplate().sendBody("direct:outer", "data");
+
+        /* ASSERT */
+        final var outer = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("outer"))
+                .findFirst().orElseThrow();
+        assertEquals(List.of(outer.getTraceId()), loggedTraceIds);
+        assertNull(MDC.get(RouteTracing.TRACE_ID_KEY));
+        assertNull(MDC.get(RouteTracing.SPAN_ID_KEY));
+    }
+
+}
@@ -0,0 +1,183 @@
+package de.fraunhofer.isst.dataspaceconnector.camel.upload;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressingUploaderTest {
+
+    private static final String PAYLOAD = "{\"id\":1,\"name\":\"row\"}\n".repeat(1_000);
+
+    private HttpServer server;
+
+    private DefaultCamelContext camelContext;
+
+    private CompressingUploader uploader;
+
+    private volatile String receivedEncoding;
+
+    private volatile String receivedTransferEncoding;
+
+    private volatile String receivedBody;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/any", exchange -> respond(exchange, null));
+        server.createContext("/deflate-only", exchange -> respond(exchange, "deflate"));
+        server.createContext("/plain-only", exchange -> respond(exchange, "identity"));
+        server.start();
+
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+
+        uploader = new CompressingUploader();
+        uploader.setEncoding(ContentEncoding.GZIP);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        uploader.close();
+        camelContext.stop();
+        server.stop(0);
+    }
+
+    @Test
+    public void send_gzip_sendCompressedChunkedBody() throws Exception {
+        /* ACT */
+        final var exchange = upload("/any", PAYLOAD);
+
+        /* ASSERT */
+        assertNull(exchange.getException());
+        assertEquals("gzip", receivedEncoding);
+        assertEquals("chunked", receivedTransferEncoding);
+        assertEquals(PAYLOAD, receivedBody);
+        assertEquals("gzip", exchange.getMessage().getHeader(CompressingUploader.ENCODING_HEADER));
+    }
+
+    @Test
+    public void send_smallBody_sendUncompressed() throws Exception {
+        /* ACT */
+        upload("/any", "{}");
+
+        /* ASSERT */
+        assertNull(receivedEncoding);
+        assertEquals("{}", receivedBody);
+    }
+
+    @Test
+    public void send_targetAcceptsOtherEncoding_retryWithAcceptedEncoding() throws Exception {
+        /* ACT */
+        final var exchange = upload("/deflate-only", PAYLOAD);
+
+        /* ASSERT */
+        assertNull(exchange.getException());
+        assertEquals("deflate", receivedEncoding);
+        assertEquals(PAYLOAD, receivedBody);
+        assertEquals(ContentEncoding.DEFLATE,
+                uploader.getEncoding("localhost:" + server.getAddress().getPort()));
+    }
+
+    @Test
+    public void send_targetRejectsCompression_retryUncompressed() throws Exception {
+        /* ACT */
+        final var exchange = upload("/plain-only", PAYLOAD);
+
+        /* ASSERT */
+        assertNull(exchange.getException());
+        assertNull(receivedEncoding);
+        assertEquals(PAYLOAD, receivedBody);
+    }
+
+    @Test
+    public void send_streamRejected_failAndSendNextUploadUncompressed() throws Exception {
+        /* ARRANGE */
+        final InputStream stream = new ByteArrayInputStream(
+                PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        /* ACT */
+        final var first = upload("/plain-only", stream);
+        final var second = upload("/plain-only", new ByteArrayInputStream(
+                PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+
+        /* ASSERT */
+        assertTrue(first.isFailed());
+        assertFalse(second.isFailed());
+        assertNull(receivedEncoding);
+    }
+
+    @Test
+    public void parseAcceptEncoding_qualityZero_ignoreEncoding() {
+        /* ACT */
+        final var accepted = CompressingUploader.parseAcceptEncoding(
+                Map.of("Accept-Encoding", "gzip;q=0, deflate;q=0.5, br"));
+
+        /* ASSERT */
+        assertEquals(Set.of(ContentEncoding.DEFLATE), accepted);
+    }
+
+    @Test
+    public void targetOf_uriWithPathAndQuery_returnHostAndPort() {
+        /* ACT && ASSERT */
+        assertEquals("dataspace-connector:8080", CompressingUploader.targetOf(
+                "http://dataspace-connector:8080/api/artifacts/1/data?socketTimeout=1000"));
+    }
+
+    private Exchange upload(final String path, final Object body) throws Exception {
+        final var exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody(body);
+        exchange.getMessage().setHeader(Exchange.HTTP_METHOD, "PUT");
+        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/x-ndjson");
+        exchange.getMessage().setHeader(CompressingUploader.URI_HEADER,
+                "http://localhost:" + server.getAddress().getPort() + path);
+        uploader.send(exchange);
+        return exchange;
+    }
+
+    private void respond(final HttpExchange exchange, final String accepted) throws IOException {
+        try {
+            final var encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            if (accepted != null && encoding != null && !accepted.equals(encoding)) {
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().add("Accept-Encoding", accepted);
+                exchange.sendResponseHeaders(415, -1);
+                return;
+            }
+
+            receivedEncoding = encoding;
+            receivedTransferEncoding = exchange.getRequestHeaders()
+                    .getFirst("Transfer-Encoding");
+            InputStream body = exchange.getRequestBody();
+            if ("gzip".equals(encoding)) {
+                body = new GZIPInputStream(body);
+            } else if ("deflate".equals(encoding)) {
+                body = new InflaterInputStream(body);
+            }
+            receivedBody = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+}